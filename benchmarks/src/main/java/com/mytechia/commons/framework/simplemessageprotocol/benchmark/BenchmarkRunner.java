@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ *  Entry point of benchmarks.jar. It accepts the usual JMH command line
+ *  options and always adds the GC profiler, so every suite reports the
+ *  allocation rate (gc.alloc.rate.norm is the number of bytes per operation).
+ *
+ *  java -jar target/benchmarks.jar [regexp] [jmh options]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+
+    }
+
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.PayloadCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  XOR checksum used for the header and the data field of every message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    @Param({"7", "512", "2491"})
+    public int length;
+
+    private byte[] data;
+
+    private ChecksumProbe probe;
+
+
+    @Setup
+    public void setup() {
+        this.data = new byte[Command.MAX_MESSAGE_SIZE];
+        for (int i = 0; i < this.data.length; i++) {
+            this.data[i] = (byte) (i * 31);
+        }
+        this.probe = new ChecksumProbe();
+    }
+
+
+    @Benchmark
+    public byte calcChecksum() {
+        return this.probe.checksum(this.data, Command.DATA_INDEX, this.length);
+    }
+
+
+    /** Exposes the protected Command.calcChecksum() to the benchmark. */
+    static class ChecksumProbe extends PayloadCommand {
+
+        ChecksumProbe() {
+            super(0, PayloadCommand.LENGTH_PREFIX_SIZE);
+        }
+
+        byte checksum(byte[] data, int initIndex, int length) {
+            return calcChecksum(data, initIndex, length);
+        }
+
+    }
+
+}
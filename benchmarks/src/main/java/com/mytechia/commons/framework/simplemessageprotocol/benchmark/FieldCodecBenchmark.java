@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.BitFieldCoder;
+import com.mytechia.commons.framework.simplemessageprotocol.BitFieldDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageCoder;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.series.SeriesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  MessageCoder and MessageDecoder cost for each MessageFieldType.
+ *  Every operation writes (or reads) FIELDS fields of the selected type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldCodecBenchmark {
+
+    public static final int FIELDS = 16;
+
+    private static final String TEXT = "field-value";
+
+    private static final byte[] BYTES = new byte[32];
+
+    private static final double SCALE = 0.01;
+
+    private static final long[] SERIES_TIMESTAMPS = {1000, 2000, 3000, 4000, 5000, 6000, 7000, 8000};
+
+    private static final double[] SERIES_VALUES = {20.5, 20.5, 20.75, 20.75, 21.0, 20.75, 20.5, 20.5};
+
+    private static final String[] FLAGS = {"flag1", "flag2", "flag3", "flag4", "flag5", "flag6", "flag7", "flag8"};
+
+
+    @Param({"BYTE", "SHORT", "USHORT", "INT", "UINT", "LONG", "DOUBLE", "STRING", "BYTEARRAY",
+            "VARINT", "VARLONG", "SVARINT", "SVARLONG", "FLOAT", "HALF_FLOAT", "FIXED_POINT", "SERIES", "BITFIELD"})
+    public MessageFieldType fieldType;
+
+    @Param({"LITTLE_ENDIAN", "BIG_ENDIAN"})
+    public Endianness endianness;
+
+    private byte[] encoded;
+
+
+    @Setup
+    public void setup() throws MessageFormatException {
+        this.encoded = encode();
+    }
+
+
+    @Benchmark
+    public byte[] encode() throws MessageFormatException {
+        MessageCoder coder = new MessageCoder(this.endianness);
+        for (int i = 0; i < FIELDS; i++) {
+            write(coder, i);
+        }
+        return coder.getBytes();
+    }
+
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws MessageFormatException {
+        MessageDecoder decoder = new MessageDecoder(this.endianness, this.encoded);
+        for (int i = 0; i < FIELDS; i++) {
+            read(decoder, blackhole);
+        }
+    }
+
+
+    private void write(MessageCoder coder, int value) throws MessageFormatException {
+        switch (this.fieldType) {
+            case BYTE:
+                coder.writeByte((byte) value, "field");
+                break;
+            case SHORT:
+                coder.writeShort((short) value, "field");
+                break;
+            case USHORT:
+                coder.writeUShort(value, "field");
+                break;
+            case INT:
+                coder.writeInt(value, "field");
+                break;
+            case UINT:
+                coder.writeUInt(value, "field");
+                break;
+            case LONG:
+                coder.writeLong(value, "field");
+                break;
+            case DOUBLE:
+                coder.writeDouble(value, "field");
+                break;
+            case STRING:
+                coder.writeString(TEXT, "field");
+                break;
+            case BYTEARRAY:
+                coder.writeByteArrayWithSize(BYTES, "field");
+                break;
+            case VARINT:
+                coder.writeVarInt(value, "field");
+                break;
+            case VARLONG:
+                coder.writeVarLong(value, "field");
+                break;
+            case SVARINT:
+                coder.writeSVarInt(-value, "field");
+                break;
+            case SVARLONG:
+                coder.writeSVarLong(-value, "field");
+                break;
+            case FLOAT:
+                coder.writeFloat(value, "field");
+                break;
+            case HALF_FLOAT:
+                coder.writeHalfFloat(value, "field");
+                break;
+            case FIXED_POINT:
+                coder.writeFixedPoint(value, SCALE, 2, "field");
+                break;
+            case SERIES:
+                coder.writeSeries(SERIES_TIMESTAMPS, SERIES_VALUES, "field");
+                break;
+            case BITFIELD:
+                BitFieldCoder bits = coder.beginBitField("field");
+                for (int flag = 0; flag < FLAGS.length; flag++) {
+                    bits.writeBoolean(((value >>> flag) & 1) != 0, FLAGS[flag]);
+                }
+                bits.end();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported field type " + this.fieldType);
+        }
+    }
+
+
+    private void read(MessageDecoder decoder, Blackhole blackhole) throws MessageFormatException {
+        switch (this.fieldType) {
+            case BYTE:
+                blackhole.consume(decoder.readByte("field"));
+                break;
+            case SHORT:
+                blackhole.consume(decoder.readShort("field"));
+                break;
+            case USHORT:
+                blackhole.consume(decoder.readUShort("field"));
+                break;
+            case INT:
+            case UINT:
+                blackhole.consume(decoder.readInt("field"));
+                break;
+            case LONG:
+                blackhole.consume(decoder.readLong("field"));
+                break;
+            case DOUBLE:
+                blackhole.consume(decoder.readDouble("field"));
+                break;
+            case STRING:
+                blackhole.consume(decoder.readString("field"));
+                break;
+            case BYTEARRAY:
+                blackhole.consume(decoder.readByteArray("field"));
+                break;
+            case VARINT:
+                blackhole.consume(decoder.readVarInt("field"));
+                break;
+            case VARLONG:
+                blackhole.consume(decoder.readVarLong("field"));
+                break;
+            case SVARINT:
+                blackhole.consume(decoder.readSVarInt("field"));
+                break;
+            case SVARLONG:
+                blackhole.consume(decoder.readSVarLong("field"));
+                break;
+            case FLOAT:
+                blackhole.consume(decoder.readFloat("field"));
+                break;
+            case HALF_FLOAT:
+                blackhole.consume(decoder.readHalfFloat("field"));
+                break;
+            case FIXED_POINT:
+                blackhole.consume(decoder.readFixedPoint("field", SCALE, 2));
+                break;
+            case SERIES:
+                SeriesReader series = decoder.readSeries("field");
+                while (series.next()) {
+                    blackhole.consume(series.getValue());
+                }
+                break;
+            case BITFIELD:
+                BitFieldDecoder bits = decoder.beginBitField("field");
+                for (String flag : FLAGS) {
+                    blackhole.consume(bits.readBoolean(flag));
+                }
+                bits.end();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported field type " + this.fieldType);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.EmptyCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.PayloadCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.TelemetryCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  MessageFactory.decodeMessage() dispatch with a growing number of
+ *  registered builders, for a header-only message, a typical telemetry
+ *  message and a message of an unknown type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFactoryBenchmark {
+
+    private static final byte EMPTY_TYPE = 0x20;
+
+    private static final byte UNKNOWN_TYPE = (byte) 0xFE;
+
+    @Param({"2", "16", "128"})
+    public int registeredBuilders;
+
+    private MessageFactory factory;
+
+    private byte[] emptyMessage;
+
+    private byte[] telemetryMessage;
+
+    private byte[] unknownMessage;
+
+
+    @Setup
+    public void setup() throws MessageFormatException {
+
+        this.factory = new MessageFactory();
+        this.factory.registerMessageBuilder(new TelemetryCommand.Builder());
+        this.factory.registerMessageBuilder(new EmptyCommand.Builder(EMPTY_TYPE));
+
+        byte type = EMPTY_TYPE;
+        for (int i = 2; i < this.registeredBuilders; i++) {
+            do {
+                type++;
+            } while (type == TelemetryCommand.TYPE || type == PayloadCommand.TYPE || type == UNKNOWN_TYPE);
+            this.factory.registerMessageBuilder(new EmptyCommand.Builder(type));
+        }
+
+        this.emptyMessage = new EmptyCommand(EMPTY_TYPE, 1).codeMessage();
+        this.telemetryMessage = new TelemetryCommand(1).codeMessage();
+        this.unknownMessage = new EmptyCommand(UNKNOWN_TYPE, 1).codeMessage();
+
+    }
+
+
+    @Benchmark
+    public Command decodeEmpty() throws MessageFormatException {
+        return this.factory.decodeMessage(this.emptyMessage);
+    }
+
+
+    @Benchmark
+    public Command decodeTelemetry() throws MessageFormatException {
+        return this.factory.decodeMessage(this.telemetryMessage);
+    }
+
+
+    @Benchmark
+    public Command decodeUnknown() throws MessageFormatException {
+        return this.factory.decodeMessage(this.unknownMessage);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.MessageTemplate;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.TelemetryCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Encoding a status message on every send against patching the sequence
+ *  number and two fields of a MessageTemplate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private TelemetryCommand command;
+
+    private MessageTemplate template;
+
+    private int uptime;
+
+    private int timestamp;
+
+    private int sequenceNumber;
+
+
+    @Setup
+    public void setup() throws MessageFormatException {
+        this.command = new TelemetryCommand(0);
+        this.template = new MessageTemplate(new TelemetryCommand(0), "uptime", "timestamp");
+        this.uptime = this.template.getField("uptime");
+        this.timestamp = this.template.getField("timestamp");
+    }
+
+
+    @Benchmark
+    public byte[] codeMessage() throws MessageFormatException {
+        this.command.setSequenceNumber(++this.sequenceNumber & 0xFFFF);
+        return this.command.codeMessage();
+    }
+
+
+    @Benchmark
+    public byte[] patchTemplate() {
+        int next = ++this.sequenceNumber;
+        return this.template
+                .setSequenceNumber(next & 0xFFFF)
+                .setInt(this.uptime, next)
+                .setLong(this.timestamp, 1700000000000L + next)
+                .getBytes();
+    }
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.SchemaTelemetryCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.SchemaTelemetryCommandCodec;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.TelemetryCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  The same status message coded by hand with MessageCoder/MessageDecoder
+ *  and by the codec generated from its schema.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCodecBenchmark {
+
+    private TelemetryCommand handWritten;
+
+    private SchemaTelemetryCommand generated;
+
+    private byte[] handWrittenEncoded;
+
+    private byte[] generatedEncoded;
+
+    private final byte[] buffer = new byte[Command.MAX_MESSAGE_SIZE];
+
+
+    @Setup
+    public void setup() throws MessageFormatException {
+        this.handWritten = new TelemetryCommand(1);
+        this.generated = new SchemaTelemetryCommand(1);
+        this.handWrittenEncoded = this.handWritten.codeMessage();
+        this.generatedEncoded = this.generated.codeMessage();
+    }
+
+
+    @Benchmark
+    public byte[] encodeHandWritten() throws MessageFormatException {
+        return this.handWritten.codeMessage();
+    }
+
+
+    @Benchmark
+    public byte[] encodeGenerated() throws MessageFormatException {
+        return this.generated.codeMessage();
+    }
+
+
+    @Benchmark
+    public int encodeGeneratedInBuffer() throws MessageFormatException {
+        return SchemaTelemetryCommandCodec.encode(this.generated, this.buffer, 0);
+    }
+
+
+    @Benchmark
+    public Command decodeHandWritten() throws MessageFormatException {
+        return new TelemetryCommand(this.handWrittenEncoded);
+    }
+
+
+    @Benchmark
+    public Command decodeGenerated() throws MessageFormatException {
+        return new SchemaTelemetryCommand(this.generatedEncoded);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageCoder;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.series.SeriesEncoder;
+import com.mytechia.commons.framework.simplemessageprotocol.series.SeriesReader;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  A batch of slowly changing samples sent as two arrays (timestamps and
+ *  doubles) against a compressed SERIES field. The encodedBytes counter
+ *  reports the payload size of each format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesCodecBenchmark {
+
+    @Param({"32", "128"})
+    public int samples;
+
+    private long[] timestamps;
+
+    private double[] values;
+
+    private final SeriesEncoder encoder = new SeriesEncoder();
+
+    private byte[] encodedArrays;
+
+    private byte[] encodedSeries;
+
+
+    @Setup
+    public void setup() throws MessageFormatException {
+        this.timestamps = new long[this.samples];
+        this.values = new double[this.samples];
+        for (int i = 0; i < this.samples; i++) {
+            this.timestamps[i] = 1700000000000L + i * 100L;
+            this.values[i] = Math.round((20.0 + Math.sin(i / 20.0)) * 100) / 100.0;
+        }
+        this.encodedArrays = encodeArrays();
+        this.encodedSeries = encodeSeries();
+    }
+
+
+    @Benchmark
+    public byte[] encodeArrays() throws MessageFormatException {
+        MessageCoder coder = new MessageCoder(Endianness.LITTLE_ENDIAN);
+        for (long timestamp : this.timestamps) {
+            coder.writeLong(timestamp, "timestamp");
+        }
+        return coder.writeDoubleArray(this.values, "value").getBytes();
+    }
+
+
+    @Benchmark
+    public byte[] encodeSeries() throws MessageFormatException {
+        this.encoder.reset().addAll(this.timestamps, this.values);
+        return new MessageCoder(Endianness.LITTLE_ENDIAN).writeSeries(this.encoder, "samples").getBytes();
+    }
+
+
+    @Benchmark
+    public void decodeArrays(Blackhole blackhole, Sizes sizes) {
+        MessageDecoder decoder = new MessageDecoder(Endianness.LITTLE_ENDIAN, this.encodedArrays);
+        for (int i = 0; i < this.samples; i++) {
+            blackhole.consume(decoder.readLong("timestamp"));
+        }
+        blackhole.consume(decoder.readDoubleArray("value", this.samples));
+        sizes.encodedBytes = this.encodedArrays.length;
+    }
+
+
+    @Benchmark
+    public void decodeSeries(Blackhole blackhole, Sizes sizes) throws MessageFormatException {
+        SeriesReader reader = new MessageDecoder(Endianness.LITTLE_ENDIAN, this.encodedSeries).readSeries("samples");
+        while (reader.next()) {
+            blackhole.consume(reader.getTimestamp());
+            blackhole.consume(reader.getValue());
+        }
+        sizes.encodedBytes = this.encodedSeries.length;
+    }
+
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            this.encodedBytes = 0;
+        }
+
+    }
+
+}
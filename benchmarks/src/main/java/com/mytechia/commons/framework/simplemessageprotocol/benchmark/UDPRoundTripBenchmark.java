@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.PayloadCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPCommunicationChannelImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  One message sent and received through two UDP channels over the loopback
+ *  interface. There is only one datagram in flight, so a lost datagram would
+ *  block the benchmark: loopback does not drop at this rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UDPRoundTripBenchmark {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    @Param({"16", "512", "2491"})
+    public int dataSize;
+
+    private UDPCommunicationChannelImplementation sender;
+
+    private UDPCommunicationChannelImplementation receiver;
+
+    private UDPAddress receiverAddress;
+
+    private PayloadCommand command;
+
+    private byte[] encoded;
+
+    private byte[] receiveBuffer;
+
+
+    @Setup
+    public void setup() throws IOException, CommunicationException {
+
+        this.sender = new UDPCommunicationChannelImplementation(LOOPBACK, 0);
+        this.receiver = new UDPCommunicationChannelImplementation(LOOPBACK, 0);
+        this.receiverAddress = new UDPAddress(LOOPBACK, this.receiver.getPort());
+
+        MessageFactory factory = new MessageFactory();
+        factory.registerMessageBuilder(new PayloadCommand.Builder());
+        this.receiver.registerMessageFactory(factory);
+
+        this.command = new PayloadCommand(1, this.dataSize);
+        this.encoded = this.command.codeMessage();
+        this.receiveBuffer = new byte[Command.MAX_MESSAGE_SIZE];
+
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        this.sender.close();
+        this.receiver.close();
+    }
+
+
+    /** Raw datagram round trip: no encoding and no decoding. */
+    @Benchmark
+    public int rawBytes() throws CommunicationException {
+        this.sender.send(this.receiverAddress, this.encoded, 0, this.encoded.length);
+        ReceiveResult result = this.receiver.receive(this.receiveBuffer);
+        return result.getMsgLength();
+    }
+
+
+    /** Full path: codeMessage(), send, receive and MessageFactory decoding. */
+    @Benchmark
+    public Command commands() throws CommunicationException {
+        this.sender.send(this.receiverAddress, this.command);
+        return this.receiver.receiveMessage();
+    }
+
+}
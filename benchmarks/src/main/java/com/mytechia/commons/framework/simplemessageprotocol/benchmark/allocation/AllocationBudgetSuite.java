@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.allocation;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.EmptyCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.PayloadCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.TelemetryCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPCommunicationChannelImplementation;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  Allocation regression suite for the encode and decode paths.
+ *
+ *  Every AllocationCase is warmed up, run ITERATIONS times and the bytes
+ *  allocated by the current thread (com.sun.management.ThreadMXBean) are
+ *  divided by the number of operations. The suite fails when any case
+ *  allocates more than its declared budget, so a path with budget 0 must
+ *  stay allocation-free.
+ *
+ *  It runs in the verify phase of the benchmarks project (mvn verify) and
+ *  it can be launched alone with
+ *  java -cp target/benchmarks.jar com.mytechia.commons.framework.simplemessageprotocol.benchmark.allocation.AllocationBudgetSuite
+ *
+ *  Budgets are the values measured on a 64 bit HotSpot (Java 17, compressed
+ *  oops) plus a 25% margin, because object sizes depend on the JVM.
+ */
+public class AllocationBudgetSuite {
+
+    public static final int WARMUP_ITERATIONS = 20000;
+
+    public static final int ITERATIONS = 10000;
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private final List<AllocationCase> cases = new ArrayList<>();
+
+    private volatile Object sink;
+
+
+    public AllocationBudgetSuite() {
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!this.threadBean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not support per-thread allocation counters");
+        }
+        this.threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+
+    public AllocationBudgetSuite add(AllocationCase allocationCase) {
+        this.cases.add(allocationCase);
+        return this;
+    }
+
+
+    /**
+     * @return bytes allocated per operation by the case, after subtracting the
+     *         cost of the measuring loop itself
+     */
+    public long measure(AllocationCase allocationCase) throws Exception {
+
+        allocationCase.setUp();
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                this.sink = allocationCase.run();
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long start = this.threadBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                this.sink = allocationCase.run();
+            }
+            long end = this.threadBean.getThreadAllocatedBytes(threadId);
+            long overhead = this.threadBean.getThreadAllocatedBytes(threadId) - end;
+
+            return Math.max(0, (end - start - overhead) / ITERATIONS);
+        } finally {
+            allocationCase.tearDown();
+        }
+
+    }
+
+
+    /**
+     * Measures every case and prints a report.
+     *
+     * @return names of the cases that exceeded their budget
+     */
+    public List<String> run() throws Exception {
+
+        List<String> failures = new ArrayList<>();
+
+        System.out.println(String.format("%-40s %12s %12s", "case", "bytes/op", "budget"));
+        for (AllocationCase allocationCase : this.cases) {
+            long allocated = measure(allocationCase);
+            boolean ok = allocated <= allocationCase.getBudget();
+            System.out.println(String.format("%-40s %12d %12d %s",
+                    allocationCase.getName(), allocated, allocationCase.getBudget(), ok ? "" : "OVER BUDGET"));
+            if (!ok) {
+                failures.add(allocationCase.getName());
+            }
+        }
+
+        return failures;
+
+    }
+
+
+    public static AllocationBudgetSuite defaultSuite() {
+
+        AllocationBudgetSuite suite = new AllocationBudgetSuite();
+
+        suite.add(new EncodeCase("encode empty", 64, new EmptyCommand((byte) 0x20, 1)));
+        suite.add(new EncodeCase("encode payload 16", 512, new PayloadCommand(1, 16)));
+        suite.add(new EncodeCase("encode payload 2491", 10240, new PayloadCommand(1, PayloadCommand.MAX_DATA_SIZE)));
+        suite.add(new EncodeCase("encode telemetry", 2432, new TelemetryCommand(1)));
+
+        suite.add(new DecodeCase("decode empty", 192, new EmptyCommand((byte) 0x20, 1)));
+        suite.add(new DecodeCase("decode payload 16", 352, new PayloadCommand(1, 16)));
+        suite.add(new DecodeCase("decode payload 2491", 6560, new PayloadCommand(1, PayloadCommand.MAX_DATA_SIZE)));
+        suite.add(new DecodeCase("decode telemetry", 2464, new TelemetryCommand(1)));
+
+        suite.add(new ChecksumCase());
+        suite.add(new UnknownTypeCase());
+
+        suite.add(new UDPReceiveCase("udp receive into caller buffer", 256, false));
+        suite.add(new UDPReceiveCase("udp receive()", 3328, true));
+
+        return suite;
+
+    }
+
+
+    public static void main(String[] args) throws Exception {
+
+        List<String> failures = defaultSuite().run();
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Allocation budget exceeded by " + failures);
+        }
+
+    }
+
+
+    /** Command.codeMessage(), which runs MessageCoder and both checksums. */
+    static class EncodeCase extends AllocationCase {
+
+        private final Command command;
+
+        EncodeCase(String name, long budget, Command command) {
+            super(name, budget);
+            this.command = command;
+        }
+
+        @Override
+        public Object run() throws Exception {
+            return this.command.codeMessage();
+        }
+
+    }
+
+
+    /** MessageFactory.decodeMessage(), which runs the builder and MessageDecoder. */
+    static class DecodeCase extends AllocationCase {
+
+        private final MessageFactory factory = new MessageFactory();
+
+        private final byte[] encoded;
+
+        DecodeCase(String name, long budget, Command command) {
+            super(name, budget);
+            try {
+                this.encoded = command.codeMessage();
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(ex);
+            }
+            this.factory.registerMessageBuilder(new PayloadCommand.Builder());
+            this.factory.registerMessageBuilder(new TelemetryCommand.Builder());
+            this.factory.registerMessageBuilder(new EmptyCommand.Builder((byte) 0x20));
+        }
+
+        @Override
+        public Object run() throws Exception {
+            return this.factory.decodeMessage(this.encoded);
+        }
+
+    }
+
+
+    /** Header and data checksums must not allocate. */
+    static class ChecksumCase extends AllocationCase {
+
+        private final ChecksumProbe probe = new ChecksumProbe();
+
+        private final byte[] data = new byte[Command.MAX_MESSAGE_SIZE];
+
+        ChecksumCase() {
+            super("checksum", 0);
+        }
+
+        @Override
+        public Object run() throws Exception {
+            this.data[0] = this.probe.checksum(this.data, 0, this.data.length);
+            return this.data;
+        }
+
+        static class ChecksumProbe extends PayloadCommand {
+
+            ChecksumProbe() {
+                super(0, PayloadCommand.LENGTH_PREFIX_SIZE);
+            }
+
+            byte checksum(byte[] data, int initIndex, int length) {
+                return calcChecksum(data, initIndex, length);
+            }
+
+        }
+
+    }
+
+
+    /** Dropping a message of an unregistered type must not allocate. */
+    static class UnknownTypeCase extends AllocationCase {
+
+        private final MessageFactory factory = new MessageFactory();
+
+        private final byte[] encoded;
+
+        UnknownTypeCase() {
+            super("factory unknown type", 0);
+            try {
+                this.encoded = new EmptyCommand((byte) 0x7F, 1).codeMessage();
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        @Override
+        public Object run() throws Exception {
+            return this.factory.decodeMessage(this.encoded);
+        }
+
+    }
+
+
+    /**
+     * Sends one datagram over loopback and receives it in the same thread,
+     * so the sending cost is included in the measure.
+     */
+    static class UDPReceiveCase extends AllocationCase {
+
+        private final boolean channelBuffer;
+
+        private UDPCommunicationChannelImplementation sender;
+
+        private UDPCommunicationChannelImplementation receiver;
+
+        private UDPAddress receiverAddress;
+
+        private byte[] encoded;
+
+        private final byte[] buffer = new byte[Command.MAX_MESSAGE_SIZE];
+
+        UDPReceiveCase(String name, long budget, boolean channelBuffer) {
+            super(name, budget);
+            this.channelBuffer = channelBuffer;
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            this.sender = new UDPCommunicationChannelImplementation(LOOPBACK, 0);
+            this.receiver = new UDPCommunicationChannelImplementation(LOOPBACK, 0);
+            this.receiverAddress = new UDPAddress(InetAddress.getByName(LOOPBACK), this.receiver.getPort());
+            this.encoded = new TelemetryCommand(1).codeMessage();
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            this.sender.close();
+            this.receiver.close();
+        }
+
+        @Override
+        public Object run() throws Exception {
+            this.sender.send(this.receiverAddress, this.encoded, 0, this.encoded.length);
+            if (this.channelBuffer) {
+                return this.receiver.receive();
+            }
+            return this.receiver.receive(this.buffer);
+        }
+
+    }
+
+}
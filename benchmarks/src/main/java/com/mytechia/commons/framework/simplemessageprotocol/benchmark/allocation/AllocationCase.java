@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.allocation;
+
+/**
+ *  One code path measured by the AllocationBudgetSuite, with the maximum
+ *  number of bytes it may allocate per operation.
+ */
+public abstract class AllocationCase {
+
+    private final String name;
+
+    private final long budget;
+
+
+    /**
+     * @param name name used in the report
+     * @param budget maximum bytes allocated per operation (0 for allocation-free paths)
+     */
+    protected AllocationCase(String name, long budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+
+    public String getName() {
+        return this.name;
+    }
+
+
+    public long getBudget() {
+        return this.budget;
+    }
+
+
+    /** Prepares the case (channels, pre-encoded messages...). Not measured. */
+    public void setUp() throws Exception {
+    }
+
+
+    /** Releases the resources taken in setUp(). Not measured. */
+    public void tearDown() throws Exception {
+    }
+
+
+    /**
+     * Runs one operation of the measured path.
+     *
+     * @return any value computed by the operation, so that the JIT cannot remove it
+     */
+    public abstract Object run() throws Exception;
+
+}
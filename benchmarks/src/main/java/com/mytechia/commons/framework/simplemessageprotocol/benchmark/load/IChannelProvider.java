@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+
+/**
+ *  Creates the pair of channels used by one load test run.
+ *  There is one provider for each channel implementation to compare.
+ */
+public interface IChannelProvider {
+
+    String getName();
+
+    INetworkBasicCommunicationChannel createReceiver() throws Exception;
+
+    INetworkBasicCommunicationChannel createSender() throws Exception;
+
+    IAddress addressOf(INetworkBasicCommunicationChannel receiver) throws Exception;
+
+    /** Closes a channel created by this provider, unblocking its readers. */
+    void close(INetworkBasicCommunicationChannel channel);
+
+}
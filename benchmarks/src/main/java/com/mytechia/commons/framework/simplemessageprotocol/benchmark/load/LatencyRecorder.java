@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ *  Keeps every latency sample of a run so that percentiles are exact.
+ *  Only the receiving thread records samples.
+ */
+public class LatencyRecorder {
+
+    private long[] samples;
+
+    private int count = 0;
+
+
+    public LatencyRecorder(int expectedSamples) {
+        this.samples = new long[Math.max(16, expectedSamples)];
+    }
+
+
+    public void record(long nanos) {
+        if (this.count == this.samples.length) {
+            this.samples = Arrays.copyOf(this.samples, this.samples.length * 2);
+        }
+        this.samples[this.count++] = nanos;
+    }
+
+
+    public int getCount() {
+        return this.count;
+    }
+
+
+    /**
+     * Sorts the samples. Call it once, after the run, before asking for percentiles.
+     */
+    public void sort() {
+        Arrays.sort(this.samples, 0, this.count);
+    }
+
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency in nanoseconds (nearest-rank method), 0 without samples
+     */
+    public long getPercentile(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * this.count);
+        return this.samples[Math.min(this.count - 1, Math.max(0, rank - 1))];
+    }
+
+
+    public long getMax() {
+        return (this.count == 0) ? 0 : this.samples[this.count - 1];
+    }
+
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+/**
+ *  Results of one load test run.
+ */
+public class LoadReport {
+
+    private final String channel;
+
+    private final long sent;
+
+    private final long received;
+
+    private final long duplicates;
+
+    private final long reordered;
+
+    private final long malformed;
+
+    private final long elapsedNanos;
+
+    private final LatencyRecorder latencies;
+
+
+    public LoadReport(String channel, long sent, long received, long duplicates, long reordered,
+                      long malformed, long elapsedNanos, LatencyRecorder latencies) {
+        this.channel = channel;
+        this.sent = sent;
+        this.received = received;
+        this.duplicates = duplicates;
+        this.reordered = reordered;
+        this.malformed = malformed;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies;
+    }
+
+
+    public long getSent() {
+        return this.sent;
+    }
+
+    public long getReceived() {
+        return this.received;
+    }
+
+    /**
+     * @return datagrams that could not be decoded
+     */
+    public long getMalformed() {
+        return this.malformed;
+    }
+
+    public long getLost() {
+        return this.sent - this.received;
+    }
+
+    public double getLossPercent() {
+        return (this.sent == 0) ? 0 : 100.0 * getLost() / this.sent;
+    }
+
+    public double getThroughput() {
+        return (this.elapsedNanos == 0) ? 0 : this.received * 1e9 / this.elapsedNanos;
+    }
+
+    public LatencyRecorder getLatencies() {
+        return this.latencies;
+    }
+
+
+    public static String header() {
+        return String.format("%-10s %10s %10s %10s %8s %6s %6s %6s %12s %10s %10s %10s %10s",
+                "channel", "sent", "received", "lost", "loss%", "dup", "reord", "bad",
+                "msg/s", "p50 us", "p99 us", "p99.9 us", "max us");
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("%-10s %10d %10d %10d %8.3f %6d %6d %6d %12.0f %10.1f %10.1f %10.1f %10.1f",
+                this.channel, this.sent, this.received, getLost(), getLossPercent(),
+                this.duplicates, this.reordered, this.malformed, getThroughput(),
+                this.latencies.getPercentile(50) / 1000.0,
+                this.latencies.getPercentile(99) / 1000.0,
+                this.latencies.getPercentile(99.9) / 1000.0,
+                this.latencies.getMax() / 1000.0);
+    }
+
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages.ProbeCommand;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *  Runs one load test: a sender thread paces ProbeCommands at the configured
+ *  rate and a receiver thread decodes them through a MessageFactory.
+ *
+ *  Each probe carries the time it was scheduled to be sent, not the time it
+ *  was actually sent, so a sender that falls behind shows up as latency
+ *  instead of hiding it (coordinated omission). Losses are the gaps left in
+ *  the received sequence numbers once the drain time is over.
+ */
+public class LoadTest {
+
+    /** Below this wait the sender spins instead of parking. */
+    private static final long SPIN_THRESHOLD_NANOS = 50000;
+
+    private final LoadTestConfig config;
+
+    private final IChannelProvider provider;
+
+    private final BitSet receivedSequences = new BitSet();
+
+    private final LatencyRecorder latencies;
+
+    private long received = 0;
+
+    private long duplicates = 0;
+
+    private long reordered = 0;
+
+    private long malformed = 0;
+
+    private long lastReceiveNanos = 0;
+
+
+    public LoadTest(LoadTestConfig config, IChannelProvider provider) {
+        this.config = config;
+        this.provider = provider;
+        long expected = (long) config.getRate() * config.getDurationSeconds();
+        this.latencies = new LatencyRecorder((int) Math.min(expected, 1 << 24));
+    }
+
+
+    public LoadReport run() throws Exception {
+
+        final INetworkBasicCommunicationChannel receiver = this.provider.createReceiver();
+        final INetworkBasicCommunicationChannel sender = this.provider.createSender();
+        final IAddress destination = this.provider.addressOf(receiver);
+
+        MessageFactory factory = new MessageFactory();
+        factory.registerMessageBuilder(new ProbeCommand.Builder());
+        receiver.registerMessageFactory(factory);
+
+        Thread receiverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receiveLoop(receiver);
+            }
+        }, "load-receiver-" + this.provider.getName());
+        receiverThread.start();
+
+        long start = System.nanoTime();
+        long sent = sendLoop(sender, destination, start);
+
+        Thread.sleep(this.config.getDrainMillis());
+        this.provider.close(receiver);
+        receiverThread.join();
+        this.provider.close(sender);
+
+        this.latencies.sort();
+
+        long elapsed = (this.lastReceiveNanos > start) ? this.lastReceiveNanos - start : 0;
+        return new LoadReport(this.provider.getName(), sent, this.received,
+                this.duplicates, this.reordered, this.malformed, elapsed, this.latencies);
+
+    }
+
+
+    private long sendLoop(INetworkBasicCommunicationChannel sender, IAddress destination, long start)
+            throws CommunicationException {
+
+        int[] dataSizes = this.config.getDataSizes();
+        int[] cumulativeWeights = new int[dataSizes.length];
+        ProbeCommand[] probes = new ProbeCommand[dataSizes.length];
+        int totalWeight = 0;
+        for (int i = 0; i < dataSizes.length; i++) {
+            totalWeight += this.config.getWeights()[i];
+            cumulativeWeights[i] = totalWeight;
+            probes[i] = new ProbeCommand(dataSizes[i]);
+        }
+
+        Random random = new Random(this.config.getSeed());
+        long interval = (this.config.getRate() > 0) ? 1000000000L / this.config.getRate() : 0;
+        long end = start + this.config.getDurationSeconds() * 1000000000L;
+
+        int sequence = 0;
+        long scheduled = start;
+        while (scheduled < end) {
+
+            long wait = scheduled - System.nanoTime();
+            if (wait > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(wait - SPIN_THRESHOLD_NANOS);
+            }
+            while (System.nanoTime() < scheduled) {
+                // spin until the scheduled time
+            }
+
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+
+            ProbeCommand probe = probes[index];
+            probe.setProbe(sequence++, (interval > 0) ? scheduled : System.nanoTime());
+            sender.send(destination, probe);
+
+            scheduled = (interval > 0) ? scheduled + interval : System.nanoTime();
+        }
+
+        return sequence;
+
+    }
+
+
+    private void receiveLoop(INetworkBasicCommunicationChannel receiver) {
+
+        int highestSequence = -1;
+
+        while (true) {
+
+            Command message;
+            try {
+                message = receiver.receiveMessage();
+            } catch (MessageFormatException ex) {
+                this.malformed++; // corrupt or foreign datagram
+                continue;
+            } catch (CommunicationException ex) {
+                return; // channel closed at the end of the run
+            }
+
+            long now = System.nanoTime();
+            if (!(message instanceof ProbeCommand)) {
+                continue;
+            }
+
+            ProbeCommand probe = (ProbeCommand) message;
+            int sequence = probe.getProbeSequence();
+
+            if (this.receivedSequences.get(sequence)) {
+                this.duplicates++;
+                continue;
+            }
+            this.receivedSequences.set(sequence);
+            if (sequence < highestSequence) {
+                this.reordered++;
+            } else {
+                highestSequence = sequence;
+            }
+
+            this.received++;
+            this.lastReceiveNanos = now;
+            this.latencies.record(now - probe.getSendNanos());
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *  Parameters of a load test run, parsed from the command line:
+ *
+ *  --rate messages per second (0 sends as fast as possible, default 10000)
+ *  --duration seconds of sending (default 10)
+ *  --mix comma separated dataSize:weight pairs (default 16:70,512:25,2491:5)
+ *  --channels comma separated channel providers to compare: udp, loopback (default udp)
+ *  --drain milliseconds to wait for late messages after sending (default 1000)
+ *  --seed seed of the message mix generator (default 1)
+ */
+public class LoadTestConfig {
+
+    private int rate = 10000;
+
+    private int durationSeconds = 10;
+
+    private int[] dataSizes = {16, 512, 2491};
+
+    private int[] weights = {70, 25, 5};
+
+    private List<String> channels = new ArrayList<>(Arrays.asList("udp"));
+
+    private long drainMillis = 1000;
+
+    private long seed = 1;
+
+
+    public static LoadTestConfig parse(String[] args) {
+
+        LoadTestConfig config = new LoadTestConfig();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--rate":
+                    config.rate = Integer.parseInt(value);
+                    break;
+                case "--duration":
+                    config.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "--mix":
+                    config.parseMix(value);
+                    break;
+                case "--channels":
+                    config.channels = new ArrayList<>(Arrays.asList(value.split(",")));
+                    break;
+                case "--drain":
+                    config.drainMillis = Long.parseLong(value);
+                    break;
+                case "--seed":
+                    config.seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        return config;
+
+    }
+
+
+    private void parseMix(String mix) {
+        String[] entries = mix.split(",");
+        this.dataSizes = new int[entries.length];
+        this.weights = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] pair = entries[i].split(":");
+            this.dataSizes[i] = Integer.parseInt(pair[0].trim());
+            this.weights[i] = (pair.length > 1) ? Integer.parseInt(pair[1].trim()) : 1;
+        }
+    }
+
+
+    public int getRate() {
+        return this.rate;
+    }
+
+    public int getDurationSeconds() {
+        return this.durationSeconds;
+    }
+
+    public int[] getDataSizes() {
+        return this.dataSizes;
+    }
+
+    public int[] getWeights() {
+        return this.weights;
+    }
+
+    public List<String> getChannels() {
+        return this.channels;
+    }
+
+    public long getDrainMillis() {
+        return this.drainMillis;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        for (int i = 0; i < this.dataSizes.length; i++) {
+            mix.append(i > 0 ? "," : "").append(this.dataSizes[i]).append(':').append(this.weights[i]);
+        }
+        return "rate=" + ((this.rate > 0) ? this.rate + "/s" : "max")
+                + " duration=" + this.durationSeconds + "s"
+                + " mix=" + mix
+                + " channels=" + this.channels;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  End-to-end latency and loss tool. It runs a sender and a receiver channel
+ *  in the same process for every selected channel implementation and prints
+ *  one report line per implementation, so they can be compared:
+ *
+ *  java -cp target/benchmarks.jar com.mytechia.commons.framework.simplemessageprotocol.benchmark.load.LoadTool
+ *       --rate 50000 --duration 30 --mix 16:70,512:25,2491:5 --channels udp,loopback
+ *
+ *  See LoadTestConfig for the available options.
+ */
+public class LoadTool {
+
+    private static final Map<String, IChannelProvider> PROVIDERS = new LinkedHashMap<>();
+
+    static {
+        register(new UDPChannelProvider());
+        register(new LoopbackChannelProvider());
+    }
+
+
+    public static void register(IChannelProvider provider) {
+        PROVIDERS.put(provider.getName(), provider);
+    }
+
+
+    public static List<LoadReport> run(LoadTestConfig config) throws Exception {
+
+        List<LoadReport> reports = new ArrayList<>();
+
+        for (String channel : config.getChannels()) {
+            IChannelProvider provider = PROVIDERS.get(channel);
+            if (null == provider) {
+                throw new IllegalArgumentException("Unknown channel " + channel + ", available: " + PROVIDERS.keySet());
+            }
+            reports.add(new LoadTest(config, provider).run());
+        }
+
+        return reports;
+
+    }
+
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println(config);
+
+        List<LoadReport> reports = run(config);
+
+        System.out.println(LoadReport.header());
+        for (LoadReport report : reports) {
+            System.out.println(report);
+        }
+
+    }
+
+}
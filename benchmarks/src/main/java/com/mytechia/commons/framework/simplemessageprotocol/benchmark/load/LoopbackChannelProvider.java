@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.load;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.loopback.LoopbackCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.loopback.LoopbackNetwork;
+
+/**
+ *  In-memory channels of a LoopbackNetwork, to measure the protocol layers
+ *  without the socket overhead.
+ */
+public class LoopbackChannelProvider implements IChannelProvider {
+
+    private final LoopbackNetwork network = new LoopbackNetwork(1 << 16);
+
+
+    @Override
+    public String getName() {
+        return "loopback";
+    }
+
+    @Override
+    public INetworkBasicCommunicationChannel createReceiver() throws Exception {
+        return this.network.createChannel("10.0.0.1", 0);
+    }
+
+    @Override
+    public INetworkBasicCommunicationChannel createSender() throws Exception {
+        return this.network.createChannel("10.0.0.2", 0);
+    }
+
+    @Override
+    public IAddress addressOf(INetworkBasicCommunicationChannel receiver) throws Exception {
+        return ((LoopbackCommunicationChannel) receiver).getLocalAddress();
+    }
+
+    @Override
+    public void close(INetworkBasicCommunicationChannel channel) {
+        ((LoopbackCommunicationChannel) channel).close();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.IMessageBuilder;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+/**
+ *  Message without data field (only the 8 byte header), like a heartbeat or
+ *  an acknowledgement.
+ */
+public class EmptyCommand extends Command {
+
+    public EmptyCommand(byte type, int sequenceNumber) {
+        super(Endianness.LITTLE_ENDIAN);
+        setCommandType(type);
+        setSequenceNumber(sequenceNumber);
+    }
+
+
+    public EmptyCommand(byte[] message) throws MessageFormatException {
+        super(Endianness.LITTLE_ENDIAN, message);
+    }
+
+
+    @Override
+    public void setSequenceNumber(int sequenceNumber) {
+        super.setSequenceNumber(sequenceNumber);
+    }
+
+
+    @Override
+    protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+        return initIndex;
+    }
+
+
+    public static class Builder implements IMessageBuilder {
+
+        private final byte type;
+
+        public Builder(byte type) {
+            this.type = type;
+        }
+
+        @Override
+        public byte type() {
+            return this.type;
+        }
+
+        @Override
+        public Command buildMessage(byte[] msgData) throws MessageFormatException {
+            return new EmptyCommand(msgData);
+        }
+
+    }
+
+}
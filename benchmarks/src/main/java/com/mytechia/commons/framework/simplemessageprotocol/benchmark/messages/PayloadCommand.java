@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.IMessageBuilder;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+/**
+ *  Message with a single byte array field, used to measure the codec with
+ *  payloads of a given size.
+ */
+public class PayloadCommand extends Command {
+
+    public static final byte TYPE = 0x10;
+
+    /** Bytes used by the length prefix of the payload field. */
+    public static final int LENGTH_PREFIX_SIZE = 2;
+
+    /** Largest data size that still fits in a Command.MAX_MESSAGE_SIZE datagram. */
+    public static final int MAX_DATA_SIZE = MAX_MESSAGE_SIZE - COMMAND_HEADER_SIZE - DATA_CHECKSUM_SIZE;
+
+    private byte[] payload;
+
+
+    /**
+     * @param sequenceNumber
+     * @param dataSize size of the data field of the message, including the length prefix
+     */
+    public PayloadCommand(int sequenceNumber, int dataSize) {
+        super(Endianness.LITTLE_ENDIAN);
+        setCommandType(TYPE);
+        setSequenceNumber(sequenceNumber);
+        this.payload = new byte[dataSize - LENGTH_PREFIX_SIZE];
+        for (int i = 0; i < this.payload.length; i++) {
+            this.payload[i] = (byte) i;
+        }
+    }
+
+
+    public PayloadCommand(byte[] message) throws MessageFormatException {
+        super(Endianness.LITTLE_ENDIAN, message);
+    }
+
+
+    public byte[] getPayload() {
+        return this.payload;
+    }
+
+
+    @Override
+    public void setSequenceNumber(int sequenceNumber) {
+        super.setSequenceNumber(sequenceNumber);
+    }
+
+
+    @Override
+    protected byte[] codeMessageData() throws MessageFormatException {
+        return getMessageCoder().writeByteArrayWithSize(this.payload, "payload").getBytes();
+    }
+
+
+    @Override
+    protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+        this.payload = getMessageDecoder().readByteArray("payload");
+        return getMessageDecoder().getArrayIndex();
+    }
+
+
+    public static class Builder implements IMessageBuilder {
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public Command buildMessage(byte[] msgData) throws MessageFormatException {
+            return new PayloadCommand(msgData);
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.IMessageBuilder;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+/**
+ *  Message used by the load tool. It carries a 32 bit sequence number (the
+ *  16 bit header sequence number wraps too fast to detect losses in long
+ *  runs), the time it was meant to be sent and some padding to reach the
+ *  desired size.
+ */
+public class ProbeCommand extends Command {
+
+    public static final byte TYPE = 0x12;
+
+    /** Data bytes used by the sequence, the timestamp and the padding length. */
+    public static final int FIXED_DATA_SIZE = 4 + 8 + 2;
+
+    private int probeSequence;
+
+    private long sendNanos;
+
+    private byte[] padding;
+
+
+    /**
+     * @param dataSize size of the data field, at least FIXED_DATA_SIZE
+     */
+    public ProbeCommand(int dataSize) {
+        super(Endianness.LITTLE_ENDIAN);
+        setCommandType(TYPE);
+        this.padding = new byte[Math.max(0, dataSize - FIXED_DATA_SIZE)];
+    }
+
+
+    public ProbeCommand(byte[] message) throws MessageFormatException {
+        super(Endianness.LITTLE_ENDIAN, message);
+    }
+
+
+    public int getProbeSequence() {
+        return this.probeSequence;
+    }
+
+
+    public long getSendNanos() {
+        return this.sendNanos;
+    }
+
+
+    public void setProbe(int probeSequence, long sendNanos) {
+        this.probeSequence = probeSequence;
+        this.sendNanos = sendNanos;
+        setSequenceNumber(probeSequence & 0xFFFF);
+    }
+
+
+    @Override
+    protected byte[] codeMessageData() throws MessageFormatException {
+        return getMessageCoder()
+                .writeInt(this.probeSequence, "probeSequence")
+                .writeLong(this.sendNanos, "sendNanos")
+                .writeByteArrayWithSize(this.padding, "padding")
+                .getBytes();
+    }
+
+
+    @Override
+    protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+        MessageDecoder decoder = getMessageDecoder();
+        this.probeSequence = decoder.readInt("probeSequence");
+        this.sendNanos = decoder.readLong("sendNanos");
+        this.padding = decoder.readByteArray("padding");
+        return decoder.getArrayIndex();
+    }
+
+
+    public static class Builder implements IMessageBuilder {
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public Command buildMessage(byte[] msgData) throws MessageFormatException {
+            return new ProbeCommand(msgData);
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.schema.MessageField;
+import com.mytechia.commons.framework.simplemessageprotocol.schema.MessageSchema;
+
+/**
+ *  TelemetryCommand declared with a schema: the same fields and wire format,
+ *  coded by the generated SchemaTelemetryCommandCodec.
+ */
+@MessageSchema(type = SchemaTelemetryCommand.TYPE)
+public class SchemaTelemetryCommand extends Command {
+
+    public static final byte TYPE = 0x13;
+
+    @MessageField(order = 1, type = MessageFieldType.BYTE)
+    byte state;
+
+    @MessageField(order = 2, type = MessageFieldType.INT)
+    int uptime;
+
+    @MessageField(order = 3, type = MessageFieldType.LONG)
+    long timestamp;
+
+    @MessageField(order = 4, type = MessageFieldType.STRING)
+    String deviceName;
+
+    @MessageField(order = 5, type = MessageFieldType.DOUBLE, length = TelemetryCommand.READINGS)
+    double[] readings;
+
+
+    public SchemaTelemetryCommand(int sequenceNumber) {
+        super(Endianness.LITTLE_ENDIAN);
+        setCommandType(TYPE);
+        setSequenceNumber(sequenceNumber);
+        this.state = 3;
+        this.uptime = 123456;
+        this.timestamp = 1700000000000L;
+        this.deviceName = "sensor-node-01";
+        this.readings = new double[TelemetryCommand.READINGS];
+        for (int i = 0; i < TelemetryCommand.READINGS; i++) {
+            this.readings[i] = 20.0 + i * 0.25;
+        }
+    }
+
+
+    public SchemaTelemetryCommand(byte[] message) throws MessageFormatException {
+        super(Endianness.LITTLE_ENDIAN, message);
+    }
+
+
+    public int getUptime() {
+        return this.uptime;
+    }
+
+
+    public double[] getReadings() {
+        return this.readings;
+    }
+
+
+    @Override
+    public void setSequenceNumber(int sequenceNumber) {
+        super.setSequenceNumber(sequenceNumber);
+    }
+
+
+    @Override
+    protected byte[] codeMessageData() throws MessageFormatException {
+        return SchemaTelemetryCommandCodec.encodeData(this);
+    }
+
+
+    @Override
+    protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+        return SchemaTelemetryCommandCodec.decodeData(this, bytes, initIndex);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.benchmark.messages;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.IMessageBuilder;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+/**
+ *  Typical status message: a few scalar fields, a name and a small array of
+ *  sensor readings.
+ */
+public class TelemetryCommand extends Command {
+
+    public static final byte TYPE = 0x11;
+
+    public static final int READINGS = 8;
+
+    private byte state;
+    private int uptime;
+    private long timestamp;
+    private String deviceName;
+    private double[] readings;
+
+
+    public TelemetryCommand(int sequenceNumber) {
+        super(Endianness.LITTLE_ENDIAN);
+        setCommandType(TYPE);
+        setSequenceNumber(sequenceNumber);
+        this.state = 3;
+        this.uptime = 123456;
+        this.timestamp = 1700000000000L;
+        this.deviceName = "sensor-node-01";
+        this.readings = new double[READINGS];
+        for (int i = 0; i < READINGS; i++) {
+            this.readings[i] = 20.0 + i * 0.25;
+        }
+    }
+
+
+    public TelemetryCommand(byte[] message) throws MessageFormatException {
+        super(Endianness.LITTLE_ENDIAN, message);
+    }
+
+
+    public int getUptime() {
+        return this.uptime;
+    }
+
+
+    public double[] getReadings() {
+        return this.readings;
+    }
+
+
+    @Override
+    public void setSequenceNumber(int sequenceNumber) {
+        super.setSequenceNumber(sequenceNumber);
+    }
+
+
+    @Override
+    protected byte[] codeMessageData() throws MessageFormatException {
+        return getMessageCoder()
+                .writeByte(this.state, "state")
+                .writeInt(this.uptime, "uptime")
+                .writeLong(this.timestamp, "timestamp")
+                .writeString(this.deviceName, "deviceName")
+                .writeDoubleArray(this.readings, "readings")
+                .getBytes();
+    }
+
+
+    @Override
+    protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+        MessageDecoder decoder = getMessageDecoder();
+        this.state = decoder.readByte("state");
+        this.uptime = decoder.readInt("uptime");
+        this.timestamp = decoder.readLong("timestamp");
+        this.deviceName = decoder.readString("deviceName");
+        this.readings = decoder.readDoubleArray("readings", READINGS);
+        return decoder.getArrayIndex();
+    }
+
+
+    public static class Builder implements IMessageBuilder {
+
+        @Override
+        public byte type() {
+            return TYPE;
+        }
+
+        @Override
+        public Command buildMessage(byte[] msgData) throws MessageFormatException {
+            return new TelemetryCommand(msgData);
+        }
+
+    }
+
+}
@@ -0,0 +1,557 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+
+import java.util.List;
+
+import static com.mytechia.commons.framework.simplemessageprotocol.Command.COMMAND_HEADER_SIZE;
+import static com.mytechia.commons.framework.simplemessageprotocol.Command.DATA_CHECKSUM_SIZE;
+
+/**
+ *  Generates the codec class of a MessageModel: static methods that encode
+ *  and decode the fields of the command with straight-line code and fixed
+ *  offsets, its MessageFieldInfo layout and its IMessageBuilder.
+ *
+ *  The generated code writes the same bytes as MessageCoder, so generated
+ *  and hand-written commands interoperate. The only difference is that the
+ *  size of a STRING is read with the endianness of the message (Command
+ *  always reads it as little endian).
+ */
+public class CodecGenerator {
+
+    public static final String CODEC_SUFFIX = "Codec";
+
+    private static final String LIBRARY_PACKAGE = "com.mytechia.commons.framework.simplemessageprotocol";
+
+    private int temporaryCount;
+
+
+    public static String codecName(MessageModel model) {
+        return model.getClassName() + CODEC_SUFFIX;
+    }
+
+
+    public String generate(MessageModel model) {
+
+        this.temporaryCount = 0;
+
+        String codec = codecName(model);
+        String target = model.getClassName();
+
+        SourceWriter w = new SourceWriter();
+        w.line("// Generated by simple-message-protocol-codegen from " + model.getQualifiedName() + ". Do not edit.");
+        if (!model.getPackageName().isEmpty()) {
+            w.line("package " + model.getPackageName() + ";");
+        }
+        w.line();
+        w.line("import " + LIBRARY_PACKAGE + ".Command;");
+        w.line("import " + LIBRARY_PACKAGE + ".IMessageBuilder;");
+        w.line("import " + LIBRARY_PACKAGE + ".MessageFieldInfo;");
+        w.line("import " + LIBRARY_PACKAGE + ".MessageFieldType;");
+        w.line("import " + LIBRARY_PACKAGE + ".exception.MessageFormatException;");
+        w.line();
+        w.line("import java.util.ArrayList;");
+        w.line("import java.util.List;");
+        w.line();
+        w.line("/**");
+        w.line(" *  Codec of " + target + ", generated from its schema.");
+        w.line(" */");
+        w.open("public final class " + codec + " {");
+        w.line();
+        w.line("public static final byte TYPE = " + byteLiteral(model.getCommandType()) + ";");
+        w.line();
+        w.line("/** Size of the data field, -1 when it depends on the values. */");
+        w.line("public static final int FIXED_DATA_SIZE = " + model.getFixedDataSize() + ";");
+        w.line();
+        w.line("/** Size of the encoded message, -1 when it depends on the values. */");
+        w.line("public static final int FIXED_MESSAGE_SIZE = " + fixedMessageSize(model) + ";");
+        w.line();
+        w.line("private static final byte[] EMPTY = new byte[0];");
+        w.line();
+        w.line();
+        w.open("private " + codec + "() {");
+        w.close("}");
+
+        generateDataSize(w, model);
+        generateMessageSize(w, model);
+        generateEncodeData(w, model);
+        generateEncode(w, model);
+        generateDecodeData(w, model);
+        generateLayout(w, model);
+        generateHelpers(w);
+        generateBuilder(w, model);
+
+        w.line();
+        w.close("}");
+        return w.toString();
+
+    }
+
+
+    private static String byteLiteral(byte value) {
+        return "(byte) 0x" + String.format("%02X", value & 0xFF);
+    }
+
+
+    private String temporary(String prefix) {
+        return prefix + (this.temporaryCount++);
+    }
+
+
+    private void generateDataSize(SourceWriter w, MessageModel model) {
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * @return size in bytes of the encoded data field of the message");
+        w.line(" */");
+        w.open("public static int dataSize(" + model.getClassName() + " m) {");
+        StringBuilder size = new StringBuilder().append(model.getFixedPartSize());
+        for (FieldModel field : model.getFields()) {
+            if (field.getType() == MessageFieldType.STRING) {
+                size.append(" + 2 + bytesOf(m.").append(field.getName()).append(").length");
+            } else if (field.getFixedSize() < 0) {
+                size.append(" + 2 + m.").append(field.getName()).append(".length");
+            }
+        }
+        w.line("return " + size + ";");
+        w.close("}");
+    }
+
+
+    private static int fixedMessageSize(MessageModel model) {
+        int dataSize = model.getFixedDataSize();
+        if (dataSize < 0) {
+            return -1;
+        }
+        return COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + DATA_CHECKSUM_SIZE : 0);
+    }
+
+
+    private void generateMessageSize(SourceWriter w, MessageModel model) {
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * @return size in bytes of the encoded message, header and checksums included");
+        w.line(" */");
+        w.open("public static int messageSize(" + model.getClassName() + " m) {");
+        if (model.getFixedDataSize() >= 0) {
+            w.line("return FIXED_MESSAGE_SIZE;");
+        } else {
+            w.line("int dataSize = dataSize(m);");
+            w.line("return Command.COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + Command.DATA_CHECKSUM_SIZE : 0);");
+        }
+        w.close("}");
+    }
+
+
+    /** Declares the encoded strings and checks the arrays; returns the data size expression. */
+    private String generateEncodePrologue(SourceWriter w, MessageModel model) {
+
+        StringBuilder size = new StringBuilder().append(model.getFixedPartSize());
+        for (FieldModel field : model.getFields()) {
+            String name = field.getName();
+            if (field.getType() == MessageFieldType.STRING) {
+                w.line("byte[] " + name + "Bytes = bytesOf(m." + name + ");");
+                size.append(" + 2 + ").append(name).append("Bytes.length");
+            } else if (field.getFixedSize() < 0) {
+                size.append(" + 2 + m.").append(name).append(".length");
+            } else if (field.getLength() > 0) {
+                w.line("checkLength(m." + name + ".length, " + field.getLength() + ", \"" + name + "\");");
+            }
+        }
+        return size.toString();
+
+    }
+
+
+    private void generateEncodeData(SourceWriter w, MessageModel model) {
+
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * @return the encoded data field of the message, as Command.codeMessageData() returns it");
+        w.line(" */");
+        w.open("public static byte[] encodeData(" + model.getClassName() + " m) throws MessageFormatException {");
+        String size = generateEncodePrologue(w, model);
+        w.line("byte[] data = new byte[" + size + "];");
+        w.line("int index = 0;");
+        generateWrites(w, model, "data");
+        w.line("return data;");
+        w.close("}");
+
+    }
+
+
+    private void generateEncode(SourceWriter w, MessageModel model) {
+
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * Encodes the whole message (header, data and checksums) in the buffer,");
+        w.line(" * with the same format as Command.codeMessage(), without allocating it.");
+        w.line(" *");
+        w.line(" * @return size of the encoded message");
+        w.line(" */");
+        w.open("public static int encode(" + model.getClassName() + " m, byte[] buffer, int offset) throws MessageFormatException {");
+        String size = generateEncodePrologue(w, model);
+        w.line("int dataSize = " + size + ";");
+        w.line("int size = Command.COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + Command.DATA_CHECKSUM_SIZE : 0);");
+        w.open("if (offset + size > buffer.length) {");
+        w.line("throw new MessageFormatException(\"Buffer too small for a message of \" + size + \" bytes\");");
+        w.close("}");
+        generateEncodeMessage(w, model);
+        w.line("return size;");
+        w.close("}");
+
+        // the strings are encoded once, both to size the array and to write them
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * @return the whole encoded message, in an array of its exact size");
+        w.line(" */");
+        w.open("public static byte[] encode(" + model.getClassName() + " m) throws MessageFormatException {");
+        size = generateEncodePrologue(w, model);
+        w.line("int dataSize = " + size + ";");
+        w.line("byte[] buffer = new byte[Command.COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + Command.DATA_CHECKSUM_SIZE : 0)];");
+        w.line("int offset = 0;");
+        generateEncodeMessage(w, model);
+        w.line("return buffer;");
+        w.close("}");
+
+    }
+
+
+    /** Writes the message in buffer at offset, with dataSize and the encoded strings declared. */
+    private void generateEncodeMessage(SourceWriter w, MessageModel model) {
+
+        Endianness endianness = model.getEndianness();
+
+        w.line("buffer[offset + Command.INIT_BYTE_INDEX] = Command.INIT_BYTE;");
+        w.line("buffer[offset + Command.COMMAND_TYPE_INDEX] = m.getCommandType();");
+        w.line("int sequenceNumber = m.getSequenceNumber();");
+        writeNumber(w, MessageFieldType.USHORT, "sequenceNumber", "buffer", "offset", 2, endianness);
+        w.line("buffer[offset + Command.ERROR_CODE_INDEX] = m.getErrorCode();");
+        writeNumber(w, MessageFieldType.USHORT, "dataSize", "buffer", "offset", 5, endianness);
+        w.line("int index = offset + Command.DATA_INDEX;");
+        generateWrites(w, model, "buffer");
+        w.open("if (dataSize > 0) {");
+        w.line("buffer[offset + Command.DATA_INDEX + dataSize] = checksum(buffer, offset + Command.DATA_INDEX, dataSize);");
+        w.close("}");
+        w.line("buffer[offset + Command.HEADER_CHECKSUM_INDEX] = checksum(buffer, offset, Command.HEADER_CHECKSUM_INDEX);");
+
+    }
+
+
+    private void generateWrites(SourceWriter w, MessageModel model, String buffer) {
+
+        Endianness endianness = model.getEndianness();
+        int pending = 0;
+
+        for (FieldModel field : model.getFields()) {
+
+            String value = "m." + field.getName();
+            int fixedSize = field.getFixedSize();
+
+            if (field.isArray()) {
+                int elementSize = FieldModel.elementSize(field.getType());
+                w.open("for (int i = 0; i < " + field.getLength() + "; i++) {");
+                w.line("int at = " + offset("index", pending) + " + i * " + elementSize + ";");
+                writeNumber(w, field.getType(), value + "[i]", buffer, "at", 0, endianness);
+                w.close("}");
+            } else if (field.isNumeric()) {
+                writeNumber(w, field.getType(), value, buffer, "index", pending, endianness);
+            } else if (fixedSize > 0) {
+                w.line("checkLength(" + value + ".length, " + fixedSize + ", \"" + field.getName() + "\");");
+                w.line("System.arraycopy(" + value + ", 0, " + buffer + ", " + offset("index", pending) + ", " + fixedSize + ");");
+            } else {
+                String bytes = (field.getType() == MessageFieldType.STRING) ? field.getName() + "Bytes" : value;
+                if (pending > 0) {
+                    w.line("index += " + pending + ";");
+                    pending = 0;
+                }
+                w.line("int " + field.getName() + "Length = " + bytes + ".length;");
+                writeNumber(w, MessageFieldType.SHORT, field.getName() + "Length", buffer, "index", 0, endianness);
+                w.line("System.arraycopy(" + bytes + ", 0, " + buffer + ", index + 2, " + field.getName() + "Length);");
+                w.line("index += 2 + " + field.getName() + "Length;");
+                continue;
+            }
+
+            pending += fixedSize;
+
+        }
+
+    }
+
+
+    private void generateDecodeData(SourceWriter w, MessageModel model) {
+
+        Endianness endianness = model.getEndianness();
+
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * Decodes the data field into the fields of the message, as");
+        w.line(" * Command.decodeMessageData() does. Arrays of the right size are reused.");
+        w.line(" *");
+        w.line(" * @return index of the first byte after the data");
+        w.line(" */");
+        w.open("public static int decodeData(" + model.getClassName() + " m, byte[] bytes, int index) throws MessageFormatException {");
+
+        List<FieldModel> fields = model.getFields();
+        int pending = 0;
+        int checked = 0;
+
+        for (int f = 0; f < fields.size(); f++) {
+
+            FieldModel field = fields.get(f);
+            String target = "m." + field.getName();
+            int fixedSize = field.getFixedSize();
+
+            if (pending == checked && fixedSize >= 0) {
+                // check at once the size of the run of fixed size fields that starts here
+                int run = 0;
+                for (int g = f; g < fields.size() && fields.get(g).getFixedSize() >= 0; g++) {
+                    run += fields.get(g).getFixedSize();
+                }
+                w.line("checkSize(bytes, " + offset("index", pending + run) + ");");
+                checked = pending + run;
+            }
+
+            if (field.isArray()) {
+                int elementSize = FieldModel.elementSize(field.getType());
+                w.open("if (null == " + target + " || " + target + ".length != " + field.getLength() + ") {");
+                w.line(target + " = new " + field.getElementJavaType() + "[" + field.getLength() + "];");
+                w.close("}");
+                w.open("for (int i = 0; i < " + field.getLength() + "; i++) {");
+                w.line("int at = " + offset("index", pending) + " + i * " + elementSize + ";");
+                w.line(target + "[i] = " + readNumber(field.getType(), "bytes", "at", 0, endianness) + ";");
+                w.close("}");
+            } else if (field.isNumeric()) {
+                w.line(target + " = " + readNumber(field.getType(), "bytes", "index", pending, endianness) + ";");
+            } else if (fixedSize > 0) {
+                w.open("if (null == " + target + " || " + target + ".length != " + fixedSize + ") {");
+                w.line(target + " = new byte[" + fixedSize + "];");
+                w.close("}");
+                w.line("System.arraycopy(bytes, " + offset("index", pending) + ", " + target + ", 0, " + fixedSize + ");");
+            } else {
+                if (pending > 0) {
+                    w.line("index += " + pending + ";");
+                    pending = 0;
+                    checked = 0;
+                }
+                String length = field.getName() + "Length";
+                w.line("checkSize(bytes, index + 2);");
+                w.line("int " + length + " = " + readNumber(MessageFieldType.USHORT, "bytes", "index", 0, endianness) + ";");
+                w.line("checkSize(bytes, index + 2 + " + length + ");");
+                if (field.getType() == MessageFieldType.STRING) {
+                    w.line(target + " = new String(bytes, index + 2, " + length + ");");
+                } else {
+                    w.open("if (null == " + target + " || " + target + ".length != " + length + ") {");
+                    w.line(target + " = new byte[" + length + "];");
+                    w.close("}");
+                    w.line("System.arraycopy(bytes, index + 2, " + target + ", 0, " + length + ");");
+                }
+                w.line("index += 2 + " + length + ";");
+                continue;
+            }
+
+            pending += fixedSize;
+
+        }
+
+        w.line("return " + offset("index", pending) + ";");
+        w.close("}");
+
+    }
+
+
+    private void generateLayout(SourceWriter w, MessageModel model) {
+
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * @return the fields of the message, as MessageCoder describes them");
+        w.line(" */");
+        w.open("public static List<MessageFieldInfo> layout(" + model.getClassName() + " m) {");
+        w.line("List<MessageFieldInfo> fields = new ArrayList<>();");
+        w.line("int fieldIndex = 1;");
+
+        for (FieldModel field : model.getFields()) {
+            String name = field.getName();
+            String type = "MessageFieldType." + field.getType().name();
+            if (field.isArray()) {
+                w.open("for (int i = 1; i <= " + field.getLength() + "; i++) {");
+                w.line("fields.add(new MessageFieldInfo(\"" + name + "_\" + i, "
+                        + FieldModel.elementSize(field.getType()) + ", fieldIndex++, " + type + "));");
+                w.close("}");
+            } else if (field.getFixedSize() >= 0) {
+                w.line("fields.add(new MessageFieldInfo(\"" + name + "\", " + field.getFixedSize() + ", fieldIndex++, " + type + "));");
+            } else if (field.getType() == MessageFieldType.STRING) {
+                w.line("fields.add(new MessageFieldInfo(\"" + name + "\", 2 + bytesOf(m." + name + ").length, fieldIndex++, " + type + "));");
+            } else {
+                w.line("fields.add(new MessageFieldInfo(\"" + name + "\", 2 + m." + name + ".length, fieldIndex++, " + type + "));");
+            }
+        }
+
+        w.line("return fields;");
+        w.close("}");
+
+    }
+
+
+    private void generateHelpers(SourceWriter w) {
+
+        w.line();
+        w.line();
+        w.open("private static byte[] bytesOf(String value) {");
+        w.line("return (null == value) ? EMPTY : value.getBytes();");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("private static void checkLength(int length, int expected, String field) throws MessageFormatException {");
+        w.open("if (length != expected) {");
+        w.line("throw new MessageFormatException(\"Field \" + field + \" has \" + length + \" elements instead of \" + expected);");
+        w.close("}");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("private static void checkSize(byte[] bytes, int end) throws MessageFormatException {");
+        w.open("if (end > bytes.length) {");
+        w.line("throw new MessageFormatException(\"Message data too short\");");
+        w.close("}");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("private static byte checksum(byte[] data, int offset, int length) {");
+        w.line("byte checksum = 0;");
+        w.open("for (int i = 0; i < length; i++) {");
+        w.line("checksum ^= data[offset + i];");
+        w.close("}");
+        w.line("return checksum;");
+        w.close("}");
+
+    }
+
+
+    private void generateBuilder(SourceWriter w, MessageModel model) {
+
+        w.line();
+        w.line();
+        w.open("public static final class Builder implements IMessageBuilder {");
+        w.line();
+        w.line("@Override");
+        w.open("public byte type() {");
+        w.line("return TYPE;");
+        w.close("}");
+        w.line();
+        w.line("@Override");
+        w.open("public Command buildMessage(byte[] msgData) throws MessageFormatException {");
+        w.line("return new " + model.getClassName() + "(msgData);");
+        w.close("}");
+        w.line();
+        w.close("}");
+
+    }
+
+
+    static String offset(String base, int constant) {
+        return (constant == 0) ? base : base + " + " + constant;
+    }
+
+
+    /** Byte k of a value of size bytes is shifted this many bits. */
+    private static int shift(int k, int size, Endianness endianness) {
+        return 8 * ((endianness == Endianness.LITTLE_ENDIAN) ? k : size - 1 - k);
+    }
+
+
+    void writeNumber(SourceWriter w, MessageFieldType type, String value, String buffer,
+                     String base, int constant, Endianness endianness) {
+
+        int size = FieldModel.elementSize(type);
+
+        if (size == 1) {
+            w.line(buffer + "[" + offset(base, constant) + "] = " + value + ";");
+            return;
+        }
+
+        String bits = value;
+        if (type == MessageFieldType.DOUBLE) {
+            bits = temporary("bits");
+            w.line("long " + bits + " = Double.doubleToLongBits(" + value + ");");
+        } else if (type == MessageFieldType.FLOAT) {
+            bits = temporary("bits");
+            w.line("int " + bits + " = Float.floatToIntBits(" + value + ");");
+        } else if (type == MessageFieldType.HALF_FLOAT) {
+            bits = temporary("bits");
+            w.line("short " + bits + " = " + LIBRARY_PACKAGE + ".HalfFloat.fromFloat(" + value + ");");
+        }
+
+        for (int k = 0; k < size; k++) {
+            int shift = shift(k, size, endianness);
+            String shifted = (shift == 0) ? bits : "(" + bits + " >>> " + shift + ")";
+            w.line(buffer + "[" + offset(base, constant + k) + "] = (byte) " + shifted + ";");
+        }
+
+    }
+
+
+    static String readNumber(MessageFieldType type, String bytes, String base, int constant, Endianness endianness) {
+
+        int size = FieldModel.elementSize(type);
+
+        if (size == 1) {
+            return bytes + "[" + offset(base, constant) + "]";
+        }
+
+        boolean wide = size == 8;
+        StringBuilder expression = new StringBuilder();
+        for (int k = 0; k < size; k++) {
+            int shift = shift(k, size, endianness);
+            String unsignedByte = "(" + bytes + "[" + offset(base, constant + k) + "] & 0xFF)";
+            if (wide) {
+                unsignedByte = "((long) " + unsignedByte + ")";
+            }
+            if (k > 0) {
+                expression.append(" | ");
+            }
+            expression.append((shift == 0) ? unsignedByte : "(" + unsignedByte + " << " + shift + ")");
+        }
+
+        switch (type) {
+            case SHORT:
+                return "(short) (" + expression + ")";
+            case UINT:
+                return "((long) (" + expression + ") & 0xFFFFFFFFL)";
+            case DOUBLE:
+                return "Double.longBitsToDouble(" + expression + ")";
+            case FLOAT:
+                return "Float.intBitsToFloat(" + expression + ")";
+            case HALF_FLOAT:
+                return LIBRARY_PACKAGE + ".HalfFloat.toFloat((short) (" + expression + "))";
+            default:
+                return "(" + expression + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+
+/**
+ *  Generates the Command subclass of a MessageModel declared in a schema
+ *  file. The class holds the fields, with getters and fluent setters, and
+ *  delegates the coding to the codec generated by CodecGenerator.
+ */
+public class CommandClassGenerator {
+
+    private static final String LIBRARY_PACKAGE = "com.mytechia.commons.framework.simplemessageprotocol";
+
+
+    public String generate(MessageModel model, String source) {
+
+        String name = model.getClassName();
+        String codec = CodecGenerator.codecName(model);
+        String endianness = "Endianness." + (model.getEndianness() == Endianness.BIG_ENDIAN ? "BIG_ENDIAN" : "LITTLE_ENDIAN");
+
+        SourceWriter w = new SourceWriter();
+        w.line("// Generated by simple-message-protocol-codegen from " + source + ". Do not edit.");
+        if (!model.getPackageName().isEmpty()) {
+            w.line("package " + model.getPackageName() + ";");
+        }
+        w.line();
+        w.line("import " + LIBRARY_PACKAGE + ".Command;");
+        w.line("import " + LIBRARY_PACKAGE + ".Endianness;");
+        w.line("import " + LIBRARY_PACKAGE + ".MessageFieldInfo;");
+        w.line("import " + LIBRARY_PACKAGE + ".exception.MessageFormatException;");
+        w.line();
+        w.line("import java.util.List;");
+        w.line();
+        w.line("/**");
+        w.line(" *  Command " + name + " (type " + String.format("0x%02X", model.getCommandType() & 0xFF) + "), generated from " + source + ".");
+        w.line(" */");
+        w.open("public class " + name + " extends Command {");
+        w.line();
+        w.line("public static final byte TYPE = " + codec + ".TYPE;");
+
+        for (FieldModel field : model.getFields()) {
+            w.line();
+            w.line(field.getJavaType() + " " + field.getName() + ";");
+        }
+
+        w.line();
+        w.line();
+        w.open("public " + name + "() {");
+        w.line("super(" + endianness + ");");
+        w.line("setCommandType(TYPE);");
+        for (FieldModel field : model.getFields()) {
+            String initial = initialValue(field);
+            if (null != initial) {
+                w.line("this." + field.getName() + " = " + initial + ";");
+            }
+        }
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("public " + name + "(int sequenceNumber) {");
+        w.line("this();");
+        w.line("setSequenceNumber(sequenceNumber);");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("public " + name + "(byte[] message) throws MessageFormatException {");
+        w.line("super(" + endianness + ", message);");
+        w.close("}");
+
+        for (FieldModel field : model.getFields()) {
+            generateAccessors(w, name, field);
+        }
+
+        w.line();
+        w.line();
+        w.line("@Override");
+        w.open("public void setSequenceNumber(int sequenceNumber) {");
+        w.line("super.setSequenceNumber(sequenceNumber);");
+        w.close("}");
+        w.line();
+        w.line();
+        w.line("/**");
+        w.line(" * Encodes the message in an array allocated with its exact size. Unlike");
+        w.line(" * Command.codeMessage(), it does not keep a copy of the data field.");
+        w.line(" */");
+        w.line("@Override");
+        w.open("public byte[] codeMessage() throws MessageFormatException {");
+        w.line("return " + codec + ".encode(this);");
+        w.close("}");
+        w.line();
+        w.line();
+        w.line("@Override");
+        w.open("protected byte[] codeMessageData() throws MessageFormatException {");
+        w.line("return " + codec + ".encodeData(this);");
+        w.close("}");
+        w.line();
+        w.line();
+        w.line("@Override");
+        w.open("protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {");
+        w.line("return " + codec + ".decodeData(this, bytes, initIndex);");
+        w.close("}");
+        w.line();
+        w.line();
+        w.line("@Override");
+        w.open("public List<MessageFieldInfo> getCodingMessageInfo() {");
+        w.line("return " + codec + ".layout(this);");
+        w.close("}");
+
+        w.line();
+        w.close("}");
+        return w.toString();
+
+    }
+
+
+    /** Non numeric fields start empty instead of null, so a new command can always be coded. */
+    private static String initialValue(FieldModel field) {
+        if (field.isArray()) {
+            return "new " + field.getElementJavaType() + "[" + field.getLength() + "]";
+        }
+        switch (field.getType()) {
+            case STRING:
+                return "\"\"";
+            case BYTEARRAY:
+                return "new byte[" + field.getLength() + "]";
+            default:
+                return null;
+        }
+    }
+
+
+    private static void generateAccessors(SourceWriter w, String className, FieldModel field) {
+
+        String name = field.getName();
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        String type = field.getJavaType();
+
+        w.line();
+        w.line();
+        w.open("public " + type + " get" + suffix + "() {");
+        w.line("return this." + name + ";");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("public " + className + " set" + suffix + "(" + type + " " + name + ") {");
+        w.line("this." + name + " = " + name + ";");
+        w.line("return this;");
+        w.close("}");
+
+    }
+
+}
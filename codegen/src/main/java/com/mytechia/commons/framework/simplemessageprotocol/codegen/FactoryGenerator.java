@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+/**
+ *  Generates the registration class of a schema file: it registers the
+ *  builders of all its messages in a MessageFactory.
+ */
+public class FactoryGenerator {
+
+    private static final String LIBRARY_PACKAGE = "com.mytechia.commons.framework.simplemessageprotocol";
+
+
+    public String generate(SchemaFile schema, String source) {
+
+        SourceWriter w = new SourceWriter();
+        w.line("// Generated by simple-message-protocol-codegen from " + source + ". Do not edit.");
+        if (!schema.getPackageName().isEmpty()) {
+            w.line("package " + schema.getPackageName() + ";");
+        }
+        w.line();
+        w.line("import " + LIBRARY_PACKAGE + ".MessageFactory;");
+        w.line();
+        w.line("/**");
+        w.line(" *  Registers the messages of " + source + " in a MessageFactory.");
+        w.line(" */");
+        w.open("public final class " + schema.getFactoryName() + " {");
+        w.line();
+        w.open("private " + schema.getFactoryName() + "() {");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("public static MessageFactory registerAll(MessageFactory factory) {");
+        for (MessageModel message : schema.getMessages()) {
+            w.line("factory.registerMessageBuilder(new " + CodecGenerator.codecName(message) + ".Builder());");
+        }
+        w.line("return factory;");
+        w.close("}");
+        w.line();
+        w.line();
+        w.open("public static MessageFactory createMessageFactory() {");
+        w.line("return registerAll(new MessageFactory());");
+        w.close("}");
+        w.line();
+        w.close("}");
+        return w.toString();
+
+    }
+
+}
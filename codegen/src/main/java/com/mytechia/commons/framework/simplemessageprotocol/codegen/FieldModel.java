@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+
+/**
+ *  A field of a MessageModel.
+ */
+public class FieldModel {
+
+    private final String name;
+
+    private final MessageFieldType type;
+
+    private final int length;
+
+
+    /**
+     * @param name name of the Java field
+     * @param type wire type
+     * @param length elements of an array, size of a fixed BYTEARRAY, or 0
+     */
+    public FieldModel(String name, MessageFieldType type, int length) {
+        this.name = name;
+        this.type = type;
+        this.length = length;
+    }
+
+
+    public String getName() {
+        return this.name;
+    }
+
+
+    public MessageFieldType getType() {
+        return this.type;
+    }
+
+
+    public int getLength() {
+        return this.length;
+    }
+
+
+    /**
+     * @return size in bytes of one value of a fixed-size numeric type, -1 otherwise
+     */
+    public static int elementSize(MessageFieldType type) {
+        switch (type) {
+            case BYTE:
+                return 1;
+            case SHORT:
+            case USHORT:
+            case HALF_FLOAT:
+                return 2;
+            case INT:
+            case UINT:
+            case FLOAT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            default:
+                return -1;
+        }
+    }
+
+
+    /**
+     * @return if the generators can code fields of the type
+     */
+    public static boolean isSupported(MessageFieldType type) {
+        return elementSize(type) > 0 || type == MessageFieldType.STRING || type == MessageFieldType.BYTEARRAY;
+    }
+
+
+    public boolean isNumeric() {
+        return elementSize(this.type) > 0;
+    }
+
+
+    /** A numeric field with several elements. */
+    public boolean isArray() {
+        return isNumeric() && this.length > 0;
+    }
+
+
+    /**
+     * @return encoded size of the field, -1 if it depends on its value
+     */
+    public int getFixedSize() {
+        if (isNumeric()) {
+            return elementSize(this.type) * Math.max(1, this.length);
+        }
+        if (this.type == MessageFieldType.BYTEARRAY && this.length > 0) {
+            return this.length;
+        }
+        return -1;
+    }
+
+
+    /**
+     * @return Java type of a single element
+     */
+    public String getElementJavaType() {
+        switch (this.type) {
+            case BYTE:
+                return "byte";
+            case SHORT:
+                return "short";
+            case USHORT:
+            case INT:
+                return "int";
+            case UINT:
+            case LONG:
+                return "long";
+            case FLOAT:
+            case HALF_FLOAT:
+                return "float";
+            case DOUBLE:
+                return "double";
+            case STRING:
+                return "String";
+            default:
+                return "byte[]";
+        }
+    }
+
+
+    /**
+     * @return Java type of the field
+     */
+    public String getJavaType() {
+        return isArray() ? getElementJavaType() + "[]" : getElementJavaType();
+    }
+
+}
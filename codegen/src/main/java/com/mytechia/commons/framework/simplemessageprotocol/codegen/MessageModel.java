@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *  Wire layout of a command: its type, endianness and ordered fields. It is
+ *  built from the annotations of a class or from a schema file, and it is
+ *  the input of the generators.
+ */
+public class MessageModel {
+
+    private final String packageName;
+
+    private final String className;
+
+    private final byte commandType;
+
+    private final Endianness endianness;
+
+    private final List<FieldModel> fields = new ArrayList<>();
+
+
+    public MessageModel(String packageName, String className, byte commandType, Endianness endianness) {
+        this.packageName = packageName;
+        this.className = className;
+        this.commandType = commandType;
+        this.endianness = endianness;
+    }
+
+
+    public MessageModel addField(FieldModel field) {
+        this.fields.add(field);
+        return this;
+    }
+
+
+    public String getPackageName() {
+        return this.packageName;
+    }
+
+
+    public String getClassName() {
+        return this.className;
+    }
+
+
+    public String getQualifiedName() {
+        return this.packageName.isEmpty() ? this.className : this.packageName + "." + this.className;
+    }
+
+
+    public byte getCommandType() {
+        return this.commandType;
+    }
+
+
+    public Endianness getEndianness() {
+        return this.endianness;
+    }
+
+
+    public List<FieldModel> getFields() {
+        return Collections.unmodifiableList(this.fields);
+    }
+
+
+    /**
+     * @return size of the data field of every message, -1 if it depends on the values
+     */
+    public int getFixedDataSize() {
+        int size = 0;
+        for (FieldModel field : this.fields) {
+            if (field.getFixedSize() < 0) {
+                return -1;
+            }
+            size += field.getFixedSize();
+        }
+        return size;
+    }
+
+
+    /**
+     * @return bytes of the fields with a fixed size
+     */
+    public int getFixedPartSize() {
+        int size = 0;
+        for (FieldModel field : this.fields) {
+            size += Math.max(0, field.getFixedSize());
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+import com.mytechia.commons.framework.simplemessageprotocol.schema.MessageField;
+import com.mytechia.commons.framework.simplemessageprotocol.schema.MessageSchema;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *  Annotation processor that generates the codec of every Command subclass
+ *  annotated with MessageSchema (see CodecGenerator).
+ *
+ *  It is registered in META-INF/services, so it runs when this jar is in
+ *  the annotation processor path of the compiler.
+ */
+@SupportedAnnotationTypes({
+        "com.mytechia.commons.framework.simplemessageprotocol.schema.MessageSchema",
+        "com.mytechia.commons.framework.simplemessageprotocol.schema.MessageField"
+})
+public class MessageSchemaProcessor extends AbstractProcessor {
+
+    private static final String COMMAND_CLASS = "com.mytechia.commons.framework.simplemessageprotocol.Command";
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(MessageSchema.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@MessageSchema can only be used on classes");
+                continue;
+            }
+            MessageModel model = buildModel((TypeElement) element);
+            if (null != model) {
+                write(model, element);
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(MessageField.class)) {
+            if (null == element.getEnclosingElement().getAnnotation(MessageSchema.class)) {
+                error(element, "@MessageField can only be used in classes annotated with @MessageSchema");
+            }
+        }
+
+        return true;
+
+    }
+
+
+    private MessageModel buildModel(final TypeElement type) {
+
+        boolean valid = true;
+
+        TypeElement command = this.processingEnv.getElementUtils().getTypeElement(COMMAND_CLASS);
+        if (!this.processingEnv.getTypeUtils().isSubtype(type.asType(), command.asType())) {
+            error(type, "A @MessageSchema class must extend Command");
+            valid = false;
+        }
+        if (type.getNestingKind().isNested()) {
+            error(type, "A @MessageSchema class must be a top level class");
+            valid = false;
+        }
+        if (!hasMessageConstructor(type)) {
+            error(type, "A @MessageSchema class needs a constructor that receives the encoded message (byte[])");
+            valid = false;
+        }
+
+        List<VariableElement> annotated = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (null != field.getAnnotation(MessageField.class)) {
+                annotated.add(field);
+            }
+        }
+        Collections.sort(annotated, new Comparator<VariableElement>() {
+            @Override
+            public int compare(VariableElement a, VariableElement b) {
+                int orderA = a.getAnnotation(MessageField.class).order();
+                int orderB = b.getAnnotation(MessageField.class).order();
+                return (orderA < orderB) ? -1 : ((orderA == orderB) ? 0 : 1);
+            }
+        });
+
+        MessageSchema schema = type.getAnnotation(MessageSchema.class);
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        MessageModel model = new MessageModel(pkg.getQualifiedName().toString(), type.getSimpleName().toString(),
+                schema.type(), schema.endianness());
+
+        Set<Integer> orders = new HashSet<>();
+        for (VariableElement field : annotated) {
+
+            MessageField annotation = field.getAnnotation(MessageField.class);
+            FieldModel fieldModel = new FieldModel(field.getSimpleName().toString(), annotation.type(), annotation.length());
+
+            if (!orders.add(annotation.order())) {
+                error(field, "Duplicated field order " + annotation.order());
+                valid = false;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.STATIC)
+                    || field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "A @MessageField can not be private, static or final");
+                valid = false;
+            }
+            if (!FieldModel.isSupported(annotation.type())) {
+                error(field, "The generator does not support fields of type " + annotation.type());
+                valid = false;
+                continue;
+            }
+            if (annotation.length() < 0 || (annotation.length() > 0 && annotation.type() == MessageFieldType.STRING)) {
+                error(field, "Invalid length " + annotation.length() + " for a field of type " + annotation.type());
+                valid = false;
+            }
+
+            String javaType = field.asType().toString();
+            if (!javaType.equals(fieldModel.getJavaType()) && !javaType.equals("java.lang." + fieldModel.getJavaType())) {
+                error(field, "A @MessageField of type " + annotation.type()
+                        + (fieldModel.isArray() ? " with a length" : "") + " must be declared as " + fieldModel.getJavaType());
+                valid = false;
+            }
+
+            model.addField(fieldModel);
+
+        }
+
+        return valid ? model : null;
+
+    }
+
+
+    private boolean hasMessageConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE) || constructor.getParameters().size() != 1) {
+                continue;
+            }
+            TypeMirror parameter = constructor.getParameters().get(0).asType();
+            if (parameter.toString().equals("byte[]")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private void write(MessageModel model, Element origin) {
+        String name = model.getQualifiedName() + CodecGenerator.CODEC_SUFFIX;
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(name, origin);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new CodecGenerator().generate(model));
+            }
+        } catch (IOException ex) {
+            error(origin, "Unable to write " + name + ": " + ex.getMessage());
+        }
+    }
+
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
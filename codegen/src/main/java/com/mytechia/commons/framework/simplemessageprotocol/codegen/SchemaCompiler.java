@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  Compiles schema files (.smp) into Java sources: for every message a
+ *  Command subclass and its codec, and a registration class per file.
+ */
+public class SchemaCompiler {
+
+    public static final String SCHEMA_EXTENSION = ".smp";
+
+    private static final String ENCODING = "UTF-8";
+
+    private final CodecGenerator codecGenerator = new CodecGenerator();
+
+    private final CommandClassGenerator commandGenerator = new CommandClassGenerator();
+
+    private final FactoryGenerator factoryGenerator = new FactoryGenerator();
+
+
+    /**
+     * Compiles every schema file found under a directory.
+     *
+     * @return the generated source files
+     */
+    public List<File> compileDirectory(File sourceDirectory, File outputDirectory) throws IOException, SchemaParseException {
+        List<File> generated = new ArrayList<>();
+        File[] files = sourceDirectory.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    generated.addAll(compileDirectory(file, outputDirectory));
+                } else if (file.getName().endsWith(SCHEMA_EXTENSION)) {
+                    generated.addAll(compile(file, outputDirectory));
+                }
+            }
+        }
+        return generated;
+    }
+
+
+    /**
+     * @return the generated source files
+     */
+    public List<File> compile(File schemaFile, File outputDirectory) throws IOException, SchemaParseException {
+
+        String source = schemaFile.getName();
+        SchemaFile schema = new SchemaParser(source, read(schemaFile)).parse();
+
+        File packageDirectory = outputDirectory;
+        if (!schema.getPackageName().isEmpty()) {
+            packageDirectory = new File(outputDirectory, schema.getPackageName().replace('.', File.separatorChar));
+        }
+        if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs()) {
+            throw new IOException("Unable to create the directory " + packageDirectory);
+        }
+
+        List<File> generated = new ArrayList<>();
+        for (MessageModel message : schema.getMessages()) {
+            generated.add(write(packageDirectory, message.getClassName(),
+                    this.commandGenerator.generate(message, source)));
+            generated.add(write(packageDirectory, CodecGenerator.codecName(message),
+                    this.codecGenerator.generate(message)));
+        }
+        generated.add(write(packageDirectory, schema.getFactoryName(),
+                this.factoryGenerator.generate(schema, source)));
+
+        return generated;
+
+    }
+
+
+    private static String read(File file) throws IOException {
+        InputStream input = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                content.write(buffer, 0, read);
+            }
+            return content.toString(ENCODING);
+        } finally {
+            input.close();
+        }
+    }
+
+
+    private static File write(File directory, String className, String content) throws IOException {
+        File file = new File(directory, className + ".java");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), ENCODING);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *  Contents of a schema file: the package and the name of the factory
+ *  registration class, and the messages.
+ */
+public class SchemaFile {
+
+    private final String packageName;
+
+    private final String factoryName;
+
+    private final List<MessageModel> messages;
+
+
+    public SchemaFile(String packageName, String factoryName, List<MessageModel> messages) {
+        this.packageName = packageName;
+        this.factoryName = factoryName;
+        this.messages = new ArrayList<>(messages);
+    }
+
+
+    public String getPackageName() {
+        return this.packageName;
+    }
+
+
+    public String getFactoryName() {
+        return this.factoryName;
+    }
+
+
+    public List<MessageModel> getMessages() {
+        return Collections.unmodifiableList(this.messages);
+    }
+
+}
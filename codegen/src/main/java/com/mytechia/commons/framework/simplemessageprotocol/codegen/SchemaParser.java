@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *  Parser of the schema language (.smp files):
+ *
+ *  // comments like in Java, also with slash and star
+ *  package com.example.robot;
+ *  endianness little;            // or big, little by default
+ *  factory RobotMessages;        // registration class, optional
+ *
+ *  message StatusCommand = 0x20 {
+ *      byte state;
+ *      uint uptime;
+ *      double readings[4];       // array of 4 elements
+ *      string name;
+ *      bytearray serial[6];      // 6 bytes
+ *      bytearray payload;        // preceded by its size
+ *  }
+ *
+ *  The field types are the names of MessageFieldType in lower case. The
+ *  package, endianness and factory statements apply to the whole file.
+ */
+public class SchemaParser {
+
+    private static final String DEFAULT_FACTORY_SUFFIX = "Messages";
+
+    private final String source;
+
+    private final List<Token> tokens;
+
+    private int position = 0;
+
+
+    /**
+     * @param source name of the schema, for the error messages
+     * @param text contents of the schema
+     */
+    public SchemaParser(String source, String text) throws SchemaParseException {
+        this.source = source;
+        this.tokens = tokenize(text);
+    }
+
+
+    public SchemaFile parse() throws SchemaParseException {
+
+        String packageName = "";
+        String factoryName = null;
+        Endianness endianness = Endianness.LITTLE_ENDIAN;
+        List<Token> messageStarts = new ArrayList<>();
+
+        // the file statements apply to every message, wherever they are
+        while (!atEnd()) {
+            Token token = next();
+            if (token.is("package")) {
+                packageName = qualifiedName();
+                expect(";");
+            } else if (token.is("endianness")) {
+                Token value = next();
+                if (value.is("little")) {
+                    endianness = Endianness.LITTLE_ENDIAN;
+                } else if (value.is("big")) {
+                    endianness = Endianness.BIG_ENDIAN;
+                } else {
+                    throw error(value, "Expected little or big, found " + value.text);
+                }
+                expect(";");
+            } else if (token.is("factory")) {
+                factoryName = identifier();
+                expect(";");
+            } else if (token.is("message")) {
+                messageStarts.add(token);
+                skipMessage();
+            } else {
+                throw error(token, "Expected package, endianness, factory or message, found " + token.text);
+            }
+        }
+
+        List<MessageModel> messages = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<Integer> types = new HashSet<>();
+        for (Token start : messageStarts) {
+            this.position = this.tokens.indexOf(start) + 1;
+            MessageModel message = message(packageName, endianness);
+            if (!names.add(message.getClassName())) {
+                throw error(start, "Duplicated message " + message.getClassName());
+            }
+            if (!types.add(message.getCommandType() & 0xFF)) {
+                throw error(start, "Duplicated command type " + (message.getCommandType() & 0xFF));
+            }
+            messages.add(message);
+        }
+
+        if (null == factoryName) {
+            factoryName = defaultFactoryName();
+        }
+
+        return new SchemaFile(packageName, factoryName, messages);
+
+    }
+
+
+    private String defaultFactoryName() {
+        String name = this.source;
+        int slash = Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'));
+        name = name.substring(slash + 1);
+        int dot = name.indexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        StringBuilder className = new StringBuilder();
+        boolean upper = true;
+        for (char c : name.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(c) || c == '_') {
+                upper = true;
+            } else {
+                className.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return className + DEFAULT_FACTORY_SUFFIX;
+    }
+
+
+    private void skipMessage() throws SchemaParseException {
+        while (!atEnd() && !next().is("}")) {
+            // the body is parsed later
+        }
+    }
+
+
+    private MessageModel message(String packageName, Endianness endianness) throws SchemaParseException {
+
+        String name = identifier();
+        expect("=");
+        Token typeToken = peek();
+        int type = number();
+        if (type < 0 || type > 0xFF) {
+            throw error(typeToken, "Command type out of range: " + type);
+        }
+        expect("{");
+
+        MessageModel message = new MessageModel(packageName, name, (byte) type, endianness);
+        Set<String> fieldNames = new HashSet<>();
+
+        while (!peek().is("}")) {
+
+            Token typeName = next();
+            MessageFieldType fieldType = fieldType(typeName);
+            Token nameToken = peek();
+            String fieldName = identifier();
+            int length = 0;
+            if (peek().is("[")) {
+                next();
+                Token lengthToken = peek();
+                length = number();
+                if (length <= 0 || fieldType == MessageFieldType.STRING) {
+                    throw error(lengthToken, "Invalid length " + length + " for a field of type " + typeName.text);
+                }
+                expect("]");
+            }
+            expect(";");
+
+            if (!fieldNames.add(fieldName)) {
+                throw error(nameToken, "Duplicated field " + fieldName);
+            }
+            message.addField(new FieldModel(fieldName, fieldType, length));
+
+        }
+        expect("}");
+
+        return message;
+
+    }
+
+
+    private MessageFieldType fieldType(Token token) throws SchemaParseException {
+        for (MessageFieldType type : MessageFieldType.values()) {
+            if (type.name().toLowerCase().equals(token.text)) {
+                if (!FieldModel.isSupported(type)) {
+                    throw error(token, "The generator does not support fields of type " + token.text);
+                }
+                return type;
+            }
+        }
+        throw error(token, "Unknown field type " + token.text);
+    }
+
+
+    private String qualifiedName() throws SchemaParseException {
+        StringBuilder name = new StringBuilder(identifier());
+        while (peek().is(".")) {
+            next();
+            name.append('.').append(identifier());
+        }
+        return name.toString();
+    }
+
+
+    private String identifier() throws SchemaParseException {
+        Token token = next();
+        if (!token.identifier) {
+            throw error(token, "Expected a name, found " + token.text);
+        }
+        return token.text;
+    }
+
+
+    private int number() throws SchemaParseException {
+        Token token = next();
+        try {
+            if (token.text.startsWith("0x") || token.text.startsWith("0X")) {
+                return Integer.parseInt(token.text.substring(2), 16);
+            }
+            return Integer.parseInt(token.text);
+        } catch (NumberFormatException ex) {
+            throw error(token, "Expected a number, found " + token.text);
+        }
+    }
+
+
+    private void expect(String text) throws SchemaParseException {
+        Token token = next();
+        if (!token.is(text)) {
+            throw error(token, "Expected " + text + ", found " + token.text);
+        }
+    }
+
+
+    private boolean atEnd() {
+        return this.position >= this.tokens.size();
+    }
+
+
+    private Token peek() throws SchemaParseException {
+        if (atEnd()) {
+            int line = this.tokens.isEmpty() ? 1 : this.tokens.get(this.tokens.size() - 1).line;
+            throw new SchemaParseException(this.source, line, "Unexpected end of file");
+        }
+        return this.tokens.get(this.position);
+    }
+
+
+    private Token next() throws SchemaParseException {
+        Token token = peek();
+        this.position++;
+        return token;
+    }
+
+
+    private SchemaParseException error(Token token, String message) {
+        return new SchemaParseException(this.source, token.line, message);
+    }
+
+
+    private List<Token> tokenize(String text) throws SchemaParseException {
+
+        List<Token> result = new ArrayList<>();
+        int line = 1;
+        int i = 0;
+
+        while (i < text.length()) {
+
+            char c = text.charAt(i);
+
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (text.startsWith("//", i)) {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (text.startsWith("/*", i)) {
+                int end = text.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new SchemaParseException(this.source, line, "Unterminated comment");
+                }
+                for (int j = i; j < end; j++) {
+                    if (text.charAt(j) == '\n') {
+                        line++;
+                    }
+                }
+                i = end + 2;
+            } else if (Character.isJavaIdentifierStart(c) || Character.isDigit(c)) {
+                int start = i;
+                while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    i++;
+                }
+                result.add(new Token(text.substring(start, i), line, Character.isJavaIdentifierStart(c)));
+            } else if ("{}[]=;.".indexOf(c) >= 0) {
+                result.add(new Token(String.valueOf(c), line, false));
+                i++;
+            } else {
+                throw new SchemaParseException(this.source, line, "Unexpected character '" + c + "'");
+            }
+
+        }
+
+        return result;
+
+    }
+
+
+    private static final class Token {
+
+        final String text;
+
+        final int line;
+
+        final boolean identifier;
+
+        Token(String text, int line, boolean identifier) {
+            this.text = text;
+            this.line = line;
+            this.identifier = identifier;
+        }
+
+        boolean is(String value) {
+            return this.text.equals(value);
+        }
+
+    }
+
+}
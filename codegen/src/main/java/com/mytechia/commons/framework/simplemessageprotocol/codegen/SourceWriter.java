@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.codegen;
+
+/**
+ *  Builds Java source code line by line, with indentation.
+ */
+class SourceWriter {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder source = new StringBuilder();
+
+    private int level = 0;
+
+
+    SourceWriter line(String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < this.level; i++) {
+                this.source.append(INDENT);
+            }
+            this.source.append(line);
+        }
+        this.source.append('\n');
+        return this;
+    }
+
+
+    SourceWriter line() {
+        return line("");
+    }
+
+
+    /** Writes the line and indents the following ones. */
+    SourceWriter open(String line) {
+        line(line);
+        this.level++;
+        return this;
+    }
+
+
+    /** Unindents and writes the line. */
+    SourceWriter close(String line) {
+        this.level--;
+        return line(line);
+    }
+
+
+    @Override
+    public String toString() {
+        return this.source.toString();
+    }
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.maven;
+
+import com.mytechia.commons.framework.simplemessageprotocol.codegen.SchemaCompiler;
+import com.mytechia.commons.framework.simplemessageprotocol.codegen.SchemaParseException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ *  Generates the Java sources of the schema files (.smp) found in
+ *  sourceDirectory and adds outputDirectory to the compile source roots.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project.basedir}/src/main/smp", property = "smp.sourceDirectory")
+    private File sourceDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-sources/smp", property = "smp.outputDirectory")
+    private File outputDirectory;
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+
+        if (!this.sourceDirectory.isDirectory()) {
+            getLog().info("No schema directory " + this.sourceDirectory + ", skipping");
+            return;
+        }
+
+        try {
+            List<File> generated = new SchemaCompiler().compileDirectory(this.sourceDirectory, this.outputDirectory);
+            getLog().info("Generated " + generated.size() + " source files in " + this.outputDirectory);
+        } catch (SchemaParseException ex) {
+            throw new MojoFailureException(ex.getMessage(), ex);
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Unable to generate the schema sources", ex);
+        }
+
+        this.project.addCompileSourceRoot(this.outputDirectory.getAbsolutePath());
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+/**
+ *  Layout of a batch: several encoded messages sent in one datagram.
+ *
+ *  A batch starts with BATCH_INIT_BYTE instead of Command.INIT_BYTE, a byte
+ *  of flags with the endianness of the messages and the number of messages,
+ *  followed by the messages one after the other. The messages are not
+ *  modified: each one keeps its own header and checksums, and its data size
+ *  tells where the next one starts.
+ */
+public final class BatchFrame {
+
+    public static final byte BATCH_INIT_BYTE = 0x42;
+
+    public static final int INIT_BYTE_INDEX = 0;
+    public static final int FLAGS_INDEX = 1;
+    public static final int MESSAGE_COUNT_INDEX = 2;
+    public static final int FIRST_MESSAGE_INDEX = 3;
+
+    public static final int BATCH_HEADER_SIZE = 3;
+
+    public static final int MAX_BATCH_MESSAGES = 0xFF;
+
+    /** Flag set when the messages of the batch are little endian. */
+    public static final int LITTLE_ENDIAN_FLAG = 0x01;
+
+
+    private BatchFrame() {
+    }
+
+
+    public static boolean isBatch(byte[] data, int offset, int length) {
+        return length >= BATCH_HEADER_SIZE && data[offset + INIT_BYTE_INDEX] == BATCH_INIT_BYTE;
+    }
+
+
+    /**
+     * Writes the header of a batch; the messages must be written after it.
+     */
+    public static void writeHeader(byte[] data, int offset, int messageCount, Endianness endianness) {
+        data[offset + INIT_BYTE_INDEX] = BATCH_INIT_BYTE;
+        data[offset + FLAGS_INDEX] = (byte) ((endianness == Endianness.LITTLE_ENDIAN) ? LITTLE_ENDIAN_FLAG : 0);
+        data[offset + MESSAGE_COUNT_INDEX] = (byte) messageCount;
+    }
+
+
+    public static int getMessageCount(byte[] data, int offset) {
+        return data[offset + MESSAGE_COUNT_INDEX] & 0xFF;
+    }
+
+
+    public static Endianness getEndianness(byte[] data, int offset) {
+        return ((data[offset + FLAGS_INDEX] & LITTLE_ENDIAN_FLAG) != 0) ? Endianness.LITTLE_ENDIAN : Endianness.BIG_ENDIAN;
+    }
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *  Packs the members of a BITFIELD group: booleans take 1 bit and unsigned
+ *  values and enum ordinals the bits given. The members are packed in
+ *  order from the least significant bit of the first byte, so member k of
+ *  a group of flags is (byte[k / 8] >> (k % 8)) & 1 in C.
+ *
+ *  It is created by MessageCoder.beginBitField(), and end() writes the
+ *  group in the message, padded to whole bytes:
+ *
+ *  coder.beginBitField("status")
+ *          .writeBoolean(armed, "armed")
+ *          .writeEnum(mode, 3, "mode")
+ *          .end()
+ *      .writeInt(...);
+ */
+public class BitFieldCoder {
+
+    /** Maximum bits of a member. */
+    public static final int MAX_MEMBER_BITS = 32;
+
+    private final MessageCoder coder;
+
+    private final String name;
+
+    private byte[] bytes = new byte[4];
+
+    private int bitCount = 0;
+
+    private final List<String> memberNames = new ArrayList<>();
+
+    private final List<Integer> memberBits = new ArrayList<>();
+
+
+    BitFieldCoder(MessageCoder coder, String name) {
+        this.coder = coder;
+        this.name = name;
+    }
+
+
+    public BitFieldCoder writeBoolean(boolean value, String name) {
+        return writeBits(value ? 1 : 0, 1, name);
+    }
+
+
+    /**
+     * Writes the ordinal of the enum constant.
+     *
+     * @param bits bits of the member, enough for every ordinal of the enum
+     */
+    public BitFieldCoder writeEnum(Enum<?> value, int bits, String name) {
+        return writeBits(value.ordinal(), bits, name);
+    }
+
+
+    /**
+     * @param value unsigned value of the member
+     * @param bits bits of the member, from 1 to MAX_MEMBER_BITS
+     * @throws IllegalArgumentException if the value does not fit in the bits
+     */
+    public BitFieldCoder writeBits(int value, int bits, String name) {
+
+        if (bits < 1 || bits > MAX_MEMBER_BITS) {
+            throw new IllegalArgumentException("Invalid size of " + bits + " bits for the member " + name);
+        }
+        if (bits < MAX_MEMBER_BITS && (value >>> bits) != 0) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in the " + bits + " bits of the member " + name);
+        }
+
+        int required = (this.bitCount + bits + 7) >>> 3;
+        if (required > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(required, this.bytes.length * 2));
+        }
+
+        int remaining = bits;
+        int position = this.bitCount;
+        long pending = value & 0xFFFFFFFFL;
+        while (remaining > 0) {
+            int used = position & 7;
+            int n = Math.min(8 - used, remaining);
+            this.bytes[position >>> 3] |= (byte) ((pending & ((1 << n) - 1)) << used);
+            pending >>>= n;
+            remaining -= n;
+            position += n;
+        }
+
+        this.bitCount = position;
+        this.memberNames.add(name);
+        this.memberBits.add(bits);
+
+        return this;
+
+    }
+
+
+    /**
+     * Writes the group in the message.
+     *
+     * @return the coder of the message, to go on writing fields
+     */
+    public MessageCoder end() {
+        return this.coder.writeBitField(this.name, this.bytes, this.bitCount, this.memberNames, this.memberBits);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  Unpacks the members of a BITFIELD group written by BitFieldCoder. The
+ *  members are read in the order they were written, and end() moves the
+ *  decoder to the byte that follows the group.
+ *
+ *  It is created by MessageDecoder.beginBitField().
+ */
+public class BitFieldDecoder {
+
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+
+    private final MessageDecoder decoder;
+
+    private final String name;
+
+    private final byte[] data;
+
+    private final int offset;
+
+    private int bitCount = 0;
+
+    private final List<String> memberNames = new ArrayList<>();
+
+    private final List<Integer> memberBits = new ArrayList<>();
+
+
+    BitFieldDecoder(MessageDecoder decoder, String name, byte[] data, int offset) {
+        this.decoder = decoder;
+        this.name = name;
+        this.data = data;
+        this.offset = offset;
+    }
+
+
+    public boolean readBoolean(String name) throws MessageFormatException {
+        return readBits(1, name) != 0;
+    }
+
+
+    /**
+     * Same as readEnum(E[], int, String), with the constants of the enum
+     * cached per class, since getEnumConstants() copies them on every call.
+     *
+     * @throws MessageFormatException if the ordinal does not exist in the enum
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Enum<E>> E readEnum(Class<E> enumClass, int bits, String name) throws MessageFormatException {
+        return readEnum((E[]) ENUM_CONSTANTS.get(enumClass), bits, name);
+    }
+
+
+    /**
+     * @param values constants of the enum, i.e. E.values() kept by the caller
+     * @throws MessageFormatException if the ordinal does not exist in the enum
+     */
+    public <E extends Enum<E>> E readEnum(E[] values, int bits, String name) throws MessageFormatException {
+        int ordinal = readBits(bits, name);
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new MessageFormatException("Invalid value " + ordinal + " of the member " + name
+                    + " of type " + values.getClass().getComponentType().getSimpleName());
+        }
+        return values[ordinal];
+    }
+
+
+    /**
+     * @param bits bits of the member, from 1 to BitFieldCoder.MAX_MEMBER_BITS
+     * @return unsigned value of the member
+     */
+    public int readBits(int bits, String name) throws MessageFormatException {
+
+        if (bits < 1 || bits > BitFieldCoder.MAX_MEMBER_BITS) {
+            throw new IllegalArgumentException("Invalid size of " + bits + " bits for the member " + name);
+        }
+
+        int position = this.bitCount;
+        if (this.offset + ((position + bits + 7) >>> 3) > this.data.length) {
+            throw new MessageFormatException("Message data too short for the member " + name);
+        }
+
+        long value = 0;
+        int read = 0;
+        while (read < bits) {
+            int used = position & 7;
+            int n = Math.min(8 - used, bits - read);
+            long chunk = ((this.data[this.offset + (position >>> 3)] & 0xFF) >>> used) & ((1 << n) - 1);
+            value |= chunk << read;
+            read += n;
+            position += n;
+        }
+
+        this.bitCount = position;
+        this.memberNames.add(name);
+        this.memberBits.add(bits);
+
+        return (int) value;
+
+    }
+
+
+    /**
+     * Skips the padding of the group.
+     *
+     * @return the decoder of the message, to go on reading fields
+     */
+    public MessageDecoder end() {
+        return this.decoder.endBitField(this.name, this.bitCount, this.memberNames, this.memberBits);
+    }
+
+}
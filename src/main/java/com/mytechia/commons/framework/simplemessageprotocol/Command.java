@@ -62,6 +62,8 @@ public abstract class Command
     public static final int ERROR_CODE_INDEX = 4;
     /** Index of Data Size field. Field of 2 bytes. */    
     public static final int DATA_SIZE_INDEX = 5;
+    /** Bit of the Data Size field set when the data is compressed (see compression.PayloadCompressor). */
+    public static final int COMPRESSED_DATA_FLAG = 0x8000;
     public static final int HEADER_CHECKSUM_INDEX = 7;
     public static final int DATA_INDEX = COMMAND_HEADER_SIZE;
 
@@ -146,6 +148,11 @@ public abstract class Command
     }
 
 
+    public Endianness getEndianness() {
+        return endianness;
+    }
+
+
 
     /**
      * Obtain data field size (include 'user data' and 'data checksum')
@@ -392,6 +399,9 @@ public abstract class Command
             dataSizeValue = EndianConversor.byteArrayBigEndianToShort(messageHeaderData, DATA_SIZE_INDEX);
         }
         
+        if ((dataSizeValue & COMPRESSED_DATA_FLAG) != 0) {
+            throw new MessageFormatException("Compressed data, it must be decompressed before decoding.");
+        }
         if (dataSizeValue >= 0) {
             this.dataSize = dataSizeValue;
         }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+/**
+ *  Reads and rewrites the header fields of an encoded message in place,
+ *  without building a Command.
+ *
+ *  The header checksum is the XOR of the header bytes, so when a field is
+ *  rewritten the checksum is updated by XORing it with the old and the new
+ *  bytes of the field; the rest of the header is not read again.
+ */
+public final class CommandHeader {
+
+    private CommandHeader() {
+    }
+
+
+    /**
+     * @return true if the data starts with the init byte, has a valid header
+     *         checksum and is long enough for the data size of the header
+     *         (the data checksum is not verified)
+     */
+    public static boolean isValid(byte[] message, int offset, int length, Endianness endianness) {
+
+        if (length < Command.COMMAND_HEADER_SIZE || message[offset + Command.INIT_BYTE_INDEX] != Command.INIT_BYTE) {
+            return false;
+        }
+
+        byte checksum = 0;
+        for (int i = 0; i < Command.HEADER_CHECKSUM_INDEX; i++) {
+            checksum ^= message[offset + i];
+        }
+        if (checksum != message[offset + Command.HEADER_CHECKSUM_INDEX]) {
+            return false;
+        }
+
+        int dataSize = getDataSize(message, offset, endianness);
+        int expected = Command.COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + Command.DATA_CHECKSUM_SIZE : 0);
+        return length >= expected;
+
+    }
+
+
+    /**
+     * @return size in bytes of the encoded message, header and checksums included
+     */
+    public static int getMessageSize(byte[] message, int offset, Endianness endianness) {
+        int dataSize = getDataSize(message, offset, endianness);
+        return Command.COMMAND_HEADER_SIZE + ((dataSize > 0) ? dataSize + Command.DATA_CHECKSUM_SIZE : 0);
+    }
+
+
+    public static byte getCommandType(byte[] message, int offset) {
+        return message[offset + Command.COMMAND_TYPE_INDEX];
+    }
+
+
+    public static byte getErrorCode(byte[] message, int offset) {
+        return message[offset + Command.ERROR_CODE_INDEX];
+    }
+
+
+    /**
+     * @return sequence number, from 0 to 0xFFFF
+     */
+    public static int getSequenceNumber(byte[] message, int offset, Endianness endianness) {
+        return readShort(message, offset + Command.SEQUENCE_NUMBER_INDEX, endianness);
+    }
+
+
+    /**
+     * @return size of the data field, compressed or not
+     */
+    public static int getDataSize(byte[] message, int offset, Endianness endianness) {
+        return readShort(message, offset + Command.DATA_SIZE_INDEX, endianness) & (Command.COMPRESSED_DATA_FLAG - 1);
+    }
+
+
+    /**
+     * @return true if the data field is compressed
+     */
+    public static boolean isCompressed(byte[] message, int offset, Endianness endianness) {
+        return (readShort(message, offset + Command.DATA_SIZE_INDEX, endianness) & Command.COMPRESSED_DATA_FLAG) != 0;
+    }
+
+
+    public static byte getHeaderChecksum(byte[] message, int offset) {
+        return message[offset + Command.HEADER_CHECKSUM_INDEX];
+    }
+
+
+    public static void setCommandType(byte[] message, int offset, byte commandType) {
+        patchByte(message, offset, Command.COMMAND_TYPE_INDEX, commandType);
+    }
+
+
+    public static void setErrorCode(byte[] message, int offset, byte errorCode) {
+        patchByte(message, offset, Command.ERROR_CODE_INDEX, errorCode);
+    }
+
+
+    public static void setSequenceNumber(byte[] message, int offset, int sequenceNumber, Endianness endianness) {
+        patchShort(message, offset, Command.SEQUENCE_NUMBER_INDEX, sequenceNumber, endianness);
+    }
+
+
+    /**
+     * Rewrites a byte of the header and updates the header checksum.
+     *
+     * @param index index of the byte in the header
+     */
+    public static void patchByte(byte[] message, int offset, int index, byte value) {
+        byte old = message[offset + index];
+        message[offset + index] = value;
+        message[offset + Command.HEADER_CHECKSUM_INDEX] ^= (byte) (old ^ value);
+    }
+
+
+    /**
+     * Rewrites a 2 byte field of the header and updates the header checksum.
+     *
+     * @param index index of the first byte of the field in the header
+     */
+    public static void patchShort(byte[] message, int offset, int index, int value, Endianness endianness) {
+        byte low = (byte) value;
+        byte high = (byte) (value >>> 8);
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            patchByte(message, offset, index, low);
+            patchByte(message, offset, index + 1, high);
+        } else {
+            patchByte(message, offset, index, high);
+            patchByte(message, offset, index + 1, low);
+        }
+    }
+
+
+    /**
+     * Rewrites bytes of the data field and updates the data checksum.
+     *
+     * @param dataOffset offset of the first byte to rewrite inside the data field
+     * @param values new bytes
+     */
+    public static void patchData(byte[] message, int offset, int dataOffset, byte[] values, int valuesOffset,
+                                 int count, Endianness endianness) {
+
+        int dataSize = getDataSize(message, offset, endianness);
+        if (dataOffset < 0 || dataOffset + count > dataSize) {
+            throw new IndexOutOfBoundsException("Patch of " + count + " bytes at " + dataOffset
+                    + " out of a data field of " + dataSize + " bytes");
+        }
+
+        int start = offset + Command.DATA_INDEX + dataOffset;
+        byte checksum = message[offset + Command.DATA_INDEX + dataSize];
+        for (int i = 0; i < count; i++) {
+            byte value = values[valuesOffset + i];
+            checksum ^= (byte) (message[start + i] ^ value);
+            message[start + i] = value;
+        }
+        message[offset + Command.DATA_INDEX + dataSize] = checksum;
+
+    }
+
+
+    private static int readShort(byte[] message, int index, Endianness endianness) {
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            return (message[index] & 0xFF) | ((message[index + 1] & 0xFF) << 8);
+        }
+        return ((message[index] & 0xFF) << 8) | (message[index + 1] & 0xFF);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+/**
+ *  Conversions between float and the IEEE 754 half precision format
+ *  (binary16) of HALF_FLOAT fields: 1 sign bit, 5 exponent bits and 10
+ *  mantissa bits, about 3 significant decimal digits up to 65504.
+ *
+ *  Floats are rounded to the nearest half, ties to even. Values above the
+ *  maximum become infinite, values below 2^-24 become subnormals or zero,
+ *  and NaN stays NaN. Every half converts back to a float exactly.
+ */
+public final class HalfFloat {
+
+    /** Largest finite half float. */
+    public static final float MAX_VALUE = 65504f;
+
+    /** 2^-24, the value of the least significant bit of the subnormals. */
+    private static final float SUBNORMAL_UNIT = 5.9604645E-8f;
+
+    private HalfFloat() {
+    }
+
+
+    public static short fromFloat(float value) {
+
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exponent = ((bits >>> 23) & 0xFF) - 127 + 15;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exponent == 0xFF - 127 + 15) {
+            // infinite or NaN, keeping a NaN quiet
+            return (short) (sign | 0x7C00 | ((mantissa != 0) ? 0x200 | (mantissa >>> 13) : 0));
+        }
+        if (exponent >= 0x1F) {
+            return (short) (sign | 0x7C00);
+        }
+
+        int half;
+        int shift;
+        if (exponent > 0) {
+            half = (exponent << 10) | (mantissa >>> 13);
+            shift = 13;
+        } else if (exponent >= -10) {
+            // subnormal: the implicit bit is shifted into the mantissa
+            mantissa |= 0x800000;
+            shift = 14 - exponent;
+            half = mantissa >>> shift;
+        } else {
+            return (short) sign;
+        }
+
+        // round to nearest, ties to even; a carry into the exponent is right
+        int remainder = mantissa & ((1 << shift) - 1);
+        int halfway = 1 << (shift - 1);
+        if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+            half++;
+        }
+
+        return (short) (sign | half);
+
+    }
+
+
+    public static float toFloat(short half) {
+
+        int bits = half & 0xFFFF;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1F;
+        int mantissa = bits & 0x3FF;
+
+        if (exponent == 0x1F) {
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        }
+        if (exponent == 0) {
+            float value = mantissa * SUBNORMAL_UNIT;
+            return (sign != 0) ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+
+    }
+
+}
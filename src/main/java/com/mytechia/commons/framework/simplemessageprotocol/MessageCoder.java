@@ -20,6 +20,7 @@
 package com.mytechia.commons.framework.simplemessageprotocol;
 
 import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.series.SeriesEncoder;
 import com.mytechia.commons.util.conversion.EndianConversor;
 
 import java.io.ByteArrayOutputStream;
@@ -383,4 +384,324 @@ public class MessageCoder {
     }
 
 
+    /**
+     * Writes the int as an unsigned VARINT (1 to 5 bytes). Negative values
+     * always take 5 bytes, use writeSVarInt() for signed values.
+     */
+    public MessageCoder writeVarInt(int data, String name) {
+        return writeVarNumber(data & 0xFFFFFFFFL, name, MessageFieldType.VARINT);
+    }
+
+
+    /**
+     * Writes the long as an unsigned VARLONG (1 to 10 bytes).
+     */
+    public MessageCoder writeVarLong(long data, String name) {
+        return writeVarNumber(data, name, MessageFieldType.VARLONG);
+    }
+
+
+    /**
+     * Writes the int zigzag encoded as a SVARINT (1 to 5 bytes).
+     */
+    public MessageCoder writeSVarInt(int data, String name) {
+        return writeVarNumber(zigZagEncode(data) & 0xFFFFFFFFL, name, MessageFieldType.SVARINT);
+    }
+
+
+    /**
+     * Writes the long zigzag encoded as a SVARLONG (1 to 10 bytes).
+     */
+    public MessageCoder writeSVarLong(long data, String name) {
+        return writeVarNumber(zigZagEncode(data), name, MessageFieldType.SVARLONG);
+    }
+
+
+    private MessageCoder writeVarNumber(long value, String name, MessageFieldType type) {
+
+        int size;
+
+        if ((value & ~0x7FL) == 0) {
+            this.dataStream.write((int) value);
+            size = 1;
+        } else if ((value & ~0x3FFFL) == 0) {
+            this.dataStream.write((int) value | 0x80);
+            this.dataStream.write((int) (value >>> 7));
+            size = 2;
+        } else {
+            size = 1;
+            while ((value & ~0x7FL) != 0) {
+                this.dataStream.write(((int) value & 0x7F) | 0x80);
+                value >>>= 7;
+                size++;
+            }
+            this.dataStream.write((int) value);
+        }
+
+        messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size,
+                        this.nextFieldIndex++,
+                        type
+                ));
+
+        return this;
+
+    }
+
+
+    public MessageCoder writeFloat(float data, String name) {
+        return writeFixedWidth(Float.floatToIntBits(data), EndianConversor.INT_SIZE_BYTES, name, MessageFieldType.FLOAT);
+    }
+
+
+    public MessageCoder writeFloatArray(float[] data, String name) {
+        byte[] dataArray = new byte[data.length * EndianConversor.INT_SIZE_BYTES];
+        for (int i = 0; i < data.length; i++) {
+            putNumber(Float.floatToIntBits(data[i]), EndianConversor.INT_SIZE_BYTES, dataArray, i * EndianConversor.INT_SIZE_BYTES);
+        }
+        return writeArrayFields(dataArray, data.length, EndianConversor.INT_SIZE_BYTES, name, MessageFieldType.FLOAT);
+    }
+
+
+    /**
+     * Writes the value as a half float, rounded to the nearest one as
+     * HalfFloat.fromFloat() documents.
+     */
+    public MessageCoder writeHalfFloat(float data, String name) {
+        return writeFixedWidth(HalfFloat.fromFloat(data), EndianConversor.SHORT_SIZE_BYTES, name, MessageFieldType.HALF_FLOAT);
+    }
+
+
+    public MessageCoder writeHalfFloatArray(float[] data, String name) {
+        byte[] dataArray = new byte[data.length * EndianConversor.SHORT_SIZE_BYTES];
+        for (int i = 0; i < data.length; i++) {
+            putNumber(HalfFloat.fromFloat(data[i]), EndianConversor.SHORT_SIZE_BYTES, dataArray, i * EndianConversor.SHORT_SIZE_BYTES);
+        }
+        return writeArrayFields(dataArray, data.length, EndianConversor.SHORT_SIZE_BYTES, name, MessageFieldType.HALF_FLOAT);
+    }
+
+
+    /**
+     * Writes the value as a FIXED_POINT field. It is rounded to the nearest
+     * multiple of the scale, halves rounded up (as Math.round() does).
+     *
+     * @param scale value of one unit of the coded integer, i.e. 0.01
+     * @param width bytes of the coded integer: 1, 2, 4 or 8
+     * @throws MessageFormatException if the value does not fit in the width
+     */
+    public MessageCoder writeFixedPoint(double data, double scale, int width, String name) throws MessageFormatException {
+        return writeFixedWidth(toFixedPoint(data, scale, width, name), width, name, MessageFieldType.FIXED_POINT);
+    }
+
+
+    public MessageCoder writeFixedPointArray(double[] data, double scale, int width, String name) throws MessageFormatException {
+        byte[] dataArray = new byte[data.length * width];
+        for (int i = 0; i < data.length; i++) {
+            putNumber(toFixedPoint(data[i], scale, width, name), width, dataArray, i * width);
+        }
+        return writeArrayFields(dataArray, data.length, width, name, MessageFieldType.FIXED_POINT);
+    }
+
+
+    private static long toFixedPoint(double data, double scale, int width, String name) throws MessageFormatException {
+
+        if (width != 1 && width != 2 && width != 4 && width != 8) {
+            throw new MessageFormatException("Invalid width " + width + " of the fixed point field " + name);
+        }
+
+        double units = data / scale;
+        long max = (width == 8) ? Long.MAX_VALUE : (1L << (8 * width - 1)) - 1;
+        if (Double.isNaN(units) || units >= max + 0.5 || units < -max - 1.5) {
+            throw new MessageFormatException("Value " + data + " out of range of the fixed point field " + name);
+        }
+
+        return Math.round(units);
+
+    }
+
+
+    /**
+     * @return the coder of the members of a BITFIELD group; its end() method
+     *         writes the group and returns this coder
+     */
+    public BitFieldCoder beginBitField(String name) {
+        return new BitFieldCoder(this, name);
+    }
+
+
+    MessageCoder writeBitField(String name, byte[] bits, int bitCount, List<String> memberNames, List<Integer> memberBits) {
+
+        int size = (bitCount + 7) >>> 3;
+        this.dataStream.write(bits, 0, size);
+
+        messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size,
+                        this.nextFieldIndex++,
+                        MessageFieldType.BITFIELD,
+                        0,
+                        bitCount
+                ));
+
+        int bitOffset = 0;
+        for (int i = 0; i < memberNames.size(); i++) {
+            messageFieldInfoList.add(
+                    new MessageFieldInfo(
+                            memberNames.get(i),
+                            0,
+                            this.nextFieldIndex++,
+                            MessageFieldType.BITFIELD,
+                            bitOffset,
+                            memberBits.get(i)
+                    ));
+            bitOffset += memberBits.get(i);
+        }
+
+        return this;
+
+    }
+
+
+    /**
+     * Writes the compressed series preceded by its size.
+     *
+     * @throws MessageFormatException if the series takes more than 0xFFFF
+     *         bytes, the maximum of its size field
+     */
+    public MessageCoder writeSeries(SeriesEncoder series, String name) throws MessageFormatException {
+
+        int size = series.getSizeInBytes();
+        if (size > 0xFFFF) {
+            throw new MessageFormatException("Series of " + size + " bytes too long for the series field " + name);
+        }
+        byte[] lenData = new byte[EndianConversor.SHORT_SIZE_BYTES];
+        if (this.endianness == Endianness.LITTLE_ENDIAN) {
+            EndianConversor.shortToLittleEndian((short) size, lenData, 0);
+        } else {
+            EndianConversor.shortToBigEndian((short) size, lenData, 0);
+        }
+
+        try {
+            this.dataStream.write(lenData);
+            series.writeTo(this.dataStream);
+        } catch (IOException e) {
+            throw new MessageFormatException(e, this.getClass().getName());
+        }
+
+        messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size + EndianConversor.SHORT_SIZE_BYTES,
+                        this.nextFieldIndex++,
+                        MessageFieldType.SERIES
+                ));
+
+        return this;
+
+    }
+
+
+    public MessageCoder writeSeries(long[] timestamps, double[] values, String name) throws MessageFormatException {
+        return writeSeries(new SeriesEncoder(timestamps.length * 2 + 16).addAll(timestamps, values), name);
+    }
+
+
+    private MessageCoder writeFixedWidth(long value, int size, String name, MessageFieldType type) {
+
+        byte[] dataArray = new byte[size];
+        putNumber(value, size, dataArray, 0);
+        this.dataStream.write(dataArray, 0, size);
+
+        messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size,
+                        this.nextFieldIndex++,
+                        type
+                ));
+
+        return this;
+
+    }
+
+
+    /** Writes the elements of an array coded at once, with a field info per element. */
+    private MessageCoder writeArrayFields(byte[] dataArray, int elements, int elementSize, String name, MessageFieldType type) {
+
+        this.dataStream.write(dataArray, 0, dataArray.length);
+
+        for (int i = 0; i < elements; i++) {
+            messageFieldInfoList.add(
+                    new MessageFieldInfo(
+                            name + "_" + (i + 1),
+                            elementSize,
+                            this.nextFieldIndex++,
+                            type
+                    ));
+        }
+
+        return this;
+
+    }
+
+
+    private void putNumber(long value, int size, byte[] buffer, int offset) {
+        boolean littleEndian = this.endianness == Endianness.LITTLE_ENDIAN;
+        switch (size) {
+            case 1:
+                buffer[offset] = (byte) value;
+                break;
+            case EndianConversor.SHORT_SIZE_BYTES:
+                if (littleEndian) {
+                    EndianConversor.shortToLittleEndian((short) value, buffer, offset);
+                } else {
+                    EndianConversor.shortToBigEndian((short) value, buffer, offset);
+                }
+                break;
+            case EndianConversor.INT_SIZE_BYTES:
+                if (littleEndian) {
+                    EndianConversor.intToLittleEndian((int) value, buffer, offset);
+                } else {
+                    EndianConversor.intToBigEndian((int) value, buffer, offset);
+                }
+                break;
+            default:
+                if (littleEndian) {
+                    EndianConversor.longToLittleEndian(value, buffer, offset);
+                } else {
+                    EndianConversor.longToBigEndian(value, buffer, offset);
+                }
+        }
+    }
+
+
+    /**
+     * @return bytes taken by the value written as an unsigned VARLONG
+     */
+    public static int varLongSize(long value) {
+        return (64 - Long.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+
+    /**
+     * @return bytes taken by the value written as an unsigned VARINT
+     */
+    public static int varIntSize(int value) {
+        return varLongSize(value & 0xFFFFFFFFL);
+    }
+
+
+    public static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+
+    public static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
 }
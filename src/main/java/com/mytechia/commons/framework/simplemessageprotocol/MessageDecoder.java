@@ -20,6 +20,7 @@
 package com.mytechia.commons.framework.simplemessageprotocol;
 
 import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.series.SeriesReader;
 import com.mytechia.commons.util.conversion.EndianConversor;
 
 import java.util.ArrayList;
@@ -38,6 +39,10 @@ public class MessageDecoder {
 
     public static final int MAX_SIZE_IN_BYTES = 512;
 
+    public static final int MAX_VARINT_BYTES = 5;
+
+    public static final int MAX_VARLONG_BYTES = 10;
+
     private List<MessageFieldInfo> messageFieldInfoList = new ArrayList<>();
 
     private int nextFieldIndex = 1;
@@ -339,4 +344,258 @@ public class MessageDecoder {
     }
 
 
+    public int readVarInt(String name) throws MessageFormatException {
+        return (int) readVarNumber(name, MessageFieldType.VARINT, MAX_VARINT_BYTES);
+    }
+
+
+    public long readVarLong(String name) throws MessageFormatException {
+        return readVarNumber(name, MessageFieldType.VARLONG, MAX_VARLONG_BYTES);
+    }
+
+
+    public int readSVarInt(String name) throws MessageFormatException {
+        return zigZagDecode((int) readVarNumber(name, MessageFieldType.SVARINT, MAX_VARINT_BYTES));
+    }
+
+
+    public long readSVarLong(String name) throws MessageFormatException {
+        return zigZagDecode(readVarNumber(name, MessageFieldType.SVARLONG, MAX_VARLONG_BYTES));
+    }
+
+
+    private long readVarNumber(String name, MessageFieldType type, int maxBytes) throws MessageFormatException {
+
+        byte[] data = this.dataArray;
+        int start = this.arrayIndex;
+        int index = start;
+        long value;
+
+        // 1 and 2 byte values, the usual ones, without a loop
+        if (index < data.length && data[index] >= 0) {
+            value = data[index++];
+        } else if (index + 1 < data.length && data[index + 1] >= 0) {
+            value = (data[index] & 0x7F) | (data[index + 1] << 7);
+            index += 2;
+        } else {
+            value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (index >= data.length || index - start >= maxBytes) {
+                    throw new MessageFormatException("Malformed variable-length field " + name);
+                }
+                b = data[index++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+        }
+
+        this.arrayIndex = index;
+
+        this.messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        index - start,
+                        this.nextFieldIndex++,
+                        type
+                )
+        );
+
+        return value;
+
+    }
+
+
+    public float readFloat(String name) {
+        return Float.intBitsToFloat((int) readFixedWidth(EndianConversor.INT_SIZE_BYTES, name, MessageFieldType.FLOAT));
+    }
+
+
+    public float[] readFloatArray(String name, int elementsNumber) {
+
+        float[] data = new float[elementsNumber];
+
+        for (int i = 0; i < elementsNumber; i++) {
+            data[i] = this.readFloat(name + "_" + (i + 1));
+        }
+
+        return data;
+    }
+
+
+    public float readHalfFloat(String name) {
+        return HalfFloat.toFloat((short) readFixedWidth(EndianConversor.SHORT_SIZE_BYTES, name, MessageFieldType.HALF_FLOAT));
+    }
+
+
+    public float[] readHalfFloatArray(String name, int elementsNumber) {
+
+        float[] data = new float[elementsNumber];
+
+        for (int i = 0; i < elementsNumber; i++) {
+            data[i] = this.readHalfFloat(name + "_" + (i + 1));
+        }
+
+        return data;
+    }
+
+
+    /**
+     * @param scale value of one unit of the coded integer, as it was written
+     * @param width bytes of the coded integer: 1, 2, 4 or 8
+     */
+    public double readFixedPoint(String name, double scale, int width) throws MessageFormatException {
+        if (width != 1 && width != 2 && width != 4 && width != 8) {
+            throw new MessageFormatException("Invalid width " + width + " of the fixed point field " + name);
+        }
+        return readFixedWidth(width, name, MessageFieldType.FIXED_POINT) * scale;
+    }
+
+
+    public double[] readFixedPointArray(String name, int elementsNumber, double scale, int width) throws MessageFormatException {
+
+        double[] data = new double[elementsNumber];
+
+        for (int i = 0; i < elementsNumber; i++) {
+            data[i] = this.readFixedPoint(name + "_" + (i + 1), scale, width);
+        }
+
+        return data;
+    }
+
+
+    /**
+     * @return the decoder of the members of a BITFIELD group; its end() method
+     *         skips the group and returns this decoder
+     */
+    public BitFieldDecoder beginBitField(String name) {
+        return new BitFieldDecoder(this, name, this.dataArray, this.arrayIndex);
+    }
+
+
+    MessageDecoder endBitField(String name, int bitCount, List<String> memberNames, List<Integer> memberBits) {
+
+        int size = (bitCount + 7) >>> 3;
+        this.arrayIndex += size;
+
+        this.messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size,
+                        this.nextFieldIndex++,
+                        MessageFieldType.BITFIELD,
+                        0,
+                        bitCount
+                )
+        );
+
+        int bitOffset = 0;
+        for (int i = 0; i < memberNames.size(); i++) {
+            this.messageFieldInfoList.add(
+                    new MessageFieldInfo(
+                            memberNames.get(i),
+                            0,
+                            this.nextFieldIndex++,
+                            MessageFieldType.BITFIELD,
+                            bitOffset,
+                            memberBits.get(i)
+                    )
+            );
+            bitOffset += memberBits.get(i);
+        }
+
+        return this;
+
+    }
+
+
+    /**
+     * @return a reader of the samples of the series, that decodes them from
+     *         the message data as they are iterated
+     */
+    public SeriesReader readSeries(String name) throws MessageFormatException {
+
+        int size;
+
+        if (this.endianness == Endianness.LITTLE_ENDIAN) {
+            size = EndianConversor.byteArrayLittleEndianToUShort(this.dataArray, this.arrayIndex);
+        } else {
+            size = EndianConversor.byteArrayBigEndianToUShort(this.dataArray, this.arrayIndex);
+        }
+
+        this.arrayIndex += EndianConversor.SHORT_SIZE_BYTES;
+
+        SeriesReader reader = new SeriesReader(this.dataArray, this.arrayIndex, size);
+
+        this.arrayIndex += size;
+
+        this.messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size + EndianConversor.SHORT_SIZE_BYTES,
+                        this.nextFieldIndex++,
+                        MessageFieldType.SERIES
+                )
+        );
+
+        return reader;
+
+    }
+
+
+    /**
+     * @return the signed integer of the given size at the current index
+     */
+    private long readFixedWidth(int size, String name, MessageFieldType type) {
+
+        boolean littleEndian = this.endianness == Endianness.LITTLE_ENDIAN;
+        long data;
+
+        switch (size) {
+            case 1:
+                data = this.dataArray[this.arrayIndex];
+                break;
+            case EndianConversor.SHORT_SIZE_BYTES:
+                data = littleEndian
+                        ? EndianConversor.byteArrayLittleEndianToShort(this.dataArray, this.arrayIndex)
+                        : EndianConversor.byteArrayBigEndianToShort(this.dataArray, this.arrayIndex);
+                break;
+            case EndianConversor.INT_SIZE_BYTES:
+                data = littleEndian
+                        ? EndianConversor.byteArrayLittleEndianToInt(this.dataArray, this.arrayIndex)
+                        : EndianConversor.byteArrayBigEndianToInt(this.dataArray, this.arrayIndex);
+                break;
+            default:
+                data = littleEndian
+                        ? EndianConversor.byteArrayLittleEndianToLong(this.dataArray, this.arrayIndex)
+                        : EndianConversor.byteArrayBigEndianToLong(this.dataArray, this.arrayIndex);
+        }
+
+        this.arrayIndex += size;
+
+        this.messageFieldInfoList.add(
+                new MessageFieldInfo(
+                        name,
+                        size,
+                        this.nextFieldIndex++,
+                        type
+                )
+        );
+
+        return data;
+
+    }
+
+
+    public static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    public static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
 }
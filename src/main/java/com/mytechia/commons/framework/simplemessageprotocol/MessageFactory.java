@@ -20,11 +20,14 @@
 package com.mytechia.commons.framework.simplemessageprotocol;
 
 import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.DecodeFailureCause;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.IProtocolMetrics;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.NullProtocolMetrics;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  *  One instance of this class handles a map of message builder instances
@@ -36,11 +39,26 @@ public class MessageFactory {
 
     private final org.slf4j.Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private Map<Byte, IMessageBuilder> messageBuilders = new HashMap<>();
+    private static final int COMMAND_TYPES = 256;
+
+    /** Builders indexed by command type. */
+    private final IMessageBuilder[] messageBuilders = new IMessageBuilder[COMMAND_TYPES];
+
+    private IProtocolMetrics metrics = NullProtocolMetrics.INSTANCE;
 
 
     public void registerMessageBuilder(IMessageBuilder messageBuilder) {
-        this.messageBuilders.put(messageBuilder.type(), messageBuilder);
+        this.messageBuilders[messageBuilder.type() & 0xFF] = messageBuilder;
+    }
+
+
+    public void registerMetrics(IProtocolMetrics metrics) {
+        this.metrics = (null == metrics) ? NullProtocolMetrics.INSTANCE : metrics;
+    }
+
+
+    public IProtocolMetrics getMetrics() {
+        return this.metrics;
     }
 
 
@@ -49,21 +67,93 @@ public class MessageFactory {
         if (messageData.length < Command.COMMAND_HEADER_SIZE) {
 
             this.logger.warn("Message data too short: " + Arrays.toString(messageData));
+            this.metrics.decodeFailed(DecodeFailureCause.SHORT_MESSAGE);
             return null;
 
         }
 
         byte msgType = Command.getMessageType(messageData);
 
-        final IMessageBuilder messageBuilder = messageBuilders.get(msgType);
+        final IMessageBuilder messageBuilder = messageBuilders[msgType & 0xFF];
 
         if (null != messageBuilder) {
-            return messageBuilder.buildMessage(messageData);
+            return buildMessage(messageBuilder, messageData);
         }
 
+        this.metrics.decodeFailed(DecodeFailureCause.UNKNOWN_TYPE);
         return null;
 
     }
 
 
+    /**
+     * Decodes the messages of a received datagram, that can hold a single
+     * message or a BatchFrame. Messages of unknown type are skipped.
+     *
+     * @param length length of the datagram
+     * @return the decoded messages, in the order they were sent
+     * @throws MessageFormatException if a message of a batch is malformed;
+     *         the messages after it can not be found
+     */
+    public List<Command> decodeMessages(byte[] data, int offset, int length) throws MessageFormatException {
+
+        List<Command> messages = new ArrayList<>();
+
+        if (!BatchFrame.isBatch(data, offset, length)) {
+            byte[] messageData = (offset == 0) ? data : Arrays.copyOfRange(data, offset, offset + length);
+            Command message = decodeMessage(messageData);
+            if (null != message) {
+                messages.add(message);
+            }
+            return messages;
+        }
+
+        Endianness endianness = BatchFrame.getEndianness(data, offset);
+        int count = BatchFrame.getMessageCount(data, offset);
+        int index = offset + BatchFrame.FIRST_MESSAGE_INDEX;
+        int end = offset + length;
+
+        for (int i = 0; i < count; i++) {
+
+            if (!CommandHeader.isValid(data, index, end - index, endianness)) {
+                byte[] rest = Arrays.copyOfRange(data, index, Math.max(index, end));
+                this.metrics.decodeFailed(DecodeFailureCause.classify(rest, rest.length));
+                throw new MessageFormatException("Malformed message " + i + " of a batch of " + count);
+            }
+
+            int size = CommandHeader.getMessageSize(data, index, endianness);
+            Command message = decodeMessage(Arrays.copyOfRange(data, index, index + size));
+            if (null != message) {
+                messages.add(message);
+            }
+            index += size;
+
+        }
+
+        return messages;
+
+    }
+
+
+    private Command buildMessage(IMessageBuilder messageBuilder, byte[] messageData) throws MessageFormatException {
+
+        final IProtocolMetrics metrics = this.metrics;
+
+        if (!metrics.isEnabled()) {
+            return messageBuilder.buildMessage(messageData);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Command message = messageBuilder.buildMessage(messageData);
+            metrics.decodeLatency(System.nanoTime() - start);
+            return message;
+        } catch (MessageFormatException ex) {
+            metrics.decodeFailed(DecodeFailureCause.classify(messageData, messageData.length));
+            throw ex;
+        }
+
+    }
+
+
 }
@@ -34,16 +34,41 @@ public class MessageFieldInfo {
 
     private MessageFieldType type = MessageFieldType.BYTE;
 
+    private int bitOffset = 0;
+
+    private int bitLength = 0;
+
     public MessageFieldInfo
             (String name,
              int sizeInBytes,
              int fieldIndex,
              MessageFieldType type) {
 
+        this(name, sizeInBytes, fieldIndex, type, 0, sizeInBytes * 8);
+
+    }
+
+
+    /**
+     * Meta info of a BITFIELD group or member. The group is described by a
+     * field with the size of its bytes, followed by a field for each member
+     * with 0 bytes and its bit offset (0 is the least significant bit of
+     * the first byte of the group) and length.
+     */
+    public MessageFieldInfo
+            (String name,
+             int sizeInBytes,
+             int fieldIndex,
+             MessageFieldType type,
+             int bitOffset,
+             int bitLength) {
+
         this.name = name;
         this.sizeInBytes = sizeInBytes;
         this.fieldIndex = fieldIndex;
         this.type = type;
+        this.bitOffset = bitOffset;
+        this.bitLength = bitLength;
 
     }
 
@@ -64,6 +89,20 @@ public class MessageFieldInfo {
         return type;
     }
 
+    /**
+     * @return offset of the first bit of a BITFIELD member in its group, 0 for other fields
+     */
+    public int getBitOffset() {
+        return bitOffset;
+    }
+
+    /**
+     * @return bits of a BITFIELD member, sizeInBytes * 8 for other fields
+     */
+    public int getBitLength() {
+        return bitLength;
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -74,6 +113,8 @@ public class MessageFieldInfo {
 
         if (sizeInBytes != that.sizeInBytes) return false;
         if (fieldIndex != that.fieldIndex) return false;
+        if (bitOffset != that.bitOffset) return false;
+        if (bitLength != that.bitLength) return false;
         if (!name.equals(that.name)) return false;
         return type == that.type;
 
@@ -85,6 +126,8 @@ public class MessageFieldInfo {
         result = 31 * result + sizeInBytes;
         result = 31 * result + fieldIndex;
         result = 31 * result + type.hashCode();
+        result = 31 * result + bitOffset;
+        result = 31 * result + bitLength;
         return result;
     }
 
@@ -95,6 +138,8 @@ public class MessageFieldInfo {
                 ", sizeInBytes=" + sizeInBytes +
                 ", fieldIndex=" + fieldIndex +
                 ", type=" + type +
+                ", bitOffset=" + bitOffset +
+                ", bitLength=" + bitLength +
                 '}';
     }
 }
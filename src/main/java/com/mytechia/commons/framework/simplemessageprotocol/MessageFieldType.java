@@ -25,6 +25,47 @@ package com.mytechia.commons.framework.simplemessageprotocol;
  */
 public enum MessageFieldType {
 
-    BYTE, SHORT, USHORT, INT, UINT, LONG, DOUBLE, STRING, BYTEARRAY;
+    BYTE, SHORT, USHORT, INT, UINT, LONG, DOUBLE, STRING, BYTEARRAY,
+
+    /**
+     * Variable-length integers: 7 bits per byte, the least significant first,
+     * with the high bit set in every byte but the last. They do not depend on
+     * the endianness of the message. Values below 128 take 1 byte and values
+     * below 16384 take 2 bytes.
+     */
+    VARINT, VARLONG,
+
+    /**
+     * Signed variable-length integers, zigzag encoded before the VARINT and
+     * VARLONG coding so that small negative values also take few bytes
+     * (0 -> 0, -1 -> 1, 1 -> 2, -2 -> 3...).
+     */
+    SVARINT, SVARLONG,
+
+    /** IEEE 754 single precision float, 4 bytes. */
+    FLOAT,
+
+    /** IEEE 754 half precision float, 2 bytes. See HalfFloat. */
+    HALF_FLOAT,
+
+    /**
+     * Real number coded as a signed integer of 1, 2, 4 or 8 bytes that counts
+     * units of a scale: the value 21.37 with a scale of 0.01 is coded as 2137.
+     * The scale and the width are not sent, both ends must agree on them.
+     */
+    FIXED_POINT,
+
+    /**
+     * Compressed series of (timestamp, value) samples, preceded by its size
+     * like a BYTEARRAY. See series.SeriesEncoder.
+     */
+    SERIES,
+
+    /**
+     * Group of booleans and small unsigned integers (i.e. enum ordinals)
+     * packed in the minimum number of bytes, the first member in the least
+     * significant bits of the first byte. See BitFieldCoder.
+     */
+    BITFIELD;
 
 }
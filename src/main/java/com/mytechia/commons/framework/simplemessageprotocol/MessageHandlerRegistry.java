@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.dispatch.IMessageListener;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *  Passes each received message to the handlers registered for its type,
+ *  replacing the instanceof or getCommandType() switches of the application.
+ *
+ *  Handlers are kept in a 256 entry array indexed by the command type, so
+ *  finding them is an array access. Each type has an ordered chain of
+ *  handlers: a message goes through the chain until a handler consumes it.
+ *  Messages of a type without handlers go to the fallback handler, if any,
+ *  and so do the messages that are not of the class registered for their
+ *  type (i.e. built by another IMessageBuilder).
+ *
+ *  registerHandler() pairs the handlers with the IMessageBuilder of the
+ *  type, which is registered in the MessageFactory of this registry, so
+ *  decoding and handling are configured in one place. Handlers can be
+ *  registered while messages are dispatched.
+ */
+public class MessageHandlerRegistry implements IMessageListener {
+
+    private static final int COMMAND_TYPES = 256;
+
+    private final MessageFactory messageFactory;
+
+    private final AtomicReferenceArray<HandlerChain<?>> chains = new AtomicReferenceArray<>(COMMAND_TYPES);
+
+    private volatile IMessageHandler<Command> fallbackHandler = null;
+
+
+    public MessageHandlerRegistry() {
+        this(new MessageFactory());
+    }
+
+
+    public MessageHandlerRegistry(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+    }
+
+
+    public MessageFactory getMessageFactory() {
+        return this.messageFactory;
+    }
+
+
+    /**
+     * Registers the builder in the MessageFactory and adds the handler to the
+     * end of the chain of its type.
+     *
+     * @param messageBuilder builder of the messages of the type
+     * @param messageClass class of the messages built by messageBuilder
+     * @param handler handler of those messages
+     */
+    public <T extends Command> void registerHandler(IMessageBuilder messageBuilder, Class<T> messageClass,
+                                                    IMessageHandler<? super T> handler) {
+        this.messageFactory.registerMessageBuilder(messageBuilder);
+        registerHandler(messageBuilder.type(), messageClass, handler);
+    }
+
+
+    /**
+     * Adds the handler to the end of the chain of a type whose builder is
+     * already registered in the MessageFactory.
+     *
+     * @throws IllegalArgumentException if the type already has handlers of
+     *         another message class
+     */
+    public synchronized <T extends Command> void registerHandler(byte commandType, Class<T> messageClass,
+                                                                 IMessageHandler<? super T> handler) {
+
+        int index = commandType & 0xFF;
+        HandlerChain<?> chain = this.chains.get(index);
+        TypedHandler<T> typedHandler = new TypedHandler<>(messageClass, handler);
+
+        if (null == chain) {
+            this.chains.set(index, new HandlerChain<>(messageClass, new TypedHandler<?>[]{typedHandler}));
+        } else if (chain.messageClass != messageClass) {
+            throw new IllegalArgumentException("Command type " + index + " is handled as "
+                    + chain.messageClass.getName() + ", not as " + messageClass.getName());
+        } else {
+            TypedHandler<?>[] handlers = Arrays.copyOf(chain.handlers, chain.handlers.length + 1);
+            handlers[handlers.length - 1] = typedHandler;
+            this.chains.set(index, new HandlerChain<>(messageClass, handlers));
+        }
+
+    }
+
+
+    /**
+     * @return true if the handler was registered for the type
+     */
+    public synchronized boolean unregisterHandler(byte commandType, IMessageHandler<?> handler) {
+
+        int index = commandType & 0xFF;
+        HandlerChain<?> chain = this.chains.get(index);
+        if (null == chain) {
+            return false;
+        }
+
+        for (int i = 0; i < chain.handlers.length; i++) {
+            if (chain.handlers[i].handler == handler) {
+                this.chains.set(index, chain.without(i));
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+
+    /**
+     * @param fallbackHandler handler of the messages whose type has no
+     *                        handlers, null to ignore them
+     */
+    public void setFallbackHandler(IMessageHandler<Command> fallbackHandler) {
+        this.fallbackHandler = fallbackHandler;
+    }
+
+
+    public boolean hasHandlers(byte commandType) {
+        return null != this.chains.get(commandType & 0xFF);
+    }
+
+
+    /**
+     * Passes the message through the handler chain of its type.
+     *
+     * @return true if a handler consumed the message
+     */
+    public boolean dispatch(Command message, IAddress origin) {
+
+        HandlerChain<?> chain = this.chains.get(message.getCommandType() & 0xFF);
+
+        if (null == chain || !chain.messageClass.isInstance(message)) {
+            IMessageHandler<Command> fallback = this.fallbackHandler;
+            return (null != fallback) && fallback.handleMessage(message, origin);
+        }
+
+        for (TypedHandler<?> handler : chain.handlers) {
+            if (handler.handleMessage(message, origin)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+
+    /**
+     * Decodes the message with the MessageFactory and dispatches it.
+     *
+     * @return true if a handler consumed the message, false if it was not
+     *         consumed or its type is unknown
+     */
+    public boolean dispatch(byte[] messageData, IAddress origin) throws MessageFormatException {
+        Command message = this.messageFactory.decodeMessage(messageData);
+        return (null != message) && dispatch(message, origin);
+    }
+
+
+    @Override
+    public void messageReceived(Command message, IAddress origin) {
+        dispatch(message, origin);
+    }
+
+
+    private static final class HandlerChain<T extends Command> {
+
+        final Class<T> messageClass;
+
+        final TypedHandler<?>[] handlers;
+
+        HandlerChain(Class<T> messageClass, TypedHandler<?>[] handlers) {
+            this.messageClass = messageClass;
+            this.handlers = handlers;
+        }
+
+        /** @return the chain without the handler at index, null if it was the last one */
+        HandlerChain<T> without(int index) {
+            if (this.handlers.length == 1) {
+                return null;
+            }
+            TypedHandler<?>[] remaining = new TypedHandler<?>[this.handlers.length - 1];
+            System.arraycopy(this.handlers, 0, remaining, 0, index);
+            System.arraycopy(this.handlers, index + 1, remaining, index, remaining.length - index);
+            return new HandlerChain<>(this.messageClass, remaining);
+        }
+
+    }
+
+
+    /** Handler with the class of its messages, to call it without unchecked casts. */
+    private static final class TypedHandler<T extends Command> {
+
+        final Class<T> messageClass;
+
+        final IMessageHandler<? super T> handler;
+
+        TypedHandler(Class<T> messageClass, IMessageHandler<? super T> handler) {
+            this.messageClass = messageClass;
+            this.handler = handler;
+        }
+
+        /** The message must be an instance of messageClass. */
+        boolean handleMessage(Command message, IAddress origin) {
+            return this.handler.handleMessage(this.messageClass.cast(message), origin);
+        }
+
+    }
+
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+import java.util.List;
+
+/**
+ *  A Command encoded once, whose sequence number and some fixed size fields
+ *  can be changed before each send without encoding it again.
+ *
+ *  The offsets of the fields declared mutable are taken from the
+ *  MessageFieldInfo list of the MessageCoder used by the command, so the
+ *  command must encode its data with getMessageCoder(). Only fields of type
+ *  BYTE, SHORT, USHORT, INT, UINT, LONG, HALF_FLOAT, FLOAT and DOUBLE can be
+ *  mutable, and no field written before them may change its size between
+ *  messages. The fields are patched with the endianness of the command.
+ *
+ *  The setters patch the encoded bytes and update the header or data XOR
+ *  checksum incrementally. A template is not thread safe.
+ */
+public class MessageTemplate {
+
+    private final byte[] message;
+
+    private final Endianness endianness;
+
+    private final String[] fieldNames;
+
+    private final int[] fieldOffsets;
+
+    private final MessageFieldType[] fieldTypes;
+
+    private final int dataChecksumIndex;
+
+
+    /**
+     * @param command command to encode
+     * @param mutableFields names of the fields that can be changed
+     * @throws IllegalArgumentException if a field does not exist or its size is not fixed
+     */
+    public MessageTemplate(Command command, String... mutableFields) throws MessageFormatException {
+
+        this.message = command.codeMessage();
+        this.endianness = command.getEndianness();
+        this.dataChecksumIndex = Command.DATA_INDEX + command.getDataSize();
+
+        List<MessageFieldInfo> fields = command.getCodingMessageInfo();
+
+        this.fieldNames = mutableFields.clone();
+        this.fieldOffsets = new int[mutableFields.length];
+        this.fieldTypes = new MessageFieldType[mutableFields.length];
+
+        for (int i = 0; i < mutableFields.length; i++) {
+
+            int offset = Command.DATA_INDEX;
+            MessageFieldInfo found = null;
+            for (MessageFieldInfo field : fields) {
+                if (field.getName().equals(mutableFields[i])) {
+                    found = field;
+                    break;
+                }
+                offset += field.getSizeInBytes();
+            }
+
+            if (null == found) {
+                throw new IllegalArgumentException("Field " + mutableFields[i] + " not found in "
+                        + command.getClass().getSimpleName());
+            }
+            if (found.getSizeInBytes() != fixedSize(found.getType())) {
+                throw new IllegalArgumentException("Field " + mutableFields[i] + " of type "
+                        + found.getType() + " can not be patched");
+            }
+
+            this.fieldOffsets[i] = offset;
+            this.fieldTypes[i] = found.getType();
+
+        }
+
+    }
+
+
+    private static int fixedSize(MessageFieldType type) {
+        switch (type) {
+            case BYTE:
+                return 1;
+            case SHORT:
+            case USHORT:
+            case HALF_FLOAT:
+                return 2;
+            case INT:
+            case UINT:
+            case FLOAT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            default:
+                return -1;
+        }
+    }
+
+
+    /**
+     * @return handle of a mutable field for the setters
+     */
+    public int getField(String name) {
+        for (int i = 0; i < this.fieldNames.length; i++) {
+            if (this.fieldNames[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Field " + name + " is not mutable in this template");
+    }
+
+
+    /**
+     * @return the encoded message; it is the internal array, not a copy
+     */
+    public byte[] getBytes() {
+        return this.message;
+    }
+
+
+    public int getSequenceNumber() {
+        return CommandHeader.getSequenceNumber(this.message, 0, this.endianness);
+    }
+
+
+    public MessageTemplate setSequenceNumber(int sequenceNumber) {
+        CommandHeader.setSequenceNumber(this.message, 0, sequenceNumber, this.endianness);
+        return this;
+    }
+
+
+    public MessageTemplate setErrorCode(byte errorCode) {
+        CommandHeader.setErrorCode(this.message, 0, errorCode);
+        return this;
+    }
+
+
+    public MessageTemplate setByte(int field, byte value) {
+        patch(field, MessageFieldType.BYTE, value, 1);
+        return this;
+    }
+
+
+    public MessageTemplate setShort(int field, short value) {
+        patch(field, MessageFieldType.SHORT, value, 2);
+        return this;
+    }
+
+
+    public MessageTemplate setUShort(int field, int value) {
+        patch(field, MessageFieldType.USHORT, value, 2);
+        return this;
+    }
+
+
+    public MessageTemplate setInt(int field, int value) {
+        patch(field, MessageFieldType.INT, value, 4);
+        return this;
+    }
+
+
+    public MessageTemplate setUInt(int field, long value) {
+        patch(field, MessageFieldType.UINT, value, 4);
+        return this;
+    }
+
+
+    public MessageTemplate setLong(int field, long value) {
+        patch(field, MessageFieldType.LONG, value, 8);
+        return this;
+    }
+
+
+    public MessageTemplate setDouble(int field, double value) {
+        patch(field, MessageFieldType.DOUBLE, Double.doubleToLongBits(value), 8);
+        return this;
+    }
+
+
+    public MessageTemplate setFloat(int field, float value) {
+        patch(field, MessageFieldType.FLOAT, Float.floatToIntBits(value), 4);
+        return this;
+    }
+
+
+    public MessageTemplate setHalfFloat(int field, float value) {
+        patch(field, MessageFieldType.HALF_FLOAT, HalfFloat.fromFloat(value), 2);
+        return this;
+    }
+
+
+    private void patch(int field, MessageFieldType type, long value, int size) {
+
+        if (this.fieldTypes[field] != type) {
+            throw new IllegalArgumentException("Field " + this.fieldNames[field] + " is of type " + this.fieldTypes[field]);
+        }
+
+        int offset = this.fieldOffsets[field];
+        byte checksum = this.message[this.dataChecksumIndex];
+
+        for (int i = 0; i < size; i++) {
+            int shift = (this.endianness == Endianness.LITTLE_ENDIAN) ? i * 8 : (size - 1 - i) * 8;
+            byte newByte = (byte) (value >>> shift);
+            checksum ^= (byte) (this.message[offset + i] ^ newByte);
+            this.message[offset + i] = newByte;
+        }
+
+        this.message[this.dataChecksumIndex] = checksum;
+
+    }
+
+
+    public void send(INetworkBasicCommunicationChannel channel, IAddress destination) throws CommunicationException {
+        channel.send(destination, this.message, 0, this.message.length);
+    }
+
+}
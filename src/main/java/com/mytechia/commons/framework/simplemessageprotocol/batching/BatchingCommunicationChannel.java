@@ -0,0 +1,521 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.batching;
+
+import com.mytechia.commons.framework.simplemessageprotocol.BatchFrame;
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.util.TimerWheel;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel that packs the
+ *  messages sent to the same destination in one datagram (see BatchFrame).
+ *
+ *  A batch is sent when the next message does not fit in the maximum batch
+ *  size, when its first message has waited the maximum delay, or when
+ *  flush() is called. A batch with a single message is sent as a plain
+ *  message, and messages that do not fit in a batch are sent on their own,
+ *  after the batch of their destination. The delayed flushes are kept in a
+ *  TimerWheel, so there is no thread per destination, and a destination
+ *  keeps its batch only while messages are waiting: a batch sent by a
+ *  delayed flush or by flush() is removed.
+ *
+ *  The batches received are unpacked, so every receive returns one message,
+ *  in the order they were sent. Peers that read the channel without this
+ *  decorator can unpack them with MessageFactory.decodeMessages().
+ */
+public class BatchingCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(BatchingCommunicationChannel.class);
+
+    /** Payload of a UDP datagram that fits in an Ethernet frame. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1472;
+
+    public static final long DEFAULT_MAX_DELAY_MICROS = 1000;
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final Endianness endianness;
+
+    private final TimerWheel timerWheel;
+
+    private final boolean ownTimerWheel;
+
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private volatile long maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(DEFAULT_MAX_DELAY_MICROS);
+
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<ReceivedBatch> receivedBatches = new ArrayDeque<>();
+
+    private MessageFactory messageFactory = null;
+
+    private final AtomicLong sentDatagrams = new AtomicLong();
+
+    private final AtomicLong sentMessages = new AtomicLong();
+
+
+    /**
+     * Creates the decorator with its own real time TimerWheel, already started.
+     * Call close() to stop it.
+     */
+    public BatchingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness) {
+        this(channel, endianness, new TimerWheel(), true);
+        this.timerWheel.start();
+    }
+
+
+    /**
+     * @param channel decorated channel
+     * @param endianness endianness of the messages sent
+     * @param timerWheel wheel that holds the delayed flushes; the caller drives it
+     */
+    public BatchingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness,
+                                        TimerWheel timerWheel) {
+        this(channel, endianness, timerWheel, false);
+    }
+
+
+    private BatchingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness,
+                                         TimerWheel timerWheel, boolean ownTimerWheel) {
+        this.channel = channel;
+        this.endianness = endianness;
+        this.timerWheel = timerWheel;
+        this.ownTimerWheel = ownTimerWheel;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    /**
+     * @param maxBatchSize size of the longest batch, its header included;
+     *        from 64 to Command.MAX_MESSAGE_SIZE
+     */
+    public BatchingCommunicationChannel setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 64 || maxBatchSize > Command.MAX_MESSAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid maximum batch size: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+
+    /**
+     * @param delay maximum time the first message of a batch waits before the
+     *        batch is sent, 0 to only send batches when they are full or flushed
+     */
+    public BatchingCommunicationChannel setMaxDelay(long delay, TimeUnit unit) {
+        this.maxDelayNanos = unit.toNanos(delay);
+        return this;
+    }
+
+
+    /**
+     * @return datagrams sent, batches or single messages
+     */
+    public long getSentDatagrams() {
+        return this.sentDatagrams.get();
+    }
+
+    public long getSentMessages() {
+        return this.sentMessages.get();
+    }
+
+
+    /**
+     * Sends the batches of every destination.
+     */
+    public void flush() throws CommunicationException {
+        for (Batch batch : this.batches.values()) {
+            synchronized (batch) {
+                sendAndRemove(batch);
+            }
+        }
+    }
+
+
+    /**
+     * Sends the batch of a destination.
+     */
+    public void flush(IAddress addr) throws CommunicationException {
+        Batch batch = this.batches.get(addr.getId());
+        if (null != batch) {
+            synchronized (batch) {
+                sendAndRemove(batch);
+            }
+        }
+    }
+
+
+    /**
+     * Sends the pending batches and stops the TimerWheel if it was created by
+     * this channel.
+     */
+    public void close() throws CommunicationException {
+        try {
+            flush();
+        } finally {
+            if (this.ownTimerWheel) {
+                this.timerWheel.stop();
+            }
+        }
+    }
+
+
+    private Batch batchOf(IAddress addr) {
+        Batch batch = this.batches.get(addr.getId());
+        if (null == batch) {
+            Batch newBatch = new Batch(addr, this.maxBatchSize);
+            batch = this.batches.putIfAbsent(addr.getId(), newBatch);
+            if (null == batch) {
+                batch = newBatch;
+            }
+        }
+        return batch;
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        this.sentMessages.incrementAndGet();
+
+        if (BatchFrame.BATCH_HEADER_SIZE + count > this.maxBatchSize) {
+            flush(addr);
+            this.channel.send(addr, data, offset, count);
+            this.sentDatagrams.incrementAndGet();
+            return;
+        }
+
+        while (true) {
+            Batch batch = batchOf(addr);
+            synchronized (batch) {
+                // a batch flushed and removed meanwhile is not used, the message starts a new one
+                if (!batch.removed) {
+                    add(batch, data, offset, count);
+                    return;
+                }
+            }
+        }
+
+    }
+
+
+    /** Adds a message to the batch, the caller holds its lock. */
+    private void add(Batch batch, byte[] data, int offset, int count) throws CommunicationException {
+
+        // the buffer has the maximum size of when the batch was created
+        int maxSize = Math.min(this.maxBatchSize, batch.buffer.length);
+
+        if (batch.size + count > maxSize) {
+            sendBatch(batch);
+        }
+
+        if (BatchFrame.BATCH_HEADER_SIZE + count > maxSize) {
+            this.channel.send(batch.destination, data, offset, count);
+            this.sentDatagrams.incrementAndGet();
+            return;
+        }
+
+        System.arraycopy(data, offset, batch.buffer, batch.size, count);
+        batch.size += count;
+        batch.count++;
+
+        long delay = this.maxDelayNanos;
+        if (batch.count == BatchFrame.MAX_BATCH_MESSAGES || batch.size == maxSize) {
+            sendBatch(batch);
+        } else if (batch.count == 1 && delay > 0) {
+            scheduleFlush(batch, delay);
+        }
+
+    }
+
+
+    private void scheduleFlush(final Batch batch, long delay) {
+
+        final long generation = batch.generation;
+
+        this.timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (batch) {
+                    if (batch.generation == generation) {
+                        try {
+                            sendAndRemove(batch);
+                        } catch (CommunicationException ex) {
+                            LOGGER.warn(BatchingCommunicationChannel.class.getSimpleName() + ".flush", ex);
+                        }
+                    }
+                }
+            }
+        }, delay);
+
+    }
+
+
+    /** Sends the batch, the caller holds its lock. */
+    private void sendBatch(Batch batch) throws CommunicationException {
+
+        if (batch.count == 0) {
+            return;
+        }
+
+        try {
+            if (batch.count == 1) {
+                this.channel.send(batch.destination, batch.buffer, BatchFrame.BATCH_HEADER_SIZE,
+                        batch.size - BatchFrame.BATCH_HEADER_SIZE);
+            } else {
+                BatchFrame.writeHeader(batch.buffer, 0, batch.count, this.endianness);
+                this.channel.send(batch.destination, batch.buffer, 0, batch.size);
+            }
+            this.sentDatagrams.incrementAndGet();
+        } finally {
+            batch.size = BatchFrame.BATCH_HEADER_SIZE;
+            batch.count = 0;
+            batch.generation++;
+        }
+
+    }
+
+
+    /**
+     * Sends the batch and removes it, so the destinations that are not
+     * sending do not keep a batch; the caller holds its lock.
+     */
+    private void sendAndRemove(Batch batch) throws CommunicationException {
+        try {
+            sendBatch(batch);
+        } finally {
+            batch.removed = true;
+            this.batches.remove(batch.destination.getId(), batch);
+        }
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    /**
+     * Copies the next message of the received batches in the target buffer,
+     * or in a new array if target is null.
+     *
+     * @return the message, or null if there are no messages left
+     */
+    private ReceiveResult nextBatchedMessage(byte[] target, int offset, int count) {
+
+        synchronized (this.receivedBatches) {
+
+            ReceivedBatch batch;
+            while (null != (batch = this.receivedBatches.peek())) {
+
+                if (batch.remaining == 0) {
+                    this.receivedBatches.poll();
+                    continue;
+                }
+
+                if (!CommandHeader.isValid(batch.data, batch.index, batch.end - batch.index, batch.endianness)) {
+                    LOGGER.debug("Malformed message in a batch from {}, rest of the batch discarded", batch.origin.getId());
+                    this.receivedBatches.poll();
+                    continue;
+                }
+
+                int size = CommandHeader.getMessageSize(batch.data, batch.index, batch.endianness);
+                ReceiveResult result;
+                if (null == target) {
+                    byte[] message = Arrays.copyOfRange(batch.data, batch.index, batch.index + size);
+                    result = new ReceiveResult(size, batch.origin, message);
+                } else {
+                    int length = Math.min(count, size);
+                    System.arraycopy(batch.data, batch.index, target, offset, length);
+                    result = new ReceiveResult(length, batch.origin, null);
+                }
+
+                batch.index += size;
+                batch.remaining--;
+                return result;
+
+            }
+
+            return null;
+
+        }
+
+    }
+
+
+    private void addReceivedBatch(IAddress origin, byte[] data, int offset, int length) {
+        synchronized (this.receivedBatches) {
+            this.receivedBatches.add(new ReceivedBatch(origin, data, offset, length));
+        }
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+
+        while (true) {
+
+            ReceiveResult result = nextBatchedMessage(data, offset, count);
+            if (null != result) {
+                return result;
+            }
+
+            result = this.channel.receive(data, offset, count, timeout);
+            int length = result.getMsgLength();
+            if (!BatchFrame.isBatch(data, offset, length)) {
+                return result;
+            }
+
+            // the buffer of the caller is reused by the next receive
+            addReceivedBatch(result.getOrigin(), Arrays.copyOfRange(data, offset, offset + length), 0, length);
+
+        }
+
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return receive(data, offset, count, -1);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+
+        while (true) {
+
+            ReceiveResult result = nextBatchedMessage(null, 0, 0);
+            if (null != result) {
+                return result;
+            }
+
+            result = this.channel.receive();
+            if (!BatchFrame.isBatch(result.getData(), 0, result.getMsgLength())) {
+                return result;
+            }
+
+            addReceivedBatch(result.getOrigin(), result.getData(), 0, result.getMsgLength());
+
+        }
+
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            return this.messageFactory.decodeMessage(receiveResult.getData());
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+
+    /** Messages waiting to be sent to a destination. */
+    private static final class Batch {
+
+        final IAddress destination;
+
+        final byte[] buffer;
+
+        int size = BatchFrame.BATCH_HEADER_SIZE;
+
+        int count = 0;
+
+        /** Incremented when the batch is sent, so a delayed flush does not send a later batch. */
+        long generation = 0;
+
+        /** Set when the batch is removed from the map, the next message creates a new one. */
+        boolean removed = false;
+
+        Batch(IAddress destination, int maxBatchSize) {
+            this.destination = destination;
+            this.buffer = new byte[maxBatchSize];
+        }
+
+    }
+
+
+    /** Batch received whose messages have not been returned yet. */
+    private static final class ReceivedBatch {
+
+        final IAddress origin;
+
+        final byte[] data;
+
+        final int end;
+
+        final Endianness endianness;
+
+        int index;
+
+        int remaining;
+
+        ReceivedBatch(IAddress origin, byte[] data, int offset, int length) {
+            this.origin = origin;
+            this.data = data;
+            this.end = offset + length;
+            this.endianness = BatchFrame.getEndianness(data, offset);
+            this.index = offset + BatchFrame.FIRST_MESSAGE_INDEX;
+            this.remaining = BatchFrame.getMessageCount(data, offset);
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+/**
+ *  Direction of a captured datagram, seen from the capturing channel.
+ */
+public enum CaptureDirection {
+
+    SENT((byte) 'S'), RECEIVED((byte) 'R');
+
+
+    private final byte code;
+
+
+    CaptureDirection(byte code) {
+        this.code = code;
+    }
+
+
+    public byte getCode() {
+        return this.code;
+    }
+
+
+    public static CaptureDirection fromCode(byte code) {
+        for (CaptureDirection direction : values()) {
+            if (direction.code == code) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Unknown capture direction: " + code);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Arrays;
+
+/**
+ *  Layout of the capture segment files.
+ *
+ *  Every segment starts with MAGIC and VERSION (4 bytes each) followed by
+ *  records:
+ *
+ *  int    length of the rest of the record
+ *  long   timestamp (nanoseconds since the epoch)
+ *  byte   direction code
+ *  byte   length of the peer id
+ *  byte[] peer id (US-ASCII)
+ *  byte[] datagram
+ *
+ *  Segments are preallocated, so a record length of 0 marks the end of the
+ *  written data. Multi-byte values are big endian (ByteBuffer default).
+ */
+final class CaptureFormat {
+
+    static final int MAGIC = 0x534D5043; // "SMPC"
+
+    static final int VERSION = 1;
+
+    static final int SEGMENT_HEADER_SIZE = 8;
+
+    /** Bytes of a record besides the peer id and the datagram. */
+    static final int RECORD_OVERHEAD = 4 + 8 + 1 + 1;
+
+    static final String SEGMENT_PREFIX = "capture-";
+
+    static final String SEGMENT_SUFFIX = ".smpcap";
+
+
+    private CaptureFormat() {
+    }
+
+
+    static String segmentName(long index) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+
+    static long segmentIndex(File segment) {
+        String name = segment.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+
+    /**
+     * @return segment files of the directory, in capture order
+     */
+    static File[] listSegments(File directory) {
+        File[] segments = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        if (null == segments) {
+            return new File[0];
+        }
+        Arrays.sort(segments);
+        return segments;
+    }
+
+}
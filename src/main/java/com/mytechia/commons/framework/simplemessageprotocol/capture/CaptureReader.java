@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ *  Reads the records of a capture directory written by CaptureWriter,
+ *  segment by segment, in capture order.
+ */
+public class CaptureReader {
+
+    private static final Charset PEER_CHARSET = Charset.forName("US-ASCII");
+
+    private final File[] segments;
+
+    private int nextSegment = 0;
+
+    private MappedByteBuffer segment = null;
+
+
+    public CaptureReader(File directory) {
+        this.segments = CaptureFormat.listSegments(directory);
+    }
+
+
+    private boolean openNextSegment() throws IOException {
+
+        if (this.nextSegment >= this.segments.length) {
+            this.segment = null;
+            return false;
+        }
+
+        File file = this.segments[this.nextSegment++];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            this.segment = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        }
+
+        if (this.segment.remaining() < CaptureFormat.SEGMENT_HEADER_SIZE
+                || this.segment.getInt() != CaptureFormat.MAGIC) {
+            throw new IOException("Not a capture segment: " + file);
+        }
+        int version = this.segment.getInt();
+        if (version != CaptureFormat.VERSION) {
+            throw new IOException("Unsupported capture version " + version + " in " + file);
+        }
+
+        return true;
+
+    }
+
+
+    /**
+     * @return the next record, or null at the end of the capture
+     * @throws IOException
+     */
+    public CaptureRecord next() throws IOException {
+
+        while (true) {
+
+            if (null == this.segment && !openNextSegment()) {
+                return null;
+            }
+
+            int length = (this.segment.remaining() >= 4) ? this.segment.getInt() : 0;
+            if (length <= 0) {
+                this.segment = null; // end of the written data of this segment
+                continue;
+            }
+
+            long timestamp = this.segment.getLong();
+            CaptureDirection direction = CaptureDirection.fromCode(this.segment.get());
+            int peerLength = this.segment.get() & 0xFF;
+            byte[] peer = new byte[peerLength];
+            this.segment.get(peer);
+            byte[] data = new byte[length - (CaptureFormat.RECORD_OVERHEAD - 4) - peerLength];
+            this.segment.get(data);
+
+            return new CaptureRecord(timestamp, direction, new String(peer, PEER_CHARSET), data);
+        }
+
+    }
+
+}
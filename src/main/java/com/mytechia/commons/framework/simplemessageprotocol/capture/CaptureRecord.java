@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import java.util.Arrays;
+
+/**
+ *  One datagram read from a capture.
+ */
+public class CaptureRecord {
+
+    private final long timestampNanos;
+
+    private final CaptureDirection direction;
+
+    private final String peer;
+
+    private final byte[] data;
+
+
+    public CaptureRecord(long timestampNanos, CaptureDirection direction, String peer, byte[] data) {
+        this.timestampNanos = timestampNanos;
+        this.direction = direction;
+        this.peer = peer;
+        this.data = data;
+    }
+
+
+    /**
+     * @return capture time in nanoseconds since the epoch
+     */
+    public long getTimestampNanos() {
+        return this.timestampNanos;
+    }
+
+
+    public CaptureDirection getDirection() {
+        return this.direction;
+    }
+
+
+    /**
+     * @return id (IAddress.getId()) of the destination of a sent datagram or of
+     *         the origin of a received one
+     */
+    public String getPeer() {
+        return this.peer;
+    }
+
+
+    public byte[] getData() {
+        return this.data;
+    }
+
+
+    @Override
+    public String toString() {
+        return "CaptureRecord{" +
+                "timestampNanos=" + timestampNanos +
+                ", direction=" + direction +
+                ", peer='" + peer + '\'' +
+                ", data=" + Arrays.toString(data) +
+                '}';
+    }
+
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *  Feeds a capture back through a MessageFactory or a channel.
+ *
+ *  The original spacing between datagrams is reproduced divided by the speed
+ *  factor: 1 is real time, 10 is ten times faster and MAX_SPEED (or any
+ *  value less or equal to 0) does not wait at all.
+ *
+ *  Only the datagrams of the selected direction are replayed; by default the
+ *  received ones, which are what a MessageFactory normally decodes.
+ */
+public class CaptureReplayer {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(CaptureReplayer.class);
+
+    public static final double MAX_SPEED = 0;
+
+    private final File directory;
+
+    private double speed = 1;
+
+    private CaptureDirection direction = CaptureDirection.RECEIVED;
+
+    private long startNanos;
+
+    private long firstTimestamp;
+
+
+    public CaptureReplayer(File directory) {
+        this.directory = directory;
+    }
+
+
+    public CaptureReplayer setSpeed(double speed) {
+        this.speed = speed;
+        return this;
+    }
+
+
+    public CaptureReplayer setDirection(CaptureDirection direction) {
+        this.direction = direction;
+        return this;
+    }
+
+
+    /**
+     * Decodes every replayed datagram with the factory. Datagrams that can not
+     * be decoded are logged and skipped.
+     *
+     * @return number of datagrams replayed
+     */
+    public long replay(MessageFactory factory, ICaptureListener listener) throws IOException {
+
+        CaptureReader reader = new CaptureReader(this.directory);
+        long count = 0;
+
+        CaptureRecord record;
+        while (null != (record = nextRecord(reader, count == 0))) {
+            try {
+                listener.onMessage(record, factory.decodeMessage(record.getData()));
+            } catch (MessageFormatException ex) {
+                LOGGER.warn(this.getClass().getSimpleName() + ".replay: invalid message " + record, ex);
+            }
+            count++;
+        }
+
+        return count;
+
+    }
+
+
+    /**
+     * Sends every replayed datagram to a destination through a channel.
+     *
+     * @return number of datagrams replayed
+     */
+    public long replay(INetworkBasicCommunicationChannel channel, IAddress destination)
+            throws IOException, CommunicationException {
+
+        CaptureReader reader = new CaptureReader(this.directory);
+        long count = 0;
+
+        CaptureRecord record;
+        while (null != (record = nextRecord(reader, count == 0))) {
+            channel.send(destination, record.getData(), 0, record.getData().length);
+            count++;
+        }
+
+        return count;
+
+    }
+
+
+    /**
+     * Reads the next record of the replayed direction and waits until it is
+     * due.
+     */
+    private CaptureRecord nextRecord(CaptureReader reader, boolean first) throws IOException {
+
+        CaptureRecord record;
+        do {
+            record = reader.next();
+        } while (null != record && record.getDirection() != this.direction);
+
+        if (null == record) {
+            return null;
+        }
+
+        if (first) {
+            this.startNanos = System.nanoTime();
+            this.firstTimestamp = record.getTimestampNanos();
+        } else if (this.speed > 0) {
+            long due = this.startNanos + (long) ((record.getTimestampNanos() - this.firstTimestamp) / this.speed);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        return record;
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ *  Appends captured datagrams to memory-mapped segment files.
+ *
+ *  Each segment is mapped once with its full size, so appending a record is
+ *  only a copy into memory: the operating system writes the pages to disk in
+ *  the background. When a record does not fit in the current segment a new
+ *  one is started. Segments are named capture-NNNNNNNNNN.smpcap and a writer
+ *  opened on an existing directory continues after its last segment.
+ *
+ *  The writer is thread-safe.
+ */
+public class CaptureWriter implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    /** Offset to turn System.nanoTime() into nanoseconds since the epoch. */
+    private final long epochOffsetNanos;
+
+    private long segmentIndex;
+
+    private MappedByteBuffer segment = null;
+
+    private boolean closed = false;
+
+
+    public CaptureWriter(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    public CaptureWriter(File directory, int segmentSize) throws IOException {
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create capture directory " + directory);
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.epochOffsetNanos = System.currentTimeMillis() * 1000000L - System.nanoTime();
+
+        File[] segments = CaptureFormat.listSegments(directory);
+        this.segmentIndex = (segments.length == 0) ? 0 : CaptureFormat.segmentIndex(segments[segments.length - 1]) + 1;
+
+        roll();
+
+    }
+
+
+    private void roll() throws IOException {
+
+        if (null != this.segment) {
+            this.segment.force();
+            this.segmentIndex++;
+        }
+
+        File file = new File(this.directory, CaptureFormat.segmentName(this.segmentIndex));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            this.segment = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+        }
+
+        this.segment.putInt(CaptureFormat.MAGIC);
+        this.segment.putInt(CaptureFormat.VERSION);
+
+    }
+
+
+    public void append(CaptureDirection direction, IAddress peer, byte[] data, int offset, int count) throws IOException {
+        append(System.nanoTime() + this.epochOffsetNanos, direction, (null == peer) ? "" : peer.getId(), data, offset, count);
+    }
+
+
+    public synchronized void append(long timestampNanos, CaptureDirection direction, String peer,
+                                    byte[] data, int offset, int count) throws IOException {
+
+        if (this.closed) {
+            throw new IOException("Capture closed");
+        }
+
+        int peerLength = Math.min(peer.length(), 255);
+        int recordSize = CaptureFormat.RECORD_OVERHEAD + peerLength + count;
+
+        if (recordSize > this.segmentSize - CaptureFormat.SEGMENT_HEADER_SIZE) {
+            throw new IOException("Datagram of " + count + " bytes does not fit in a capture segment");
+        }
+        // keep room for the 0 length that ends the segment
+        if (this.segment.remaining() < recordSize + 4) {
+            roll();
+        }
+
+        // the record is published by its length, written last; before that the
+        // 0 length that ends the segment is written after the record, so an
+        // interrupted append leaves the segment ending before the record
+        int start = this.segment.position();
+        this.segment.putInt(start + recordSize, 0);
+        ((Buffer) this.segment).position(start + 4);
+        this.segment.putLong(timestampNanos);
+        this.segment.put(direction.getCode());
+        this.segment.put((byte) peerLength);
+        // the peer is written as US-ASCII straight into the segment, without encoding it to an array;
+        // the addresses of the channels build their id once and keep it
+        for (int i = 0; i < peerLength; i++) {
+            char c = peer.charAt(i);
+            this.segment.put((c < 0x80) ? (byte) c : (byte) '?');
+        }
+        this.segment.put(data, offset, count);
+        this.segment.putInt(start, recordSize - 4);
+
+    }
+
+
+    /**
+     * Writes the mapped pages of the current segment to disk.
+     */
+    public synchronized void flush() {
+        if (!this.closed) {
+            this.segment.force();
+        }
+    }
+
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            this.segment.force();
+            this.closed = true;
+            this.segment = null;
+        }
+    }
+
+}
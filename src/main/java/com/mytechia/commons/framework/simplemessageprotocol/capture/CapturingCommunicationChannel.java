@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel (typically the UDP
+ *  channel) that records every datagram sent and received in a CaptureWriter.
+ *
+ *  A capture error never breaks the communication: it is logged and the
+ *  datagram is delivered anyway.
+ */
+public class CapturingCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(CapturingCommunicationChannel.class);
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final CaptureWriter writer;
+
+    private MessageFactory messageFactory = null;
+
+
+    public CapturingCommunicationChannel(INetworkBasicCommunicationChannel channel, CaptureWriter writer) {
+        this.channel = channel;
+        this.writer = writer;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    private void capture(CaptureDirection direction, IAddress peer, byte[] data, int offset, int count) {
+        try {
+            this.writer.append(direction, peer, data, offset, count);
+        } catch (IOException ex) {
+            LOGGER.warn(this.getClass().getSimpleName() + ".capture", ex);
+        }
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+        this.channel.send(addr, data, offset, count);
+        capture(CaptureDirection.SENT, addr, data, offset, count);
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        ReceiveResult result = this.channel.receive(data, offset, count, timeout);
+        capture(CaptureDirection.RECEIVED, result.getOrigin(), data, offset, result.getMsgLength());
+        return result;
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        ReceiveResult result = this.channel.receive(data, offset, count);
+        capture(CaptureDirection.RECEIVED, result.getOrigin(), data, offset, result.getMsgLength());
+        return result;
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        ReceiveResult result = this.channel.receive();
+        capture(CaptureDirection.RECEIVED, result.getOrigin(), result.getData(), 0, result.getMsgLength());
+        return result;
+    }
+
+
+    /**
+     * Receives through receive(), so that the raw datagram is captured, and
+     * decodes it with the registered MessageFactory.
+     */
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            return this.messageFactory.decodeMessage(receiveResult.getData());
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ *  Exports a capture to the classic pcap format so that it can be opened
+ *  with Wireshark or tcpdump.
+ *
+ *  The capture only stores the peer of each datagram, so the local endpoint
+ *  must be given. Datagrams are written as raw IPv4/UDP packets (link type
+ *  LINKTYPE_RAW) without UDP checksum. Datagrams with IPv6 peers are skipped.
+ */
+public class PcapExporter {
+
+    private static final int PCAP_MAGIC = 0xA1B2C3D4;
+
+    private static final int LINKTYPE_RAW = 101;
+
+    private static final int SNAPLEN = 65535;
+
+    private static final int IPV4_HEADER_SIZE = 20;
+
+    private static final int UDP_HEADER_SIZE = 8;
+
+    private static final int UDP_PROTOCOL = 17;
+
+    private final byte[] localAddress;
+
+    private final int localPort;
+
+    private int packetId = 0;
+
+
+    /**
+     * @param localAddress IPv4 address of the capturing channel
+     * @param localPort port of the capturing channel
+     */
+    public PcapExporter(InetAddress localAddress, int localPort) {
+        if (!(localAddress instanceof Inet4Address)) {
+            throw new IllegalArgumentException("Only IPv4 local addresses are supported: " + localAddress);
+        }
+        this.localAddress = localAddress.getAddress();
+        this.localPort = localPort;
+    }
+
+
+    /**
+     * @param captureDirectory directory written by a CaptureWriter
+     * @param pcapFile file to create
+     * @return number of packets exported
+     * @throws IOException
+     */
+    public long export(File captureDirectory, File pcapFile) throws IOException {
+
+        CaptureReader reader = new CaptureReader(captureDirectory);
+        long exported = 0;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(pcapFile)))) {
+
+            out.writeInt(PCAP_MAGIC);
+            out.writeShort(2); // version 2.4
+            out.writeShort(4);
+            out.writeInt(0); // GMT offset
+            out.writeInt(0); // timestamp accuracy
+            out.writeInt(SNAPLEN);
+            out.writeInt(LINKTYPE_RAW);
+
+            CaptureRecord record;
+            while (null != (record = reader.next())) {
+                if (writePacket(out, record)) {
+                    exported++;
+                }
+            }
+        }
+
+        return exported;
+
+    }
+
+
+    private boolean writePacket(DataOutputStream out, CaptureRecord record) throws IOException {
+
+        String peer = record.getPeer();
+        int separator = peer.lastIndexOf(':');
+        if (separator <= 0) {
+            return false;
+        }
+
+        byte[] peerAddress;
+        int peerPort;
+        try {
+            InetAddress address = InetAddress.getByName(peer.substring(0, separator));
+            if (!(address instanceof Inet4Address)) {
+                return false;
+            }
+            peerAddress = address.getAddress();
+            peerPort = Integer.parseInt(peer.substring(separator + 1));
+        } catch (UnknownHostException | NumberFormatException ex) {
+            return false;
+        }
+
+        boolean sent = record.getDirection() == CaptureDirection.SENT;
+        byte[] source = sent ? this.localAddress : peerAddress;
+        byte[] destination = sent ? peerAddress : this.localAddress;
+        int sourcePort = sent ? this.localPort : peerPort;
+        int destinationPort = sent ? peerPort : this.localPort;
+
+        byte[] data = record.getData();
+        int packetLength = IPV4_HEADER_SIZE + UDP_HEADER_SIZE + data.length;
+        int capturedLength = Math.min(packetLength, SNAPLEN);
+
+        long micros = record.getTimestampNanos() / 1000;
+        out.writeInt((int) (micros / 1000000));
+        out.writeInt((int) (micros % 1000000));
+        out.writeInt(capturedLength);
+        out.writeInt(packetLength);
+
+        byte[] ipHeader = new byte[IPV4_HEADER_SIZE];
+        ipHeader[0] = 0x45;
+        ipHeader[2] = (byte) (packetLength >>> 8);
+        ipHeader[3] = (byte) packetLength;
+        int id = this.packetId++;
+        ipHeader[4] = (byte) (id >>> 8);
+        ipHeader[5] = (byte) id;
+        ipHeader[8] = 64; // TTL
+        ipHeader[9] = UDP_PROTOCOL;
+        System.arraycopy(source, 0, ipHeader, 12, 4);
+        System.arraycopy(destination, 0, ipHeader, 16, 4);
+        int checksum = ipChecksum(ipHeader);
+        ipHeader[10] = (byte) (checksum >>> 8);
+        ipHeader[11] = (byte) checksum;
+        out.write(ipHeader);
+
+        out.writeShort(sourcePort);
+        out.writeShort(destinationPort);
+        out.writeShort(UDP_HEADER_SIZE + data.length);
+        out.writeShort(0); // no UDP checksum
+
+        out.write(data, 0, capturedLength - IPV4_HEADER_SIZE - UDP_HEADER_SIZE);
+
+        return true;
+
+    }
+
+
+    private static int ipChecksum(byte[] header) {
+        int sum = 0;
+        for (int i = 0; i < header.length; i += 2) {
+            sum += ((header[i] & 0xFF) << 8) | (header[i + 1] & 0xFF);
+        }
+        while ((sum >>> 16) != 0) {
+            sum = (sum & 0xFFFF) + (sum >>> 16);
+        }
+        return ~sum & 0xFFFF;
+    }
+
+}
@@ -45,6 +45,12 @@ public interface IBasicCommunicationChannel extends ICommunicationChannel {
 
     public void send(Command msg) throws CommunicationException;
 
+    /**
+     * @param timeout milliseconds to wait for a message; 0 does not wait, it
+     *        only takes a message already received, and a negative value
+     *        waits forever
+     * @throws TimeoutException if no message is received in the timeout
+     */
     public int receive(byte [] data, int offset, int count, long timeout) throws CommunicationException;
 
     public int receive(byte [] data, int offset, int count) throws CommunicationException;
@@ -23,6 +23,7 @@ package com.mytechia.commons.framework.simplemessageprotocol.channel;
 
 import com.mytechia.commons.framework.simplemessageprotocol.Command;
 import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
 
 /** One-to-many communication channel
  * 
@@ -42,6 +43,12 @@ public interface INetworkBasicCommunicationChannel extends ICommunicationChannel
     
     public void send(IAddress addr, Command msg) throws CommunicationException;
     
+    /**
+     * @param timeout milliseconds to wait for a message; 0 does not wait, it
+     *        only takes a message already received, and a negative value
+     *        waits forever
+     * @throws TimeoutException if no message is received in the timeout
+     */
     public ReceiveResult receive(byte [] data, int offset, int count, long timeout) throws CommunicationException;
     
     public ReceiveResult receive(byte [] data, int offset, int count) throws CommunicationException;
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.compression;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+
+import java.util.Arrays;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel that compresses the
+ *  data of the messages it sends with a PayloadCompressor, when it is worth
+ *  it, and decompresses the compressed messages it receives. Messages that
+ *  are not compressed pass through untouched, so it can talk to peers that
+ *  never compress.
+ *
+ *  The compressed messages are built and received in a buffer of each
+ *  thread, so sending and receiving into the caller's buffer do not
+ *  allocate, and receive() only allocates the array of the message.
+ */
+public class CompressingCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final PayloadCompressor compressor;
+
+    private final Endianness endianness;
+
+    private MessageFactory messageFactory = null;
+
+    private final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[Command.MAX_MESSAGE_SIZE];
+        }
+    };
+
+
+    public CompressingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness) {
+        this(channel, new PayloadCompressor(endianness), endianness);
+    }
+
+
+    public CompressingCommunicationChannel(INetworkBasicCommunicationChannel channel, PayloadCompressor compressor,
+                                           Endianness endianness) {
+        this.channel = channel;
+        this.compressor = compressor;
+        this.endianness = endianness;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    public PayloadCompressor getCompressor() {
+        return this.compressor;
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+        byte[] buffer = this.buffers.get();
+        int size = (count >= Command.COMMAND_HEADER_SIZE) ? this.compressor.compress(data, offset, buffer, 0) : 0;
+        if (size > 0) {
+            this.channel.send(addr, buffer, 0, size);
+        } else {
+            this.channel.send(addr, data, offset, count);
+        }
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    /** Moves a compressed message to the buffer of the thread and decompresses it where it was. */
+    private ReceiveResult decompress(ReceiveResult result, byte[] data, int offset, int count) throws CommunicationException {
+        int length = result.getMsgLength();
+        if (length < Command.COMMAND_HEADER_SIZE || !CommandHeader.isCompressed(data, offset, this.endianness)) {
+            return result;
+        }
+        byte[] buffer = this.buffers.get();
+        System.arraycopy(data, offset, buffer, 0, length);
+        int size = this.compressor.decompress(buffer, 0, length, data, offset, count);
+        return new ReceiveResult(size, result.getOrigin(), result.getData());
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        return decompress(this.channel.receive(data, offset, count, timeout), data, offset, count);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return decompress(this.channel.receive(data, offset, count), data, offset, count);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        ReceiveResult result = this.channel.receive();
+        byte[] data = result.getData();
+        if (result.getMsgLength() < Command.COMMAND_HEADER_SIZE || !CommandHeader.isCompressed(data, 0, this.endianness)) {
+            return result;
+        }
+        // inflated in the buffer of the thread, only the message is copied out
+        byte[] buffer = this.buffers.get();
+        int size = this.compressor.decompress(data, 0, result.getMsgLength(), buffer, 0, buffer.length);
+        return new ReceiveResult(size, result.getOrigin(), Arrays.copyOf(buffer, size));
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            return this.messageFactory.decodeMessage(receiveResult.getData());
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+}
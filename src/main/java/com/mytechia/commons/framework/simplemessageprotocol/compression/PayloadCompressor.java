@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.compression;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ *  Compresses and decompresses the data field of encoded messages.
+ *
+ *  A compressed message keeps its header, with the COMPRESSED_DATA_FLAG bit
+ *  set in the data size, and its data field holds the raw deflate stream of
+ *  the original data followed by the original data checksum, which is checked
+ *  after the decompression; the checksums of the header are computed over
+ *  the bytes sent.
+ *  The data is only compressed if it has at least threshold bytes and the
+ *  compression saves at least minimumGain bytes, otherwise the message is
+ *  sent as it is.
+ *
+ *  The Deflater, the Inflater and the buffer of each thread are reused, so
+ *  the methods that return a new array only allocate its exact size.
+ */
+public class PayloadCompressor {
+
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    public static final int DEFAULT_MINIMUM_GAIN = 32;
+
+    private static final int MAX_DATA_SIZE = Command.MAX_MESSAGE_SIZE - Command.COMMAND_HEADER_SIZE - Command.DATA_CHECKSUM_SIZE;
+
+    private final Endianness endianness;
+
+    private int threshold = DEFAULT_THRESHOLD;
+
+    private int minimumGain = DEFAULT_MINIMUM_GAIN;
+
+    private final int level;
+
+    private final ThreadLocal<Deflater> deflaters = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(PayloadCompressor.this.level, true);
+        }
+    };
+
+    private final ThreadLocal<Inflater> inflaters = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater(true);
+        }
+    };
+
+
+    private final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[Command.MAX_MESSAGE_SIZE];
+        }
+    };
+
+
+    public PayloadCompressor(Endianness endianness) {
+        this(endianness, Deflater.BEST_SPEED);
+    }
+
+
+    /**
+     * @param level compression level of Deflater, from BEST_SPEED to BEST_COMPRESSION
+     */
+    public PayloadCompressor(Endianness endianness, int level) {
+        this.endianness = endianness;
+        this.level = level;
+    }
+
+
+    /**
+     * @param threshold minimum size of the data field to compress it
+     */
+    public PayloadCompressor setThreshold(int threshold) {
+        this.threshold = threshold;
+        return this;
+    }
+
+
+    /**
+     * @param minimumGain minimum bytes that the compression must save
+     */
+    public PayloadCompressor setMinimumGain(int minimumGain) {
+        this.minimumGain = Math.max(1, minimumGain);
+        return this;
+    }
+
+
+    public static boolean isCompressed(byte[] message, int offset, Endianness endianness) {
+        return CommandHeader.isCompressed(message, offset, endianness);
+    }
+
+
+    /**
+     * Compresses the message into the target buffer if it is worth it.
+     *
+     * @param target buffer for the compressed message, it can not be the message buffer
+     * @return size of the compressed message written in target, or 0 if the
+     *         message was not compressed and must be sent as it is
+     */
+    public int compress(byte[] message, int offset, byte[] target, int targetOffset) {
+
+        int dataSize = CommandHeader.getDataSize(message, offset, this.endianness);
+        if (dataSize < this.threshold || CommandHeader.isCompressed(message, offset, this.endianness)) {
+            return 0;
+        }
+
+        int limit = Math.min(dataSize - this.minimumGain,
+                target.length - targetOffset - Command.COMMAND_HEADER_SIZE - Command.DATA_CHECKSUM_SIZE) - 1;
+        if (limit <= 0) {
+            return 0;
+        }
+
+        Deflater deflater = this.deflaters.get();
+        deflater.reset();
+        deflater.setInput(message, offset + Command.DATA_INDEX, dataSize);
+        deflater.finish();
+        int compressedSize = deflater.deflate(target, targetOffset + Command.DATA_INDEX, limit);
+        if (!deflater.finished()) {
+            // it does not save minimumGain bytes
+            return 0;
+        }
+
+        target[targetOffset + Command.DATA_INDEX + compressedSize] = message[offset + Command.DATA_INDEX + dataSize];
+        compressedSize++;
+
+        System.arraycopy(message, offset, target, targetOffset, Command.COMMAND_HEADER_SIZE);
+        CommandHeader.patchShort(target, targetOffset, Command.DATA_SIZE_INDEX,
+                compressedSize | Command.COMPRESSED_DATA_FLAG, this.endianness);
+        target[targetOffset + Command.DATA_INDEX + compressedSize] =
+                checksum(target, targetOffset + Command.DATA_INDEX, compressedSize);
+
+        return Command.COMMAND_HEADER_SIZE + compressedSize + Command.DATA_CHECKSUM_SIZE;
+
+    }
+
+
+    /**
+     * @return the compressed message, or the same array if it was not compressed
+     */
+    public byte[] compress(byte[] message) {
+        byte[] target = this.buffers.get();
+        int size = compress(message, 0, target, 0);
+        return (size == 0) ? message : Arrays.copyOf(target, size);
+    }
+
+
+    /**
+     * Decompresses a compressed message into the target buffer.
+     *
+     * @param length bytes of the compressed message available in message
+     * @param target buffer for the original message, it can not be the message buffer
+     * @param count maximum bytes to write in target
+     * @return size of the original message written in target
+     * @throws MessageFormatException if the message is not compressed, the
+     *         compressed data is corrupt or it does not fit in target
+     */
+    public int decompress(byte[] message, int offset, int length, byte[] target, int targetOffset, int count)
+            throws MessageFormatException {
+
+        if (length < Command.COMMAND_HEADER_SIZE || !CommandHeader.isCompressed(message, offset, this.endianness)) {
+            throw new MessageFormatException("Message not compressed");
+        }
+
+        int compressedSize = CommandHeader.getDataSize(message, offset, this.endianness);
+        if (compressedSize < 2 || length < Command.COMMAND_HEADER_SIZE + compressedSize + Command.DATA_CHECKSUM_SIZE) {
+            throw new MessageFormatException("Invalid message size.");
+        }
+        if (message[offset + Command.DATA_INDEX + compressedSize] != checksum(message, offset + Command.DATA_INDEX, compressedSize)) {
+            throw new MessageFormatException("Data checksum error.");
+        }
+
+        int space = Math.min(MAX_DATA_SIZE, count - Command.COMMAND_HEADER_SIZE - Command.DATA_CHECKSUM_SIZE);
+        if (space <= 0) {
+            throw new MessageFormatException("Buffer too small for the decompressed message");
+        }
+
+        Inflater inflater = this.inflaters.get();
+        inflater.reset();
+        inflater.setInput(message, offset + Command.DATA_INDEX, compressedSize - 1);
+        int dataSize;
+        try {
+            dataSize = inflater.inflate(target, targetOffset + Command.DATA_INDEX, space);
+        } catch (DataFormatException ex) {
+            throw new MessageFormatException(ex, "Corrupt compressed data");
+        }
+        if (!inflater.finished() || dataSize == 0) {
+            throw new MessageFormatException("Compressed data too long or truncated");
+        }
+
+        byte dataChecksum = message[offset + Command.DATA_INDEX + compressedSize - 1];
+        if (dataChecksum != checksum(target, targetOffset + Command.DATA_INDEX, dataSize)) {
+            throw new MessageFormatException("Data checksum error.");
+        }
+
+        System.arraycopy(message, offset, target, targetOffset, Command.COMMAND_HEADER_SIZE);
+        CommandHeader.patchShort(target, targetOffset, Command.DATA_SIZE_INDEX, dataSize, this.endianness);
+        target[targetOffset + Command.DATA_INDEX + dataSize] = dataChecksum;
+
+        return Command.COMMAND_HEADER_SIZE + dataSize + Command.DATA_CHECKSUM_SIZE;
+
+    }
+
+
+    /**
+     * @return the original message, or the same array if it was not compressed
+     */
+    public byte[] decompress(byte[] message) throws MessageFormatException {
+        if (message.length < Command.COMMAND_HEADER_SIZE || !CommandHeader.isCompressed(message, 0, this.endianness)) {
+            return message;
+        }
+        byte[] target = this.buffers.get();
+        int size = decompress(message, 0, message.length, target, 0, target.length);
+        return Arrays.copyOf(target, size);
+    }
+
+
+    private static byte checksum(byte[] data, int offset, int length) {
+        byte checksum = 0;
+        for (int i = 0; i < length; i++) {
+            checksum ^= data[offset + i];
+        }
+        return checksum;
+    }
+
+}
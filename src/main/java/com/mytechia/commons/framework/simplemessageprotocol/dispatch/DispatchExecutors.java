@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.dispatch;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ *  Executors used by MessageDispatcher that depend on the Java version.
+ *
+ *  This is the implementation for Java 7 to 20. The multi-release jar
+ *  replaces it on Java 21 or later with one that supports virtual threads
+ *  (src/main/java21).
+ */
+public final class DispatchExecutors {
+
+    private DispatchExecutors() {
+    }
+
+
+    public static boolean isVirtualThreadSupported() {
+        return false;
+    }
+
+
+    /**
+     * @param name prefix of the names of the threads
+     * @return an executor that runs each task in a new virtual thread
+     * @throws UnsupportedOperationException before Java 21
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+
+}
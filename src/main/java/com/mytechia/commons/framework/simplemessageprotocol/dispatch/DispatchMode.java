@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.dispatch;
+
+/**
+ *  Where a MessageDispatcher runs the listeners of each received message.
+ */
+public enum DispatchMode {
+
+    /** In the reader thread: messages are handled one by one, in order. */
+    READER_THREAD,
+
+    /** In a fixed pool of platform threads. */
+    THREAD_POOL,
+
+    /**
+     * In a new virtual thread per message. Only available on Java 21 or
+     * later, see DispatchExecutors.isVirtualThreadSupported().
+     */
+    VIRTUAL_THREAD
+
+}
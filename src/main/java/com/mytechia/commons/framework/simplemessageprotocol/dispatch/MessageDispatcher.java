@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.dispatch;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  Reads the messages of a channel in its own thread and passes them, with
+ *  their origin, to the registered IMessageListener instances.
+ *
+ *  The DispatchMode decides where the listeners run. With
+ *  DispatchMode.VIRTUAL_THREAD (Java 21 or later) every message is handled
+ *  in a new virtual thread, so listeners that block on I/O do not stall the
+ *  reader or need a big pool of platform threads. setMaxConcurrentHandlers()
+ *  bounds the messages being handled at the same time: when the limit is
+ *  reached the reader waits, and the datagrams queue in the socket.
+ *
+ *  The reader stops when stop() is called and the channel returns from the
+ *  current receive, or when the channel fails (i.e. it is closed). Timeouts
+ *  and messages that cannot be decoded are skipped.
+ */
+public class MessageDispatcher {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(MessageDispatcher.class);
+
+    public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final MessageFactory messageFactory;
+
+    private final DispatchMode mode;
+
+    private final List<IMessageListener> listeners = new CopyOnWriteArrayList<>();
+
+    private String name = "message-dispatcher";
+
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    private int maxConcurrentHandlers = 0;
+
+    private ExecutorService executor = null;
+
+    private volatile Thread reader = null;
+
+
+    /**
+     * @param channel channel to read from
+     * @param messageFactory factory that decodes the received data
+     * @param mode where the listeners run
+     * @throws UnsupportedOperationException if the mode is VIRTUAL_THREAD
+     *         and the JVM does not support virtual threads
+     */
+    public MessageDispatcher(INetworkBasicCommunicationChannel channel, MessageFactory messageFactory, DispatchMode mode) {
+        if (mode == DispatchMode.VIRTUAL_THREAD && !DispatchExecutors.isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+        this.channel = channel;
+        this.messageFactory = messageFactory;
+        this.mode = mode;
+    }
+
+
+    public DispatchMode getMode() {
+        return this.mode;
+    }
+
+
+    public void addListener(IMessageListener listener) {
+        this.listeners.add(listener);
+    }
+
+
+    public void removeListener(IMessageListener listener) {
+        this.listeners.remove(listener);
+    }
+
+
+    /**
+     * @param name name of the reader thread, also used as prefix of the handler threads
+     */
+    public MessageDispatcher setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+
+    /**
+     * @param poolSize threads of the pool in DispatchMode.THREAD_POOL
+     */
+    public MessageDispatcher setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+        return this;
+    }
+
+
+    /**
+     * @param maxConcurrentHandlers maximum number of messages being handled
+     *                              at the same time, 0 for no limit
+     */
+    public MessageDispatcher setMaxConcurrentHandlers(int maxConcurrentHandlers) {
+        this.maxConcurrentHandlers = maxConcurrentHandlers;
+        return this;
+    }
+
+
+    public boolean isRunning() {
+        return null != this.reader;
+    }
+
+
+    public synchronized void start() {
+
+        if (null != this.reader) {
+            return;
+        }
+
+        // the reader keeps its own executor and permits: after a stop() and a
+        // start() the old reader may still be running and must not touch the new ones
+        final Semaphore permits = (this.maxConcurrentHandlers > 0) ? new Semaphore(this.maxConcurrentHandlers) : null;
+        final ExecutorService readerExecutor = createExecutor();
+        this.executor = readerExecutor;
+
+        this.reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readLoop(readerExecutor, permits);
+            }
+        }, this.name);
+        this.reader.setDaemon(true);
+        this.reader.start();
+
+    }
+
+
+    private ExecutorService createExecutor() {
+
+        switch (this.mode) {
+            case THREAD_POOL:
+                final AtomicInteger threadCount = new AtomicInteger();
+                return Executors.newFixedThreadPool(this.poolSize, new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable task) {
+                        Thread thread = new Thread(task, name + "-" + threadCount.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            case VIRTUAL_THREAD:
+                return DispatchExecutors.newVirtualThreadPerTaskExecutor(this.name + "-");
+            default:
+                return null;
+        }
+
+    }
+
+
+    /**
+     * Stops reading. The messages already dispatched are still handled.
+     */
+    public void stop() {
+        Thread thread = this.reader;
+        this.reader = null;
+        if (null != thread) {
+            thread.interrupt();
+        }
+    }
+
+
+    /**
+     * Stops reading and waits for the messages already dispatched.
+     *
+     * @return true if all of them were handled before the timeout
+     */
+    public boolean stop(long timeout, TimeUnit unit) throws InterruptedException {
+        ExecutorService currentExecutor = this.executor;
+        stop();
+        if (null == currentExecutor) {
+            return true;
+        }
+        currentExecutor.shutdown();
+        return currentExecutor.awaitTermination(timeout, unit);
+    }
+
+
+    private void readLoop(ExecutorService executor, Semaphore permits) {
+
+        Thread self = Thread.currentThread();
+
+        while (self == this.reader) {
+
+            ReceiveResult result;
+            List<Command> messages;
+            try {
+                result = this.channel.receive();
+                messages = this.messageFactory.decodeMessages(result.getData(), 0, result.getMsgLength());
+            } catch (TimeoutException | MessageFormatException ex) {
+                LOGGER.debug(MessageDispatcher.class.getSimpleName() + ".readLoop", ex);
+                continue;
+            } catch (CommunicationException ex) {
+                // the channel is closed or broken
+                if (self == this.reader) {
+                    LOGGER.error(MessageDispatcher.class.getSimpleName() + ".readLoop", ex);
+                    this.reader = null;
+                }
+                break;
+            }
+
+            try {
+                for (Command message : messages) {
+                    dispatch(executor, permits, message, result.getOrigin());
+                }
+            } catch (InterruptedException ex) {
+                break;
+            } catch (RejectedExecutionException ex) {
+                // the executor was shut down by stop(timeout, unit)
+                LOGGER.debug(MessageDispatcher.class.getSimpleName() + ".readLoop", ex);
+                break;
+            }
+
+        }
+
+        if (null != executor) {
+            executor.shutdown();
+        }
+
+    }
+
+
+    private void dispatch(ExecutorService executor, final Semaphore permits, final Command message,
+                          final IAddress origin) throws InterruptedException {
+
+        if (null == executor) {
+            notifyListeners(message, origin);
+            return;
+        }
+
+        if (null != permits) {
+            permits.acquire();
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        notifyListeners(message, origin);
+                    } finally {
+                        if (null != permits) {
+                            permits.release();
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            if (null != permits) {
+                permits.release();
+            }
+            throw ex;
+        }
+
+    }
+
+
+    private void notifyListeners(Command message, IAddress origin) {
+        for (IMessageListener listener : this.listeners) {
+            try {
+                listener.messageReceived(message, origin);
+            } catch (RuntimeException ex) {
+                LOGGER.error(MessageDispatcher.class.getSimpleName() + ".notifyListeners", ex);
+            }
+        }
+    }
+
+}
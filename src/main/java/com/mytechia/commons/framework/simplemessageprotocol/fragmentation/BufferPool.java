@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.fragmentation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  Pool of the buffers where the messages are reassembled. A buffer taken
+ *  from the pool can be longer than requested.
+ */
+final class BufferPool {
+
+    private final long maxPooledBytes;
+
+    private final List<byte[]> buffers = new ArrayList<>();
+
+    private long pooledBytes = 0;
+
+
+    BufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+
+    /**
+     * @return the smallest pooled buffer of at least size bytes, or a new one
+     */
+    synchronized byte[] take(int size) {
+
+        int best = -1;
+        for (int i = 0; i < this.buffers.size(); i++) {
+            int length = this.buffers.get(i).length;
+            if (length >= size && (best < 0 || length < this.buffers.get(best).length)) {
+                best = i;
+            }
+        }
+
+        if (best < 0) {
+            return new byte[size];
+        }
+
+        byte[] buffer = this.buffers.remove(best);
+        this.pooledBytes -= buffer.length;
+        return buffer;
+
+    }
+
+
+    /**
+     * Returns a buffer to the pool; it is left to the garbage collector if the pool is full.
+     */
+    synchronized void release(byte[] buffer) {
+        if (this.pooledBytes + buffer.length <= this.maxPooledBytes) {
+            this.buffers.add(buffer);
+            this.pooledBytes += buffer.length;
+        }
+    }
+
+}
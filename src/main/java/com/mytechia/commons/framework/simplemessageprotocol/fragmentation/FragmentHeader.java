@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.fragmentation;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+
+/**
+ *  Layout of the fragments sent by FragmentingCommunicationChannel.
+ *
+ *  A fragment starts with FRAGMENT_INIT_BYTE instead of Command.INIT_BYTE,
+ *  so peers that do not reassemble discard it as a malformed message. The
+ *  header holds the kind of fragment, the id of the message, the index of
+ *  the fragment, the number of fragments and the size of the whole message,
+ *  and ends with the XOR checksum of the header. The payload is followed by
+ *  its XOR checksum.
+ *
+ *  A message of totalSize bytes split in fragmentCount fragments is cut in
+ *  pieces of getFragmentSize(totalSize, fragmentCount) bytes (the last one
+ *  can be shorter), so the receiver knows where each piece goes without an
+ *  offset field.
+ */
+public final class FragmentHeader {
+
+    public static final byte FRAGMENT_INIT_BYTE = 0x46;
+
+    /** Kind of the fragments that carry a piece of a message. */
+    public static final byte DATA = 0;
+    /** Kind of the fragments that ask for the retransmission of missing fragments. */
+    public static final byte NACK = 1;
+
+    public static final int INIT_BYTE_INDEX = 0;
+    public static final int KIND_INDEX = 1;
+    /** Index of the Message Id field. Field of 4 bytes. */
+    public static final int MESSAGE_ID_INDEX = 2;
+    /** Index of the Fragment Index field. Field of 2 bytes. */
+    public static final int FRAGMENT_INDEX_INDEX = 6;
+    /** Index of the Fragment Count field. Field of 2 bytes. */
+    public static final int FRAGMENT_COUNT_INDEX = 8;
+    /** Index of the Total Size field. Field of 4 bytes. */
+    public static final int TOTAL_SIZE_INDEX = 10;
+    public static final int HEADER_CHECKSUM_INDEX = 14;
+
+    public static final int FRAGMENT_HEADER_SIZE = 15;
+    public static final int PAYLOAD_CHECKSUM_SIZE = 1;
+    public static final int PAYLOAD_INDEX = FRAGMENT_HEADER_SIZE;
+
+    public static final int MAX_FRAGMENT_COUNT = 0xFFFF;
+
+
+    private FragmentHeader() {
+    }
+
+
+    /**
+     * @return true if the datagram starts with the fragment init byte (its
+     *         checksums are verified by isValid)
+     */
+    public static boolean isFragment(byte[] datagram, int offset, int length) {
+        return length > 0 && datagram[offset + INIT_BYTE_INDEX] == FRAGMENT_INIT_BYTE;
+    }
+
+
+    /**
+     * @return true if the datagram is a fragment with valid header and payload checksums
+     */
+    public static boolean isValid(byte[] datagram, int offset, int length) {
+
+        if (length < FRAGMENT_HEADER_SIZE + PAYLOAD_CHECKSUM_SIZE || !isFragment(datagram, offset, length)) {
+            return false;
+        }
+
+        if (checksum(datagram, offset, HEADER_CHECKSUM_INDEX) != datagram[offset + HEADER_CHECKSUM_INDEX]) {
+            return false;
+        }
+
+        int payloadLength = length - FRAGMENT_HEADER_SIZE - PAYLOAD_CHECKSUM_SIZE;
+        return checksum(datagram, offset + PAYLOAD_INDEX, payloadLength) == datagram[offset + PAYLOAD_INDEX + payloadLength];
+
+    }
+
+
+    /**
+     * Writes the header of a fragment; the payload must be written after it
+     * and closed with writePayloadChecksum.
+     */
+    public static void write(byte[] datagram, int offset, byte kind, int messageId, int fragmentIndex,
+                             int fragmentCount, int totalSize, Endianness endianness) {
+        datagram[offset + INIT_BYTE_INDEX] = FRAGMENT_INIT_BYTE;
+        datagram[offset + KIND_INDEX] = kind;
+        writeInt(datagram, offset + MESSAGE_ID_INDEX, messageId, endianness);
+        writeShort(datagram, offset + FRAGMENT_INDEX_INDEX, fragmentIndex, endianness);
+        writeShort(datagram, offset + FRAGMENT_COUNT_INDEX, fragmentCount, endianness);
+        writeInt(datagram, offset + TOTAL_SIZE_INDEX, totalSize, endianness);
+        datagram[offset + HEADER_CHECKSUM_INDEX] = checksum(datagram, offset, HEADER_CHECKSUM_INDEX);
+    }
+
+
+    /**
+     * Writes the checksum after a payload of payloadLength bytes.
+     *
+     * @return size of the fragment
+     */
+    public static int writePayloadChecksum(byte[] datagram, int offset, int payloadLength) {
+        datagram[offset + PAYLOAD_INDEX + payloadLength] = checksum(datagram, offset + PAYLOAD_INDEX, payloadLength);
+        return FRAGMENT_HEADER_SIZE + payloadLength + PAYLOAD_CHECKSUM_SIZE;
+    }
+
+
+    public static byte getKind(byte[] datagram, int offset) {
+        return datagram[offset + KIND_INDEX];
+    }
+
+
+    public static int getMessageId(byte[] datagram, int offset, Endianness endianness) {
+        return readInt(datagram, offset + MESSAGE_ID_INDEX, endianness);
+    }
+
+
+    public static int getFragmentIndex(byte[] datagram, int offset, Endianness endianness) {
+        return readShort(datagram, offset + FRAGMENT_INDEX_INDEX, endianness);
+    }
+
+
+    public static int getFragmentCount(byte[] datagram, int offset, Endianness endianness) {
+        return readShort(datagram, offset + FRAGMENT_COUNT_INDEX, endianness);
+    }
+
+
+    public static int getTotalSize(byte[] datagram, int offset, Endianness endianness) {
+        return readInt(datagram, offset + TOTAL_SIZE_INDEX, endianness);
+    }
+
+
+    /**
+     * @return size of the payload of a valid fragment of length bytes
+     */
+    public static int getPayloadLength(int length) {
+        return length - FRAGMENT_HEADER_SIZE - PAYLOAD_CHECKSUM_SIZE;
+    }
+
+
+    /**
+     * @return size of every fragment of the message but the last one
+     */
+    public static int getFragmentSize(int totalSize, int fragmentCount) {
+        return (int) (((long) totalSize + fragmentCount - 1) / fragmentCount);
+    }
+
+
+    private static byte checksum(byte[] data, int offset, int length) {
+        byte checksum = 0;
+        for (int i = 0; i < length; i++) {
+            checksum ^= data[offset + i];
+        }
+        return checksum;
+    }
+
+
+    private static int readShort(byte[] data, int index, Endianness endianness) {
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            return (data[index] & 0xFF) | ((data[index + 1] & 0xFF) << 8);
+        }
+        return ((data[index] & 0xFF) << 8) | (data[index + 1] & 0xFF);
+    }
+
+
+    private static int readInt(byte[] data, int index, Endianness endianness) {
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            return readShort(data, index, endianness) | (readShort(data, index + 2, endianness) << 16);
+        }
+        return (readShort(data, index, endianness) << 16) | readShort(data, index + 2, endianness);
+    }
+
+
+    private static void writeShort(byte[] data, int index, int value, Endianness endianness) {
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            data[index] = (byte) value;
+            data[index + 1] = (byte) (value >>> 8);
+        } else {
+            data[index] = (byte) (value >>> 8);
+            data[index + 1] = (byte) value;
+        }
+    }
+
+
+    private static void writeInt(byte[] data, int index, int value, Endianness endianness) {
+        if (endianness == Endianness.LITTLE_ENDIAN) {
+            writeShort(data, index, value, endianness);
+            writeShort(data, index + 2, value >>> 16, endianness);
+        } else {
+            writeShort(data, index, value >>> 16, endianness);
+            writeShort(data, index + 2, value, endianness);
+        }
+    }
+
+}
@@ -0,0 +1,752 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.fragmentation;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import com.mytechia.commons.framework.simplemessageprotocol.util.IClock;
+import com.mytechia.commons.framework.simplemessageprotocol.util.SystemClock;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel that splits the
+ *  messages longer than the maximum datagram size in fragments (see
+ *  FragmentHeader) and reassembles them on the receiving side, so messages
+ *  longer than Command.MAX_MESSAGE_SIZE (i.e. firmware images or map tiles)
+ *  can be sent in one call. Shorter messages are sent untouched.
+ *
+ *  Fragments are reassembled per origin and message id. The message ids of
+ *  every instance start at a random value, so a sender restarted on the same
+ *  port does not reuse the ids of the messages it sent before. Every fragment is
+ *  copied once, to its final position in a buffer taken from a pool, and
+ *  the fragments never reach the caller of receive(). A message that does
+ *  not receive a fragment in the reassembly timeout is discarded, and new
+ *  messages are discarded while the messages being reassembled take more
+ *  than the reassembly memory limit. The messages being reassembled are
+ *  kept in the order of their last fragment, so the expired ones are found
+ *  without going through the others. The completed messages are remembered
+ *  for the reassembly timeout too, to discard their duplicated fragments.
+ *
+ *  Selective retransmission is optional: the sender keeps the last
+ *  messages of its retransmission window, and the receiver, when a message
+ *  has not received a fragment in the retransmission delay, sends back a
+ *  NACK with a bitmap of the missing fragments, which the sender sends
+ *  again. The NACKs are sent while receiving; if the decorated channel
+ *  blocks in receive() without a timeout (as UDP does), call
+ *  requestRetransmissions() periodically too. Both peers must receive to
+ *  process the NACKs.
+ *
+ *  receiveMessage() decodes the reassembled messages with the registered
+ *  MessageFactory, so a Command with up to 32767 bytes of data can be sent;
+ *  other blocks of bytes must be read with receive().
+ */
+public class FragmentingCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(FragmentingCommunicationChannel.class);
+
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_REASSEMBLY_BYTES = 64L * 1024 * 1024;
+
+    public static final long DEFAULT_REASSEMBLY_TIMEOUT_MILLIS = 5000;
+
+    private static final int RECENTLY_COMPLETED = 1024;
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final Endianness endianness;
+
+    private final IClock clock;
+
+    private int maxDatagramSize = Command.MAX_MESSAGE_SIZE;
+
+    private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+
+    private long maxReassemblyBytes = DEFAULT_MAX_REASSEMBLY_BYTES;
+
+    private long reassemblyTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_REASSEMBLY_TIMEOUT_MILLIS);
+
+    private int retransmissionWindow = 0;
+
+    private long retransmissionDelayNanos = 0;
+
+    private int maxRetransmissionRequests = 0;
+
+    private MessageFactory messageFactory = null;
+
+    private final AtomicInteger nextMessageId = new AtomicInteger(new Random().nextInt());
+
+    /** Messages being reassembled, from the one with the oldest last fragment to the newest. */
+    private final LinkedHashMap<ReassemblyKey, Reassembly> reassemblies = new LinkedHashMap<>();
+
+    /** Time when the last messages were completed, from the oldest to the newest. */
+    private final LinkedHashMap<ReassemblyKey, Long> recentlyCompleted = new LinkedHashMap<ReassemblyKey, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ReassemblyKey, Long> eldest) {
+            return size() > RECENTLY_COMPLETED;
+        }
+    };
+
+    private final Map<Integer, SentMessage> sentMessages = new LinkedHashMap<Integer, SentMessage>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, SentMessage> eldest) {
+            return size() > retransmissionWindow;
+        }
+    };
+
+    private long reassemblyBytes = 0;
+
+    private final BufferPool bufferPool = new BufferPool(DEFAULT_MAX_MESSAGE_SIZE);
+
+    private final ThreadLocal<byte[]> fragmentBuffers = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[Command.MAX_MESSAGE_SIZE];
+        }
+    };
+
+    private final AtomicLong sentFragments = new AtomicLong();
+
+    private final AtomicLong receivedFragments = new AtomicLong();
+
+    private final AtomicLong reassembledMessages = new AtomicLong();
+
+    private final AtomicLong duplicatedFragments = new AtomicLong();
+
+    private final AtomicLong droppedFragments = new AtomicLong();
+
+    private final AtomicLong expiredMessages = new AtomicLong();
+
+    private final AtomicLong retransmissionRequests = new AtomicLong();
+
+    private final AtomicLong retransmittedFragments = new AtomicLong();
+
+
+    public FragmentingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness) {
+        this(channel, endianness, SystemClock.INSTANCE);
+    }
+
+
+    /**
+     * @param channel decorated channel
+     * @param clock clock of the reassembly timeouts and retransmission delays
+     */
+    public FragmentingCommunicationChannel(INetworkBasicCommunicationChannel channel, Endianness endianness,
+                                           IClock clock) {
+        this.channel = channel;
+        this.endianness = endianness;
+        this.clock = clock;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    /**
+     * @param maxDatagramSize size of the longest datagram sent, fragments
+     *        included; from 64 to Command.MAX_MESSAGE_SIZE (the default)
+     */
+    public FragmentingCommunicationChannel setMaxDatagramSize(int maxDatagramSize) {
+        if (maxDatagramSize < 64 || maxDatagramSize > Command.MAX_MESSAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid maximum datagram size: " + maxDatagramSize);
+        }
+        this.maxDatagramSize = maxDatagramSize;
+        return this;
+    }
+
+
+    /**
+     * @param maxMessageSize size of the longest message sent or reassembled
+     */
+    public FragmentingCommunicationChannel setMaxMessageSize(int maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+        return this;
+    }
+
+
+    /**
+     * @param maxReassemblyBytes memory limit of the messages being reassembled
+     */
+    public FragmentingCommunicationChannel setMaxReassemblyBytes(long maxReassemblyBytes) {
+        this.maxReassemblyBytes = maxReassemblyBytes;
+        return this;
+    }
+
+
+    /**
+     * @param timeoutMillis time without receiving fragments after which a
+     *        message being reassembled is discarded
+     */
+    public FragmentingCommunicationChannel setReassemblyTimeout(long timeoutMillis) {
+        this.reassemblyTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        return this;
+    }
+
+
+    /**
+     * Enables the selective retransmission of missing fragments.
+     *
+     * @param window number of sent messages kept to retransmit their
+     *        fragments, 0 to not answer the NACKs of the peers
+     * @param delayMillis time without receiving fragments of a message after
+     *        which its missing fragments are requested, 0 to not request them
+     * @param maxRequests maximum number of NACKs sent for a message
+     */
+    public synchronized FragmentingCommunicationChannel setRetransmission(int window, long delayMillis, int maxRequests) {
+        this.retransmissionWindow = window;
+        this.retransmissionDelayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        this.maxRetransmissionRequests = maxRequests;
+        synchronized (this.sentMessages) {
+            Iterator<Integer> ids = this.sentMessages.keySet().iterator();
+            while (this.sentMessages.size() > window && ids.hasNext()) {
+                ids.next();
+                ids.remove();
+            }
+        }
+        return this;
+    }
+
+
+    public long getSentFragments() {
+        return this.sentFragments.get();
+    }
+
+    public long getReceivedFragments() {
+        return this.receivedFragments.get();
+    }
+
+    public long getReassembledMessages() {
+        return this.reassembledMessages.get();
+    }
+
+    public long getDuplicatedFragments() {
+        return this.duplicatedFragments.get();
+    }
+
+    /**
+     * @return fragments discarded because they were corrupt, inconsistent or
+     *         over the size or memory limits
+     */
+    public long getDroppedFragments() {
+        return this.droppedFragments.get();
+    }
+
+    public long getExpiredMessages() {
+        return this.expiredMessages.get();
+    }
+
+    public long getRetransmissionRequests() {
+        return this.retransmissionRequests.get();
+    }
+
+    public long getRetransmittedFragments() {
+        return this.retransmittedFragments.get();
+    }
+
+
+    /**
+     * @return number of messages being reassembled
+     */
+    public synchronized int getPendingMessages() {
+        return this.reassemblies.size();
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        if (count <= this.maxDatagramSize) {
+            this.channel.send(addr, data, offset, count);
+            return;
+        }
+
+        if (count > this.maxMessageSize) {
+            throw new MessageFormatException("Message of " + count + " bytes longer than the maximum of "
+                    + this.maxMessageSize);
+        }
+
+        int maxPayload = this.maxDatagramSize - FragmentHeader.FRAGMENT_HEADER_SIZE - FragmentHeader.PAYLOAD_CHECKSUM_SIZE;
+        int fragmentCount = (int) (((long) count + maxPayload - 1) / maxPayload);
+        if (fragmentCount > FragmentHeader.MAX_FRAGMENT_COUNT) {
+            throw new MessageFormatException("Message of " + count + " bytes needs too many fragments");
+        }
+
+        int messageId = this.nextMessageId.getAndIncrement();
+        SentMessage message = new SentMessage(addr, messageId, data, offset, count, fragmentCount,
+                this.retransmissionWindow > 0);
+        if (this.retransmissionWindow > 0) {
+            synchronized (this.sentMessages) {
+                this.sentMessages.put(messageId, message);
+            }
+        }
+
+        for (int i = 0; i < fragmentCount; i++) {
+            sendFragment(message, data, offset, i);
+        }
+
+    }
+
+
+    private void sendFragment(SentMessage message, byte[] data, int offset, int fragmentIndex)
+            throws CommunicationException {
+
+        byte[] buffer = this.fragmentBuffers.get();
+        int fragmentSize = FragmentHeader.getFragmentSize(message.totalSize, message.fragmentCount);
+        int start = fragmentIndex * fragmentSize;
+        int length = Math.min(fragmentSize, message.totalSize - start);
+
+        FragmentHeader.write(buffer, 0, FragmentHeader.DATA, message.messageId, fragmentIndex,
+                message.fragmentCount, message.totalSize, this.endianness);
+        System.arraycopy(data, offset + start, buffer, FragmentHeader.PAYLOAD_INDEX, length);
+        int size = FragmentHeader.writePayloadChecksum(buffer, 0, length);
+
+        this.channel.send(message.destination, buffer, 0, size);
+        this.sentFragments.incrementAndGet();
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    /**
+     * Processes a fragment received from the decorated channel.
+     *
+     * @return the message completed by the fragment, or null
+     */
+    private Reassembly processFragment(IAddress origin, byte[] datagram, int offset, int length)
+            throws CommunicationException {
+
+        Reassembly completed = null;
+
+        if (!FragmentHeader.isValid(datagram, offset, length)) {
+            LOGGER.debug("Corrupt fragment received from {}", origin.getId());
+            this.droppedFragments.incrementAndGet();
+        } else if (FragmentHeader.getKind(datagram, offset) == FragmentHeader.NACK) {
+            retransmit(origin, datagram, offset, length);
+        } else {
+            this.receivedFragments.incrementAndGet();
+            completed = addFragment(origin, datagram, offset, length);
+        }
+
+        if (this.retransmissionDelayNanos > 0) {
+            requestRetransmissions();
+        } else {
+            expireReassemblies();
+        }
+
+        return completed;
+
+    }
+
+
+    private synchronized Reassembly addFragment(IAddress origin, byte[] datagram, int offset, int length) {
+
+        int messageId = FragmentHeader.getMessageId(datagram, offset, this.endianness);
+        int fragmentIndex = FragmentHeader.getFragmentIndex(datagram, offset, this.endianness);
+        ReassemblyKey key = new ReassemblyKey(origin, messageId);
+        long now = this.clock.nanoTime();
+
+        Reassembly reassembly = this.reassemblies.get(key);
+        if (null == reassembly) {
+
+            Long completedNanos = this.recentlyCompleted.get(key);
+            if (null != completedNanos) {
+                if (now - completedNanos < this.reassemblyTimeoutNanos) {
+                    this.duplicatedFragments.incrementAndGet();
+                    return null;
+                }
+                this.recentlyCompleted.remove(key);
+            }
+
+            int fragmentCount = FragmentHeader.getFragmentCount(datagram, offset, this.endianness);
+            int totalSize = FragmentHeader.getTotalSize(datagram, offset, this.endianness);
+            if (totalSize <= 0 || totalSize > this.maxMessageSize || fragmentCount == 0
+                    || (long) (fragmentCount - 1) * FragmentHeader.getFragmentSize(totalSize, fragmentCount) >= totalSize) {
+                LOGGER.debug("Fragment of an invalid message received from {}", origin.getId());
+                this.droppedFragments.incrementAndGet();
+                return null;
+            }
+            if (this.reassemblyBytes + totalSize > this.maxReassemblyBytes) {
+                LOGGER.debug("Reassembly memory limit reached, message {} of {} discarded", messageId, origin.getId());
+                this.droppedFragments.incrementAndGet();
+                return null;
+            }
+
+            reassembly = new Reassembly(origin, messageId, fragmentCount, totalSize,
+                    this.bufferPool.take(totalSize), now);
+            this.reassemblies.put(key, reassembly);
+            this.reassemblyBytes += totalSize;
+
+        }
+
+        if (fragmentIndex >= reassembly.fragmentCount
+                || FragmentHeader.getFragmentCount(datagram, offset, this.endianness) != reassembly.fragmentCount
+                || FragmentHeader.getTotalSize(datagram, offset, this.endianness) != reassembly.totalSize
+                || FragmentHeader.getPayloadLength(length) != reassembly.getFragmentLength(fragmentIndex)) {
+            LOGGER.debug("Inconsistent fragment of message {} received from {}", messageId, origin.getId());
+            this.droppedFragments.incrementAndGet();
+            return null;
+        }
+
+        if (reassembly.hasFragment(fragmentIndex)) {
+            this.duplicatedFragments.incrementAndGet();
+            return null;
+        }
+
+        reassembly.addFragment(fragmentIndex, datagram, offset + FragmentHeader.PAYLOAD_INDEX,
+                FragmentHeader.getPayloadLength(length), now);
+
+        // moved to the end, to keep the messages in the order of their last fragment
+        this.reassemblies.remove(key);
+
+        if (!reassembly.isComplete()) {
+            this.reassemblies.put(key, reassembly);
+            return null;
+        }
+
+        this.reassemblyBytes -= reassembly.totalSize;
+        this.recentlyCompleted.put(key, now);
+        this.reassembledMessages.incrementAndGet();
+        return reassembly;
+
+    }
+
+
+    /**
+     * Discards the messages that have not received a fragment in the
+     * reassembly timeout, and forgets the messages completed before it.
+     *
+     * @return number of messages discarded
+     */
+    public synchronized int expireReassemblies() {
+
+        long now = this.clock.nanoTime();
+        int expired = 0;
+
+        // the first message that has not expired ends the search, the next ones are newer
+        Iterator<Reassembly> iterator = this.reassemblies.values().iterator();
+        while (iterator.hasNext()) {
+            Reassembly reassembly = iterator.next();
+            if (now - reassembly.lastFragmentNanos < this.reassemblyTimeoutNanos) {
+                break;
+            }
+            LOGGER.debug("Message {} of {} expired with fragments missing", reassembly.messageId,
+                    reassembly.origin.getId());
+            iterator.remove();
+            this.reassemblyBytes -= reassembly.totalSize;
+            this.bufferPool.release(reassembly.buffer);
+            expired++;
+        }
+
+        this.expiredMessages.addAndGet(expired);
+
+        Iterator<Long> completed = this.recentlyCompleted.values().iterator();
+        while (completed.hasNext() && now - completed.next() >= this.reassemblyTimeoutNanos) {
+            completed.remove();
+        }
+
+        return expired;
+
+    }
+
+
+    /**
+     * Discards the expired messages and sends a NACK for each message that
+     * has not received a fragment in the retransmission delay, unless it
+     * already sent the maximum number of NACKs.
+     *
+     * @return number of NACKs sent
+     */
+    public int requestRetransmissions() throws CommunicationException {
+
+        expireReassemblies();
+
+        List<IAddress> destinations = new ArrayList<>();
+        List<byte[]> nacks = new ArrayList<>();
+
+        synchronized (this) {
+
+            if (this.retransmissionDelayNanos <= 0) {
+                return 0;
+            }
+
+            long now = this.clock.nanoTime();
+            for (Reassembly reassembly : this.reassemblies.values()) {
+                if (now - reassembly.lastFragmentNanos < this.retransmissionDelayNanos) {
+                    break; // this message and the next ones received a fragment recently
+                }
+                if (reassembly.requests < this.maxRetransmissionRequests
+                        && now - Math.max(reassembly.lastFragmentNanos, reassembly.lastRequestNanos) >= this.retransmissionDelayNanos) {
+                    reassembly.requests++;
+                    reassembly.lastRequestNanos = now;
+                    destinations.add(reassembly.origin);
+                    nacks.add(buildNack(reassembly));
+                }
+            }
+
+        }
+
+        for (int i = 0; i < nacks.size(); i++) {
+            byte[] nack = nacks.get(i);
+            this.channel.send(destinations.get(i), nack, 0, nack.length);
+            this.retransmissionRequests.incrementAndGet();
+        }
+
+        return nacks.size();
+
+    }
+
+
+    /**
+     * A NACK has the Fragment Index of the first missing fragment and a
+     * payload with a bit for it and each following fragment, set if the
+     * fragment is missing.
+     */
+    private byte[] buildNack(Reassembly reassembly) {
+
+        int first = reassembly.firstMissingFragment();
+        int maxPayload = this.maxDatagramSize - FragmentHeader.FRAGMENT_HEADER_SIZE - FragmentHeader.PAYLOAD_CHECKSUM_SIZE;
+        int bits = Math.min(reassembly.fragmentCount - first, maxPayload * 8);
+        int payloadLength = (bits + 7) / 8;
+
+        byte[] nack = new byte[FragmentHeader.FRAGMENT_HEADER_SIZE + payloadLength + FragmentHeader.PAYLOAD_CHECKSUM_SIZE];
+        FragmentHeader.write(nack, 0, FragmentHeader.NACK, reassembly.messageId, first,
+                reassembly.fragmentCount, reassembly.totalSize, this.endianness);
+        for (int i = 0; i < bits; i++) {
+            if (!reassembly.hasFragment(first + i)) {
+                nack[FragmentHeader.PAYLOAD_INDEX + (i >>> 3)] |= (byte) (1 << (i & 7));
+            }
+        }
+        FragmentHeader.writePayloadChecksum(nack, 0, payloadLength);
+
+        return nack;
+
+    }
+
+
+    private void retransmit(IAddress origin, byte[] datagram, int offset, int length) throws CommunicationException {
+
+        int messageId = FragmentHeader.getMessageId(datagram, offset, this.endianness);
+        SentMessage message;
+        synchronized (this.sentMessages) {
+            message = this.sentMessages.get(messageId);
+        }
+        if (null == message || !message.destination.getId().equals(origin.getId())) {
+            LOGGER.debug("NACK of message {} from {} not in the retransmission window", messageId, origin.getId());
+            return;
+        }
+
+        int first = FragmentHeader.getFragmentIndex(datagram, offset, this.endianness);
+        int bits = FragmentHeader.getPayloadLength(length) * 8;
+        for (int i = 0; i < bits && first + i < message.fragmentCount; i++) {
+            if ((datagram[offset + FragmentHeader.PAYLOAD_INDEX + (i >>> 3)] & (1 << (i & 7))) != 0) {
+                sendFragment(message, message.data, 0, first + i);
+                this.retransmittedFragments.incrementAndGet();
+            }
+        }
+
+    }
+
+
+    /**
+     * The timeout is shared by the fragments of the message, so receive()
+     * returns or fails in the given time even if fragments keep arriving.
+     */
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+
+        long deadline = (timeout >= 0) ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+
+        while (true) {
+
+            long remaining = -1;
+            if (timeout >= 0) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (timeout > 0 && remainingNanos <= 0) {
+                    throw new TimeoutException("No message received in " + timeout + " ms");
+                }
+                // rounded up, so the last fraction of a millisecond does not become a poll;
+                // with a 0 timeout the fragments already received are read until one is missing
+                remaining = Math.max(0, (remainingNanos + 999999) / 1000000);
+            }
+
+            ReceiveResult result = this.channel.receive(data, offset, count, remaining);
+            int length = result.getMsgLength();
+            if (!FragmentHeader.isFragment(data, offset, length)) {
+                return result;
+            }
+
+            Reassembly reassembly = processFragment(result.getOrigin(), data, offset, length);
+            if (null != reassembly) {
+                // longer messages are truncated, as the decorated channels do
+                int size = Math.min(count, reassembly.totalSize);
+                System.arraycopy(reassembly.buffer, 0, data, offset, size);
+                this.bufferPool.release(reassembly.buffer);
+                return new ReceiveResult(size, reassembly.origin, result.getData());
+            }
+
+        }
+
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return receive(data, offset, count, -1);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    /**
+     * Returns the reassembled messages in an array of their exact size; the
+     * buffer where they were reassembled goes back to the pool.
+     */
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+
+        while (true) {
+
+            ReceiveResult result = this.channel.receive();
+            byte[] data = result.getData();
+            if (!FragmentHeader.isFragment(data, 0, result.getMsgLength())) {
+                return result;
+            }
+
+            Reassembly reassembly = processFragment(result.getOrigin(), data, 0, result.getMsgLength());
+            if (null != reassembly) {
+                byte[] message = Arrays.copyOf(reassembly.buffer, reassembly.totalSize);
+                this.bufferPool.release(reassembly.buffer);
+                return new ReceiveResult(reassembly.totalSize, reassembly.origin, message);
+            }
+
+        }
+
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            return this.messageFactory.decodeMessage(receiveResult.getData());
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+
+    /** Origin and message id of a message being reassembled. */
+    private static final class ReassemblyKey {
+
+        final IAddress origin;
+
+        final int messageId;
+
+        ReassemblyKey(IAddress origin, int messageId) {
+            this.origin = origin;
+            this.messageId = messageId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ReassemblyKey)) {
+                return false;
+            }
+            ReassemblyKey other = (ReassemblyKey) obj;
+            return this.messageId == other.messageId && this.origin.equals(other.origin);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.origin.hashCode() + this.messageId;
+        }
+
+    }
+
+
+    /** Message fragmented by send(), kept for retransmission if the window is enabled. */
+    private static final class SentMessage {
+
+        final IAddress destination;
+
+        final int messageId;
+
+        final byte[] data;
+
+        final int totalSize;
+
+        final int fragmentCount;
+
+        SentMessage(IAddress destination, int messageId, byte[] data, int offset, int count,
+                    int fragmentCount, boolean keepData) {
+            this.destination = destination;
+            this.messageId = messageId;
+            this.totalSize = count;
+            this.fragmentCount = fragmentCount;
+            if (keepData) {
+                this.data = new byte[count];
+                System.arraycopy(data, offset, this.data, 0, count);
+            } else {
+                this.data = null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.fragmentation;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+
+import java.util.BitSet;
+
+/**
+ *  State of a message being reassembled. Each fragment is copied once, to
+ *  its final position in the buffer of the message.
+ */
+final class Reassembly {
+
+    final IAddress origin;
+
+    final int messageId;
+
+    final int fragmentCount;
+
+    final int fragmentSize;
+
+    final int totalSize;
+
+    final byte[] buffer;
+
+    private final BitSet received;
+
+    private int receivedCount = 0;
+
+    long lastFragmentNanos;
+
+    long lastRequestNanos;
+
+    int requests = 0;
+
+
+    Reassembly(IAddress origin, int messageId, int fragmentCount, int totalSize, byte[] buffer, long nanos) {
+        this.origin = origin;
+        this.messageId = messageId;
+        this.fragmentCount = fragmentCount;
+        this.fragmentSize = FragmentHeader.getFragmentSize(totalSize, fragmentCount);
+        this.totalSize = totalSize;
+        this.buffer = buffer;
+        this.received = new BitSet(fragmentCount);
+        this.lastFragmentNanos = nanos;
+        this.lastRequestNanos = nanos;
+    }
+
+
+    int getFragmentLength(int fragmentIndex) {
+        return Math.min(this.fragmentSize, this.totalSize - fragmentIndex * this.fragmentSize);
+    }
+
+
+    boolean hasFragment(int fragmentIndex) {
+        return this.received.get(fragmentIndex);
+    }
+
+
+    void addFragment(int fragmentIndex, byte[] payload, int offset, int length, long nanos) {
+        System.arraycopy(payload, offset, this.buffer, fragmentIndex * this.fragmentSize, length);
+        this.received.set(fragmentIndex);
+        this.receivedCount++;
+        this.lastFragmentNanos = nanos;
+    }
+
+
+    boolean isComplete() {
+        return this.receivedCount == this.fragmentCount;
+    }
+
+
+    int firstMissingFragment() {
+        return this.received.nextClearBit(0);
+    }
+
+}
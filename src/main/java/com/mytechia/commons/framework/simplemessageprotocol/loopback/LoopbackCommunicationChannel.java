@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.loopback;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.IProtocolMetrics;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.NullProtocolMetrics;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.IUDPCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPAddress;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *  IUDPCommunicationChannel implementation that exchanges datagrams with the
+ *  other channels of a LoopbackNetwork through lock-free queues.
+ *
+ *  It behaves like UDPCommunicationChannelImplementation: datagrams are copied
+ *  when sent, datagrams larger than the receive buffer are truncated, and
+ *  datagrams are dropped when the receive queue is full. Unlike the UDP
+ *  channel, the receive timeout is honored and a TimeoutException is thrown
+ *  when it expires.
+ *
+ *  Channels are created with LoopbackNetwork.createChannel().
+ */
+public class LoopbackCommunicationChannel implements IUDPCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(LoopbackCommunicationChannel.class);
+
+    private final LoopbackNetwork network;
+
+    private final InetAddress ipAddress;
+
+    private final int port;
+
+    private final UDPAddress localAddress;
+
+    private final int queueCapacity;
+
+    private final ConcurrentLinkedQueue<Datagram> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong droppedDatagrams = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    private MessageFactory messageFactory = null;
+
+    private IProtocolMetrics metrics = NullProtocolMetrics.INSTANCE;
+
+
+    LoopbackCommunicationChannel(LoopbackNetwork network, InetAddress ipAddress, int port, int queueCapacity) {
+        this.network = network;
+        this.ipAddress = ipAddress;
+        this.port = port;
+        this.localAddress = new UDPAddress(ipAddress, port);
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    public UDPAddress getLocalAddress() {
+        return this.localAddress;
+    }
+
+
+    /**
+     * @return datagrams dropped because the receive queue was full
+     */
+    public long getDroppedDatagrams() {
+        return this.droppedDatagrams.get();
+    }
+
+
+    void enqueue(UDPAddress origin, byte[] datagram) {
+
+        if (this.closed) {
+            return;
+        }
+
+        if (this.queueSize.incrementAndGet() > this.queueCapacity) {
+            this.queueSize.decrementAndGet();
+            this.droppedDatagrams.incrementAndGet();
+            return;
+        }
+
+        this.queue.offer(new Datagram(origin, datagram));
+
+        for (Thread waiter : this.waiters) {
+            LockSupport.unpark(waiter);
+        }
+
+    }
+
+
+    /**
+     * Takes the next datagram, waiting for it if the queue is empty.
+     *
+     * @param timeout milliseconds to wait, or a negative value to wait forever
+     */
+    private Datagram take(long timeout) throws CommunicationException {
+
+        Datagram datagram = poll();
+        if (null != datagram) {
+            return datagram;
+        }
+
+        long deadline = (timeout >= 0) ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        Thread current = Thread.currentThread();
+
+        this.waiters.add(current);
+        try {
+            while (true) {
+                // checked after registering as waiter, so a datagram enqueued meanwhile is not missed
+                datagram = poll();
+                if (null != datagram) {
+                    return datagram;
+                }
+                if (this.closed) {
+                    this.metrics.receiveError();
+                    throw new CommunicationException("Channel closed");
+                }
+                if (timeout >= 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException("No datagram received in " + timeout + " ms");
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    current.interrupt();
+                    this.metrics.receiveError();
+                    throw new CommunicationException("Interrupted while receiving");
+                }
+            }
+        } finally {
+            this.waiters.remove(current);
+        }
+
+    }
+
+
+    private Datagram poll() {
+        Datagram datagram = this.queue.poll();
+        if (null != datagram) {
+            this.queueSize.decrementAndGet();
+            if (datagram.data.length >= Command.COMMAND_HEADER_SIZE) {
+                this.metrics.messageReceived(datagram.data[Command.COMMAND_TYPE_INDEX], datagram.data.length);
+            }
+        }
+        return datagram;
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        if (this.closed) {
+            this.metrics.sendError();
+            throw new CommunicationException("Channel closed");
+        }
+
+        this.network.deliver(this, addr, data, offset, count);
+
+        if (count >= Command.COMMAND_HEADER_SIZE) {
+            this.metrics.messageSent(data[offset + Command.COMMAND_TYPE_INDEX], count);
+        }
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData;
+        if (this.metrics.isEnabled()) {
+            long start = System.nanoTime();
+            rawData = msg.codeMessage();
+            this.metrics.encodeLatency(System.nanoTime() - start);
+        } else {
+            rawData = msg.codeMessage();
+        }
+        send(addr, rawData, 0, rawData.length);
+        LOGGER.trace("Sending message.", msg);
+    }
+
+
+    @Override
+    public void broadcast(byte[] data, int offset, int count) throws CommunicationException {
+        send(new UDPAddress(this.network.getBroadcastAddress(), this.port), data, offset, count);
+    }
+
+
+    @Override
+    public void broadcast(Command msg) throws CommunicationException {
+        send(new UDPAddress(this.network.getBroadcastAddress(), this.port), msg);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        Datagram datagram = take(timeout);
+        int length = Math.min(count, datagram.data.length);
+        System.arraycopy(datagram.data, 0, data, offset, length);
+        return new ReceiveResult(length, datagram.origin, null);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return receive(data, offset, count, -1);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    /**
+     * Returns the received datagram without copying it. Unlike the UDP channel,
+     * the returned data array has exactly the length of the datagram.
+     */
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        Datagram datagram = take(-1);
+        return new ReceiveResult(datagram.data.length, datagram.origin, datagram.data);
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            final Command receivedMessage =
+                    this.messageFactory.decodeMessage(receiveResult.getData());
+
+            LOGGER.trace("Receiving message", receivedMessage);
+
+            return receivedMessage;
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public InetAddress getIPAddress() {
+        return this.ipAddress;
+    }
+
+
+    @Override
+    public int getPort() {
+        return this.port;
+    }
+
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.network.unbind(this);
+            for (Thread waiter : this.waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+    }
+
+
+    public void registerMetrics(IProtocolMetrics metrics) {
+        this.metrics = (null == metrics) ? NullProtocolMetrics.INSTANCE : metrics;
+    }
+
+
+    private static final class Datagram {
+
+        final UDPAddress origin;
+
+        final byte[] data;
+
+        Datagram(UDPAddress origin, byte[] data) {
+            this.origin = origin;
+            this.data = data;
+        }
+
+    }
+
+}
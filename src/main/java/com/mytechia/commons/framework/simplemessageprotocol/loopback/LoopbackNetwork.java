@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.loopback;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.udp.UDPAddress;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  In-process network that connects LoopbackCommunicationChannel instances.
+ *
+ *  Channels are virtual UDP endpoints identified by an IP address and a port,
+ *  and they are addressed with UDPAddress instances as if they were real
+ *  sockets. A datagram sent to the broadcast address of the network is
+ *  delivered to every channel bound to the destination port (the sender too,
+ *  like a real UDP broadcast).
+ *
+ *  No sockets are used, so protocol code can be exercised at high rates and
+ *  without network access.
+ */
+public class LoopbackNetwork {
+
+    public static final String DEFAULT_BROADCAST_ADDRESS = "255.255.255.255";
+
+    /** Default number of datagrams a channel queues before dropping, like a socket buffer. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private static final int FIRST_EPHEMERAL_PORT = 49152;
+
+    private final ConcurrentMap<InetSocketAddress, LoopbackCommunicationChannel> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextEphemeralPort = new AtomicInteger(FIRST_EPHEMERAL_PORT);
+
+    private final InetAddress broadcastAddress;
+
+    private final int queueCapacity;
+
+
+    public LoopbackNetwork() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+
+    public LoopbackNetwork(int queueCapacity) {
+        try {
+            this.broadcastAddress = InetAddress.getByName(DEFAULT_BROADCAST_ADDRESS);
+        } catch (UnknownHostException ex) {
+            throw new IllegalStateException(ex);
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    public InetAddress getBroadcastAddress() {
+        return this.broadcastAddress;
+    }
+
+
+    /**
+     * Creates a channel bound to a virtual endpoint of this network.
+     *
+     * @param ip IP address of the endpoint (it does not need to exist in the host)
+     * @param port port of the endpoint, 0 to pick a free one
+     * @return the new channel
+     * @throws UnknownHostException
+     * @throws SocketException if the endpoint is already in use
+     */
+    public LoopbackCommunicationChannel createChannel(String ip, int port) throws UnknownHostException, SocketException {
+
+        InetAddress address = InetAddress.getByName(ip);
+
+        while (true) {
+            int boundPort = (port == 0) ? this.nextEphemeralPort.getAndIncrement() : port;
+            InetSocketAddress endpoint = new InetSocketAddress(address, boundPort);
+            LoopbackCommunicationChannel channel =
+                    new LoopbackCommunicationChannel(this, address, boundPort, this.queueCapacity);
+
+            if (null == this.endpoints.putIfAbsent(endpoint, channel)) {
+                return channel;
+            }
+            if (port != 0) {
+                throw new SocketException("Address already in use: " + endpoint);
+            }
+        }
+
+    }
+
+
+    void unbind(LoopbackCommunicationChannel channel) {
+        this.endpoints.remove(new InetSocketAddress(channel.getIPAddress(), channel.getPort()), channel);
+    }
+
+
+    /**
+     * Delivers a copy of the datagram to its destination. Datagrams to unbound
+     * endpoints are silently lost, as with UDP.
+     */
+    void deliver(LoopbackCommunicationChannel source, IAddress destination, byte[] data, int offset, int count)
+            throws CommunicationException {
+
+        if (!(destination instanceof UDPAddress)) {
+            return;
+        }
+
+        UDPAddress udpDestination = (UDPAddress) destination;
+        InetAddress destinationAddress;
+        try {
+            destinationAddress = udpDestination.getAddress();
+        } catch (UnknownHostException ex) {
+            throw new CommunicationException(ex);
+        }
+
+        UDPAddress origin = source.getLocalAddress();
+
+        if (this.broadcastAddress.equals(destinationAddress)) {
+            for (LoopbackCommunicationChannel channel : this.endpoints.values()) {
+                if (channel.getPort() == udpDestination.getPort()) {
+                    channel.enqueue(origin, copy(data, offset, count));
+                }
+            }
+        } else {
+            LoopbackCommunicationChannel channel =
+                    this.endpoints.get(new InetSocketAddress(destinationAddress, udpDestination.getPort()));
+            if (null != channel) {
+                channel.enqueue(origin, copy(data, offset, count));
+            }
+        }
+
+    }
+
+
+    /** Every receiver gets its own copy: the sender may reuse its buffer. */
+    private static byte[] copy(byte[] data, int offset, int count) {
+        byte[] datagram = new byte[count];
+        System.arraycopy(data, offset, datagram, 0, count);
+        return datagram;
+    }
+
+}
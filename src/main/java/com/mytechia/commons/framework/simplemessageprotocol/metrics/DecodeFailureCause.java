@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+
+/**
+ *  Reasons why a received byte[] could not be decoded into a Command.
+ */
+public enum DecodeFailureCause {
+
+    INIT_BYTE, HEADER_CHECKSUM, DATA_CHECKSUM, UNKNOWN_TYPE, SHORT_MESSAGE, PAYLOAD;
+
+
+    /**
+     * Finds out why a message was rejected by its builder. It is only called
+     * after a decoding failure, so it can afford to re-check the whole message.
+     *
+     * @param data received message
+     * @param length number of valid bytes in data
+     * @return the cause of the failure
+     */
+    public static DecodeFailureCause classify(byte[] data, int length) {
+
+        if (data == null || length < Command.COMMAND_HEADER_SIZE) {
+            return SHORT_MESSAGE;
+        }
+        if (data[Command.INIT_BYTE_INDEX] != Command.INIT_BYTE) {
+            return INIT_BYTE;
+        }
+        if (xor(data, 0, Command.HEADER_CHECKSUM_INDEX) != data[Command.HEADER_CHECKSUM_INDEX]) {
+            return HEADER_CHECKSUM;
+        }
+
+        // the header does not carry its endianness, try both interpretations
+        int littleSize = (data[Command.DATA_SIZE_INDEX] & 0xFF) | ((data[Command.DATA_SIZE_INDEX + 1] & 0xFF) << 8);
+        int bigSize = ((data[Command.DATA_SIZE_INDEX] & 0xFF) << 8) | (data[Command.DATA_SIZE_INDEX + 1] & 0xFF);
+
+        boolean littleFits = fits(littleSize, length);
+        boolean bigFits = fits(bigSize, length);
+
+        if (!littleFits && !bigFits) {
+            return SHORT_MESSAGE;
+        }
+        if ((littleFits && dataChecksumOk(data, littleSize)) || (bigFits && dataChecksumOk(data, bigSize))) {
+            return PAYLOAD;
+        }
+        return DATA_CHECKSUM;
+
+    }
+
+
+    private static boolean fits(int dataSize, int length) {
+        if (dataSize == 0) {
+            return true;
+        }
+        return Command.DATA_INDEX + dataSize + Command.DATA_CHECKSUM_SIZE <= length;
+    }
+
+
+    private static boolean dataChecksumOk(byte[] data, int dataSize) {
+        if (dataSize == 0) {
+            return true;
+        }
+        return xor(data, Command.DATA_INDEX, dataSize) == data[Command.DATA_INDEX + dataSize];
+    }
+
+
+    private static byte xor(byte[] data, int offset, int length) {
+        byte check = 0;
+        for (int i = offset; i < offset + length; i++) {
+            check ^= data[i];
+        }
+        return check;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+/**
+ *  Metrics SPI used by channels and by the MessageFactory to report what
+ *  happens on the wire. Implementations are called from the send and receive
+ *  hot paths, so every method must be cheap and must not block.
+ *
+ *  NullProtocolMetrics is the default (disabled) implementation and
+ *  ProtocolMetrics is the default recording one, exposed through JMX.
+ */
+public interface IProtocolMetrics {
+
+    /**
+     * @return false if the implementation discards everything, so callers can
+     *         skip taking timestamps
+     */
+    boolean isEnabled();
+
+    void messageSent(byte commandType, int sizeInBytes);
+
+    void messageReceived(byte commandType, int sizeInBytes);
+
+    void decodeFailed(DecodeFailureCause cause);
+
+    void sendError();
+
+    void receiveError();
+
+    void encodeLatency(long nanos);
+
+    void decodeLatency(long nanos);
+
+}
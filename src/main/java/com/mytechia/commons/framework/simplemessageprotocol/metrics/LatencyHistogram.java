@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  Log-linear histogram of latencies in nanoseconds.
+ *
+ *  Every power of two is divided in 4 buckets, so the reported percentiles
+ *  have a maximum relative error of 25%. Like StripedCounter, the buckets are
+ *  replicated per stripe of threads so that recording does not contend.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Row size of a stripe, rounded to keep stripes in different cache lines. */
+    private static final int ROW = BUCKETS + StripedCounter.PADDING;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(StripedCounter.STRIPES * ROW);
+
+    private final StripedCounter totalNanos = new StripedCounter();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (value < 0) ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + mantissa;
+    }
+
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        int mantissa = index & (SUB_BUCKETS - 1);
+        long lower = (long) (SUB_BUCKETS + mantissa) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+
+    public void record(long nanos) {
+        this.buckets.getAndIncrement(StripedCounter.stripeIndex() * ROW + bucketIndex(nanos));
+        this.totalNanos.add(nanos);
+
+        long max = this.maxNanos.get();
+        while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+            max = this.maxNanos.get();
+        }
+    }
+
+
+    private long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int stripe = 0; stripe < StripedCounter.STRIPES; stripe++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += this.buckets.get(stripe * ROW + i);
+            }
+        }
+        return counts;
+    }
+
+
+    public long getCount() {
+        long count = 0;
+        for (long bucketCount : snapshot()) {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return (count == 0) ? 0 : (double) this.totalNanos.sum() / count;
+    }
+
+
+    /**
+     * @param quantile value between 0 and 1 (0.99 for the 99th percentile)
+     * @return upper bound of the bucket that contains the quantile, 0 if empty
+     */
+    public long getValueAtQuantile(double quantile) {
+
+        long[] counts = snapshot();
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(quantile * count));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += counts[i];
+            if (accumulated >= target) {
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+
+    }
+
+
+    public void reset() {
+        for (int i = 0; i < this.buckets.length(); i++) {
+            this.buckets.set(i, 0);
+        }
+        this.totalNanos.reset();
+        this.maxNanos.set(0);
+    }
+
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+/**
+ *  IProtocolMetrics implementation that discards everything.
+ *  It is the default metrics instance of channels and factories.
+ */
+public final class NullProtocolMetrics implements IProtocolMetrics {
+
+    public static final NullProtocolMetrics INSTANCE = new NullProtocolMetrics();
+
+
+    private NullProtocolMetrics() {
+    }
+
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void messageSent(byte commandType, int sizeInBytes) {
+    }
+
+    @Override
+    public void messageReceived(byte commandType, int sizeInBytes) {
+    }
+
+    @Override
+    public void decodeFailed(DecodeFailureCause cause) {
+    }
+
+    @Override
+    public void sendError() {
+    }
+
+    @Override
+    public void receiveError() {
+    }
+
+    @Override
+    public void encodeLatency(long nanos) {
+    }
+
+    @Override
+    public void decodeLatency(long nanos) {
+    }
+
+}
@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *  Default IProtocolMetrics implementation. It keeps striped counters per
+ *  command type and latency histograms, and it can be published in the
+ *  platform MBean server with registerMBean().
+ *
+ *  The same instance can be shared by several channels and factories.
+ */
+public class ProtocolMetrics implements IProtocolMetrics, ProtocolMetricsMBean {
+
+    public static final String JMX_DOMAIN = "com.mytechia.simplemessageprotocol";
+
+    private static final int COMMAND_TYPES = 256;
+
+    private final AtomicReferenceArray<TypeCounters> typeCounters = new AtomicReferenceArray<>(COMMAND_TYPES);
+
+    private final StripedCounter[] decodeFailures = new StripedCounter[DecodeFailureCause.values().length];
+
+    private final StripedCounter sendErrors = new StripedCounter();
+
+    private final StripedCounter receiveErrors = new StripedCounter();
+
+    private final LatencyHistogram encodeLatency = new LatencyHistogram();
+
+    private final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+    private ObjectName objectName = null;
+
+
+    public ProtocolMetrics() {
+        for (int i = 0; i < this.decodeFailures.length; i++) {
+            this.decodeFailures[i] = new StripedCounter();
+        }
+    }
+
+
+    /**
+     * Registers this instance in the platform MBean server with the object name
+     * "com.mytechia.simplemessageprotocol:type=ProtocolMetrics,name=<i>name</i>".
+     *
+     * @param name name that identifies these metrics (i.e. the channel name)
+     * @return the object name used in the registration
+     * @throws JMException
+     */
+    public synchronized ObjectName registerMBean(String name) throws JMException {
+        unregisterMBean();
+        ObjectName newName = new ObjectName(JMX_DOMAIN + ":type=ProtocolMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        this.objectName = newName;
+        return newName;
+    }
+
+
+    public synchronized void unregisterMBean() throws JMException {
+        if (null != this.objectName) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+            this.objectName = null;
+        }
+    }
+
+
+    private TypeCounters countersOf(byte commandType) {
+        int index = commandType & 0xFF;
+        TypeCounters counters = this.typeCounters.get(index);
+        if (null == counters) {
+            this.typeCounters.compareAndSet(index, null, new TypeCounters());
+            counters = this.typeCounters.get(index);
+        }
+        return counters;
+    }
+
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void messageSent(byte commandType, int sizeInBytes) {
+        TypeCounters counters = countersOf(commandType);
+        counters.messagesSent.increment();
+        counters.bytesSent.add(sizeInBytes);
+    }
+
+    @Override
+    public void messageReceived(byte commandType, int sizeInBytes) {
+        TypeCounters counters = countersOf(commandType);
+        counters.messagesReceived.increment();
+        counters.bytesReceived.add(sizeInBytes);
+    }
+
+    @Override
+    public void decodeFailed(DecodeFailureCause cause) {
+        this.decodeFailures[cause.ordinal()].increment();
+    }
+
+    @Override
+    public void sendError() {
+        this.sendErrors.increment();
+    }
+
+    @Override
+    public void receiveError() {
+        this.receiveErrors.increment();
+    }
+
+    @Override
+    public void encodeLatency(long nanos) {
+        this.encodeLatency.record(nanos);
+    }
+
+    @Override
+    public void decodeLatency(long nanos) {
+        this.decodeLatency.record(nanos);
+    }
+
+
+    public LatencyHistogram getEncodeLatency() {
+        return this.encodeLatency;
+    }
+
+
+    public LatencyHistogram getDecodeLatency() {
+        return this.decodeLatency;
+    }
+
+
+    public long getDecodeFailures(DecodeFailureCause cause) {
+        return this.decodeFailures[cause.ordinal()].sum();
+    }
+
+
+    private long sumOverTypes(int counter) {
+        long sum = 0;
+        for (int i = 0; i < COMMAND_TYPES; i++) {
+            TypeCounters counters = this.typeCounters.get(i);
+            if (null != counters) {
+                sum += counters.get(counter);
+            }
+        }
+        return sum;
+    }
+
+
+    private long ofType(int commandType, int counter) {
+        TypeCounters counters = this.typeCounters.get(commandType & 0xFF);
+        return (null == counters) ? 0 : counters.get(counter);
+    }
+
+
+    @Override
+    public long getMessagesSent() {
+        return sumOverTypes(TypeCounters.MESSAGES_SENT);
+    }
+
+    @Override
+    public long getBytesSent() {
+        return sumOverTypes(TypeCounters.BYTES_SENT);
+    }
+
+    @Override
+    public long getMessagesReceived() {
+        return sumOverTypes(TypeCounters.MESSAGES_RECEIVED);
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return sumOverTypes(TypeCounters.BYTES_RECEIVED);
+    }
+
+    @Override
+    public long getSendErrors() {
+        return this.sendErrors.sum();
+    }
+
+    @Override
+    public long getReceiveErrors() {
+        return this.receiveErrors.sum();
+    }
+
+    @Override
+    public long getInitByteFailures() {
+        return getDecodeFailures(DecodeFailureCause.INIT_BYTE);
+    }
+
+    @Override
+    public long getHeaderChecksumFailures() {
+        return getDecodeFailures(DecodeFailureCause.HEADER_CHECKSUM);
+    }
+
+    @Override
+    public long getDataChecksumFailures() {
+        return getDecodeFailures(DecodeFailureCause.DATA_CHECKSUM);
+    }
+
+    @Override
+    public long getUnknownTypeFailures() {
+        return getDecodeFailures(DecodeFailureCause.UNKNOWN_TYPE);
+    }
+
+    @Override
+    public long getShortMessageFailures() {
+        return getDecodeFailures(DecodeFailureCause.SHORT_MESSAGE);
+    }
+
+    @Override
+    public long getPayloadFailures() {
+        return getDecodeFailures(DecodeFailureCause.PAYLOAD);
+    }
+
+    @Override
+    public long getEncodeLatencyP50() {
+        return this.encodeLatency.getValueAtQuantile(0.5);
+    }
+
+    @Override
+    public long getEncodeLatencyP99() {
+        return this.encodeLatency.getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public long getEncodeLatencyMax() {
+        return this.encodeLatency.getMaxNanos();
+    }
+
+    @Override
+    public long getDecodeLatencyP50() {
+        return this.decodeLatency.getValueAtQuantile(0.5);
+    }
+
+    @Override
+    public long getDecodeLatencyP99() {
+        return this.decodeLatency.getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public long getDecodeLatencyMax() {
+        return this.decodeLatency.getMaxNanos();
+    }
+
+    @Override
+    public long getMessagesSentOfType(int commandType) {
+        return ofType(commandType, TypeCounters.MESSAGES_SENT);
+    }
+
+    @Override
+    public long getBytesSentOfType(int commandType) {
+        return ofType(commandType, TypeCounters.BYTES_SENT);
+    }
+
+    @Override
+    public long getMessagesReceivedOfType(int commandType) {
+        return ofType(commandType, TypeCounters.MESSAGES_RECEIVED);
+    }
+
+    @Override
+    public long getBytesReceivedOfType(int commandType) {
+        return ofType(commandType, TypeCounters.BYTES_RECEIVED);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < COMMAND_TYPES; i++) {
+            this.typeCounters.set(i, null);
+        }
+        for (StripedCounter counter : this.decodeFailures) {
+            counter.reset();
+        }
+        this.sendErrors.reset();
+        this.receiveErrors.reset();
+        this.encodeLatency.reset();
+        this.decodeLatency.reset();
+    }
+
+
+    private static final class TypeCounters {
+
+        static final int MESSAGES_SENT = 0;
+        static final int BYTES_SENT = 1;
+        static final int MESSAGES_RECEIVED = 2;
+        static final int BYTES_RECEIVED = 3;
+
+        final StripedCounter messagesSent = new StripedCounter();
+        final StripedCounter bytesSent = new StripedCounter();
+        final StripedCounter messagesReceived = new StripedCounter();
+        final StripedCounter bytesReceived = new StripedCounter();
+
+        long get(int counter) {
+            switch (counter) {
+                case MESSAGES_SENT:
+                    return this.messagesSent.sum();
+                case BYTES_SENT:
+                    return this.bytesSent.sum();
+                case MESSAGES_RECEIVED:
+                    return this.messagesReceived.sum();
+                default:
+                    return this.bytesReceived.sum();
+            }
+        }
+
+    }
+
+}
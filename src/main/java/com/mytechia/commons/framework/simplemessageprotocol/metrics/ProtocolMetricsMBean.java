@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+/**
+ *  JMX management interface of ProtocolMetrics.
+ *  Latencies are reported in nanoseconds.
+ */
+public interface ProtocolMetricsMBean {
+
+    long getMessagesSent();
+
+    long getBytesSent();
+
+    long getMessagesReceived();
+
+    long getBytesReceived();
+
+    long getSendErrors();
+
+    long getReceiveErrors();
+
+    long getInitByteFailures();
+
+    long getHeaderChecksumFailures();
+
+    long getDataChecksumFailures();
+
+    long getUnknownTypeFailures();
+
+    long getShortMessageFailures();
+
+    long getPayloadFailures();
+
+    long getEncodeLatencyP50();
+
+    long getEncodeLatencyP99();
+
+    long getEncodeLatencyMax();
+
+    long getDecodeLatencyP50();
+
+    long getDecodeLatencyP99();
+
+    long getDecodeLatencyMax();
+
+    long getMessagesSentOfType(int commandType);
+
+    long getBytesSentOfType(int commandType);
+
+    long getMessagesReceivedOfType(int commandType);
+
+    long getBytesReceivedOfType(int commandType);
+
+    void reset();
+
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  A counter split in several cells so that threads updating it concurrently
+ *  do not fight for the same cache line (the library targets Java 7, so
+ *  java.util.concurrent.atomic.LongAdder is not available).
+ *
+ *  Each thread is mapped to a cell by its id. Reading the value sums all the
+ *  cells, so reads are slower than writes and are not an atomic snapshot.
+ */
+public class StripedCounter {
+
+    /** Distance in longs between two cells: one 64 byte cache line. */
+    static final int PADDING = 8;
+
+    static final int STRIPES = stripesFor(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+
+    static int stripesFor(int processors) {
+        int stripes = 1;
+        while (stripes < processors * 2 && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+
+    static int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 16) & (STRIPES - 1);
+    }
+
+
+    public void increment() {
+        add(1);
+    }
+
+
+    public void add(long value) {
+        this.cells.getAndAdd(stripeIndex() * PADDING, value);
+    }
+
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += this.cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+
+    public void reset() {
+        for (int i = 0; i < STRIPES; i++) {
+            this.cells.set(i * PADDING, 0);
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.relay;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Forwards messages between channels following a RoutingTable, without
+ *  decoding them.
+ *
+ *  Each input channel is read by its own thread into a reusable buffer. The
+ *  header of the message is checked (init byte, header checksum and length)
+ *  and the route is chosen with the header fields and the origin address.
+ *  The header fields rewritten by the route are patched in the buffer,
+ *  updating the header checksum incrementally, and the same bytes are sent
+ *  to the destinations. The data field is neither decoded nor verified.
+ */
+public class MessageRelay {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(MessageRelay.class);
+
+    private volatile RoutingTable routingTable;
+
+    private final Endianness endianness;
+
+    private final List<Thread> readers = new ArrayList<>();
+
+    private volatile boolean running = false;
+
+    private final AtomicLong unroutedMessages = new AtomicLong();
+
+    private final AtomicLong invalidMessages = new AtomicLong();
+
+    private final AtomicLong forwardErrors = new AtomicLong();
+
+
+    public MessageRelay(RoutingTable routingTable) {
+        this(routingTable, Endianness.LITTLE_ENDIAN);
+    }
+
+
+    /**
+     * @param routingTable routes of the relay
+     * @param endianness endianness of the 2 byte header fields
+     */
+    public MessageRelay(RoutingTable routingTable, Endianness endianness) {
+        this.routingTable = routingTable;
+        this.endianness = endianness;
+    }
+
+
+    public RoutingTable getRoutingTable() {
+        return this.routingTable;
+    }
+
+
+    /**
+     * Replaces the routes; the messages being relayed finish with the old table.
+     */
+    public void setRoutingTable(RoutingTable routingTable) {
+        this.routingTable = routingTable;
+    }
+
+
+    public long getUnroutedMessages() {
+        return this.unroutedMessages.get();
+    }
+
+
+    public long getInvalidMessages() {
+        return this.invalidMessages.get();
+    }
+
+
+    public long getForwardErrors() {
+        return this.forwardErrors.get();
+    }
+
+
+    /**
+     * Routes and forwards one encoded message. Its header may be rewritten in place.
+     *
+     * @return the route used, null if the message was invalid or not routed
+     */
+    public Route relay(byte[] message, int offset, int length, IAddress origin) throws CommunicationException {
+
+        if (!CommandHeader.isValid(message, offset, length, this.endianness)) {
+            this.invalidMessages.incrementAndGet();
+            return null;
+        }
+
+        Route route = this.routingTable.route(message, offset, origin);
+        if (null == route) {
+            this.unroutedMessages.incrementAndGet();
+            return null;
+        }
+
+        route.forward(message, offset, CommandHeader.getMessageSize(message, offset, this.endianness), this.endianness);
+        return route;
+
+    }
+
+
+    /**
+     * Starts a thread that relays the messages received by the channel.
+     * It can be called for several input channels.
+     */
+    public synchronized void addInput(final INetworkBasicCommunicationChannel channel, String threadName) {
+
+        this.running = true;
+
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readLoop(channel);
+            }
+        }, threadName);
+        reader.setDaemon(true);
+        this.readers.add(reader);
+        reader.start();
+
+    }
+
+
+    /**
+     * Stops the input threads once their channels return from the current receive.
+     */
+    public synchronized void stop() {
+        this.running = false;
+        for (Thread reader : this.readers) {
+            reader.interrupt();
+        }
+        this.readers.clear();
+    }
+
+
+    private void readLoop(INetworkBasicCommunicationChannel channel) {
+
+        byte[] buffer = new byte[Command.MAX_MESSAGE_SIZE];
+
+        while (this.running) {
+
+            ReceiveResult result;
+            try {
+                result = channel.receive(buffer, 0, buffer.length);
+            } catch (TimeoutException ex) {
+                continue;
+            } catch (CommunicationException ex) {
+                if (this.running) {
+                    LOGGER.error(MessageRelay.class.getSimpleName() + ".readLoop", ex);
+                }
+                break;
+            }
+
+            try {
+                relay(buffer, 0, result.getMsgLength(), result.getOrigin());
+            } catch (CommunicationException ex) {
+                this.forwardErrors.incrementAndGet();
+                LOGGER.warn(MessageRelay.class.getSimpleName() + ".relay", ex);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.relay;
+
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  A rule of a RoutingTable: which messages it matches and where they are
+ *  forwarded, with the header fields to rewrite on the way.
+ *
+ *  A message matches when its command type, the id of its origin address
+ *  and its error code match the ones given to matchType(), matchSource()
+ *  and matchErrorCode(); the fields not given match anything. The message
+ *  is forwarded to every destination added with forwardTo().
+ */
+public class Route {
+
+    private final String name;
+
+    private byte[] commandTypes = null;
+
+    private String sourceId = null;
+
+    private boolean matchErrorCode = false;
+
+    private byte errorCode;
+
+    private boolean rewriteSequenceNumber = false;
+
+    private final AtomicInteger nextSequenceNumber = new AtomicInteger();
+
+    private boolean rewriteErrorCode = false;
+
+    private byte newErrorCode;
+
+    private final List<Destination> destinations = new ArrayList<>();
+
+    private final AtomicLong forwardedMessages = new AtomicLong();
+
+
+    public Route(String name) {
+        this.name = name;
+    }
+
+
+    public String getName() {
+        return this.name;
+    }
+
+
+    public Route matchType(byte... commandTypes) {
+        this.commandTypes = commandTypes.clone();
+        return this;
+    }
+
+
+    public Route matchSource(IAddress source) {
+        this.sourceId = source.getId();
+        return this;
+    }
+
+
+    public Route matchErrorCode(byte errorCode) {
+        this.matchErrorCode = true;
+        this.errorCode = errorCode;
+        return this;
+    }
+
+
+    public Route forwardTo(INetworkBasicCommunicationChannel channel, IAddress destination) {
+        this.destinations.add(new Destination(channel, destination));
+        return this;
+    }
+
+
+    /**
+     * Gives the forwarded messages consecutive sequence numbers of this route,
+     * starting at firstSequenceNumber.
+     */
+    public Route rewriteSequenceNumber(int firstSequenceNumber) {
+        this.rewriteSequenceNumber = true;
+        this.nextSequenceNumber.set(firstSequenceNumber);
+        return this;
+    }
+
+
+    public Route rewriteErrorCode(byte errorCode) {
+        this.rewriteErrorCode = true;
+        this.newErrorCode = errorCode;
+        return this;
+    }
+
+
+    public long getForwardedMessages() {
+        return this.forwardedMessages.get();
+    }
+
+
+    /** Command types matched, null for any. */
+    byte[] getCommandTypes() {
+        return this.commandTypes;
+    }
+
+
+    boolean matches(byte[] message, int offset, IAddress origin) {
+
+        if (this.matchErrorCode && CommandHeader.getErrorCode(message, offset) != this.errorCode) {
+            return false;
+        }
+        return (null == this.sourceId) || (null != origin && this.sourceId.equals(origin.getId()));
+
+    }
+
+
+    /**
+     * Rewrites the header fields of the route in place and sends the message
+     * to every destination.
+     */
+    void forward(byte[] message, int offset, int length, Endianness endianness) throws CommunicationException {
+
+        if (this.rewriteErrorCode) {
+            CommandHeader.setErrorCode(message, offset, this.newErrorCode);
+        }
+
+        if (this.rewriteSequenceNumber) {
+            int sequenceNumber = this.nextSequenceNumber.getAndIncrement() & 0xFFFF;
+            CommandHeader.setSequenceNumber(message, offset, sequenceNumber, endianness);
+        }
+
+        for (Destination destination : this.destinations) {
+            destination.channel.send(destination.address, message, offset, length);
+        }
+        this.forwardedMessages.incrementAndGet();
+
+    }
+
+
+    private static final class Destination {
+
+        final INetworkBasicCommunicationChannel channel;
+
+        final IAddress address;
+
+        Destination(INetworkBasicCommunicationChannel channel, IAddress address) {
+            this.channel = channel;
+            this.address = address;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.relay;
+
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  Ordered list of routes compiled into a 256 entry array indexed by command
+ *  type, so only the routes that can match the type of a message are
+ *  checked. The first matching route wins.
+ *
+ *  A table is immutable; to change the routes of a MessageRelay, build a new
+ *  table and set it.
+ */
+public class RoutingTable {
+
+    private static final int COMMAND_TYPES = 256;
+
+    private static final Route[] NO_ROUTES = new Route[0];
+
+    private final Route[][] routesByType = new Route[COMMAND_TYPES][];
+
+    private final List<Route> routes;
+
+
+    public RoutingTable(List<Route> routes) {
+
+        this.routes = new ArrayList<>(routes);
+
+        List<List<Route>> compiled = new ArrayList<>(COMMAND_TYPES);
+        for (int i = 0; i < COMMAND_TYPES; i++) {
+            compiled.add(new ArrayList<Route>());
+        }
+
+        for (Route route : this.routes) {
+            byte[] commandTypes = route.getCommandTypes();
+            if (null == commandTypes) {
+                for (List<Route> typeRoutes : compiled) {
+                    typeRoutes.add(route);
+                }
+            } else {
+                for (byte commandType : commandTypes) {
+                    List<Route> typeRoutes = compiled.get(commandType & 0xFF);
+                    if (!typeRoutes.contains(route)) {
+                        typeRoutes.add(route);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < COMMAND_TYPES; i++) {
+            List<Route> typeRoutes = compiled.get(i);
+            this.routesByType[i] = typeRoutes.isEmpty() ? NO_ROUTES : typeRoutes.toArray(new Route[typeRoutes.size()]);
+        }
+
+    }
+
+
+    public List<Route> getRoutes() {
+        return new ArrayList<>(this.routes);
+    }
+
+
+    /**
+     * @return the first route that matches the encoded message, null if none
+     */
+    public Route route(byte[] message, int offset, IAddress origin) {
+        for (Route route : this.routesByType[CommandHeader.getCommandType(message, offset) & 0xFF]) {
+            if (route.matches(message, offset, origin)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+}
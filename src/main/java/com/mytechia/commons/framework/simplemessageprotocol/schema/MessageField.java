@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.schema;
+
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFieldType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ *  A field of a command annotated with MessageSchema. Fields are encoded in
+ *  the order given, with the same format MessageCoder uses for their type.
+ *  The field can not be private, because the generated codec accesses it.
+ *
+ *  Java types of each MessageFieldType:
+ *
+ *  BYTE byte, SHORT short, USHORT int, INT int, UINT long, LONG long,
+ *  DOUBLE double, STRING String, BYTEARRAY byte[]
+ *
+ *  A numeric field with a length is an array of that many elements (i.e.
+ *  double[] with DOUBLE and length 8), like the write...Array() methods of
+ *  MessageCoder. A BYTEARRAY with a length has that fixed size; without a
+ *  length it is preceded by its size, like MessageCoder.writeByteArrayWithSize().
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface MessageField {
+
+    /** Position of the field in the data of the message, unique in the command. */
+    int order();
+
+    MessageFieldType type();
+
+    /** Elements of an array field, or size of a fixed BYTEARRAY; 0 for a single value. */
+    int length() default 0;
+
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.schema;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ *  Declares the wire layout of a Command subclass. The annotation processor
+ *  of simple-message-protocol-codegen generates, in the same package, a
+ *  class named after the command with the Codec suffix, that encodes and
+ *  decodes the fields annotated with MessageField and contains the
+ *  IMessageBuilder of the command.
+ *
+ *  The command delegates its data coding to the generated codec:
+ *
+ *  protected byte[] codeMessageData() { return StatusCommandCodec.encodeData(this); }
+ *
+ *  protected int decodeMessageData(byte[] bytes, int initIndex) throws MessageFormatException {
+ *      return StatusCommandCodec.decodeData(this, bytes, initIndex);
+ *  }
+ *
+ *  The command must have a constructor that receives the encoded message
+ *  (byte[]), used by the builder. Command decodes the message from its own
+ *  constructor, before the field initializers of the subclass run, so the
+ *  annotated fields must not have initializers.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface MessageSchema {
+
+    /** Command type byte. */
+    byte type();
+
+    /** Endianness of the multi-byte fields, it must match the one given to Command. */
+    Endianness endianness() default Endianness.LITTLE_ENDIAN;
+
+}
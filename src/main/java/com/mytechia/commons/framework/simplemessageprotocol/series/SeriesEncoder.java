@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.series;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ *  Compresses a series of (timestamp, value) samples for a SERIES field.
+ *
+ *  The format is a bit stream, most significant bits first:
+ *  - the number of samples, 16 bits;
+ *  - the first timestamp and the bits of the first value, 64 bits each;
+ *  - for the following samples, the delta of the timestamp delta:
+ *    '0' if it is 0, '10' + 7 bits, '110' + 9 bits or '1110' + 12 bits
+ *    (two's complement) if it fits, and '1111' + 64 bits otherwise;
+ *  - and the XOR of the value bits with the previous ones: '0' if it is 0,
+ *    '10' + the meaningful bits if they fit in the window of the previous
+ *    XOR, and '11' + 5 bits of leading zeros + 6 bits of length - 1 + the
+ *    meaningful bits otherwise.
+ *
+ *  Samples taken at a regular rate take 1 bit per timestamp, and slowly
+ *  changing values take a few bits each. The stream does not depend on the
+ *  endianness of the message. An encoder can be reset and reused.
+ */
+public class SeriesEncoder {
+
+    public static final int MAX_SAMPLES = 0xFFFF;
+
+    static final int COUNT_BITS = 16;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private byte[] bytes;
+
+    private int bitPosition;
+
+    private int sampleCount;
+
+    private long previousTimestamp;
+
+    private long previousDelta;
+
+    private long previousBits;
+
+    private int previousLeading;
+
+    private int previousTrailing;
+
+
+    public SeriesEncoder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * @param capacity initial size in bytes of the buffer, it grows as needed
+     */
+    public SeriesEncoder(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 2)];
+        reset();
+    }
+
+
+    public final SeriesEncoder reset() {
+        Arrays.fill(this.bytes, 0, getSizeInBytes(), (byte) 0);
+        this.bitPosition = COUNT_BITS;
+        this.sampleCount = 0;
+        this.previousDelta = 0;
+        this.previousLeading = -1;
+        this.previousTrailing = 0;
+        return this;
+    }
+
+
+    /**
+     * @throws IllegalStateException if the series already has MAX_SAMPLES samples
+     */
+    public SeriesEncoder add(long timestamp, double value) {
+
+        if (this.sampleCount == MAX_SAMPLES) {
+            throw new IllegalStateException("A series can not have more than " + MAX_SAMPLES + " samples");
+        }
+
+        long bits = Double.doubleToLongBits(value);
+
+        if (this.sampleCount == 0) {
+            writeBits(timestamp, 64);
+            writeBits(bits, 64);
+        } else {
+            long delta = timestamp - this.previousTimestamp;
+            writeDeltaOfDelta(delta - this.previousDelta);
+            writeXor(bits ^ this.previousBits);
+            this.previousDelta = delta;
+        }
+
+        this.previousTimestamp = timestamp;
+        this.previousBits = bits;
+        this.sampleCount++;
+        this.bytes[0] = (byte) (this.sampleCount >>> 8);
+        this.bytes[1] = (byte) this.sampleCount;
+
+        return this;
+
+    }
+
+
+    public SeriesEncoder addAll(long[] timestamps, double[] values) {
+        if (timestamps.length != values.length) {
+            throw new IllegalArgumentException("There are " + timestamps.length + " timestamps and " + values.length + " values");
+        }
+        for (int i = 0; i < timestamps.length; i++) {
+            add(timestamps[i], values[i]);
+        }
+        return this;
+    }
+
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writeBits(0, 1);
+        } else if (fits(deltaOfDelta, 7)) {
+            writeBits(0x2, 2);
+            writeBits(deltaOfDelta, 7);
+        } else if (fits(deltaOfDelta, 9)) {
+            writeBits(0x6, 3);
+            writeBits(deltaOfDelta, 9);
+        } else if (fits(deltaOfDelta, 12)) {
+            writeBits(0xE, 4);
+            writeBits(deltaOfDelta, 12);
+        } else {
+            writeBits(0xF, 4);
+            writeBits(deltaOfDelta, 64);
+        }
+    }
+
+
+    private static boolean fits(long value, int bits) {
+        return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+    }
+
+
+    private void writeXor(long xor) {
+
+        if (xor == 0) {
+            writeBits(0, 1);
+            return;
+        }
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if (this.previousLeading >= 0 && leading >= this.previousLeading && trailing >= this.previousTrailing) {
+            writeBits(0x2, 2);
+            writeBits(xor >>> this.previousTrailing, 64 - this.previousLeading - this.previousTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            writeBits(0x3, 2);
+            writeBits(leading, 5);
+            writeBits(meaningful - 1, 6);
+            writeBits(xor >>> trailing, meaningful);
+            this.previousLeading = leading;
+            this.previousTrailing = trailing;
+        }
+
+    }
+
+
+    /** Writes the lowest bits of the value, the most significant first. */
+    private void writeBits(long value, int bits) {
+
+        int required = (this.bitPosition + bits + 7) >>> 3;
+        if (required > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(required, this.bytes.length * 2));
+        }
+
+        while (bits > 0) {
+            int free = 8 - (this.bitPosition & 7);
+            int n = Math.min(free, bits);
+            int chunk = (int) (value >>> (bits - n)) & ((1 << n) - 1);
+            this.bytes[this.bitPosition >>> 3] |= (byte) (chunk << (free - n));
+            bits -= n;
+            this.bitPosition += n;
+        }
+
+    }
+
+
+    public int getSampleCount() {
+        return this.sampleCount;
+    }
+
+
+    /**
+     * @return size of the compressed series
+     */
+    public int getSizeInBytes() {
+        return (this.bitPosition + 7) >>> 3;
+    }
+
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.bytes, getSizeInBytes());
+    }
+
+
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(this.bytes, 0, getSizeInBytes());
+    }
+
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.series;
+
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+
+/**
+ *  Streaming decoder of a series compressed by SeriesEncoder. It reads the
+ *  samples one by one from the encoded bytes, without copying them and
+ *  without building arrays:
+ *
+ *  while (reader.next()) {
+ *      use(reader.getTimestamp(), reader.getValue());
+ *  }
+ */
+public class SeriesReader {
+
+    private final byte[] data;
+
+    private final int offset;
+
+    private final int limitBits;
+
+    private final int sampleCount;
+
+    private int bitPosition;
+
+    private int samplesRead;
+
+    private long timestamp;
+
+    private long delta;
+
+    private long bits;
+
+    private int leading;
+
+    private int trailing;
+
+
+    /**
+     * @throws MessageFormatException if the data is too short for the sample count
+     */
+    public SeriesReader(byte[] data, int offset, int length) throws MessageFormatException {
+        if (length < 2 || offset + length > data.length) {
+            throw new MessageFormatException("Series data too short");
+        }
+        this.data = data;
+        this.offset = offset;
+        this.limitBits = length * 8;
+        this.sampleCount = ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+        rewind();
+    }
+
+
+    public SeriesReader(byte[] data) throws MessageFormatException {
+        this(data, 0, data.length);
+    }
+
+
+    /** Goes back before the first sample. */
+    public final SeriesReader rewind() {
+        this.bitPosition = SeriesEncoder.COUNT_BITS;
+        this.samplesRead = 0;
+        this.delta = 0;
+        this.leading = 0;
+        this.trailing = 0;
+        return this;
+    }
+
+
+    public int getSampleCount() {
+        return this.sampleCount;
+    }
+
+
+    /**
+     * Decodes the next sample.
+     *
+     * @return false if there are no more samples
+     * @throws MessageFormatException if the data ends before the last sample
+     */
+    public boolean next() throws MessageFormatException {
+
+        if (this.samplesRead == this.sampleCount) {
+            return false;
+        }
+
+        if (this.samplesRead == 0) {
+            this.timestamp = readBits(64);
+            this.bits = readBits(64);
+        } else {
+            this.delta += readDeltaOfDelta();
+            this.timestamp += this.delta;
+            readXor();
+        }
+
+        this.samplesRead++;
+        return true;
+
+    }
+
+
+    private long readDeltaOfDelta() throws MessageFormatException {
+        if (readBits(1) == 0) {
+            return 0;
+        }
+        if (readBits(1) == 0) {
+            return signed(readBits(7), 7);
+        }
+        if (readBits(1) == 0) {
+            return signed(readBits(9), 9);
+        }
+        if (readBits(1) == 0) {
+            return signed(readBits(12), 12);
+        }
+        return readBits(64);
+    }
+
+
+    private static long signed(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+
+
+    private void readXor() throws MessageFormatException {
+
+        if (readBits(1) == 0) {
+            return;
+        }
+
+        if (readBits(1) == 1) {
+            this.leading = (int) readBits(5);
+            int meaningful = (int) readBits(6) + 1;
+            this.trailing = 64 - this.leading - meaningful;
+            if (this.trailing < 0) {
+                throw new MessageFormatException("Malformed series data");
+            }
+        }
+
+        int meaningful = 64 - this.leading - this.trailing;
+        this.bits ^= readBits(meaningful) << this.trailing;
+
+    }
+
+
+    private long readBits(int count) throws MessageFormatException {
+
+        if (this.bitPosition + count > this.limitBits) {
+            throw new MessageFormatException("Series data too short for " + this.sampleCount + " samples");
+        }
+
+        long value = 0;
+        while (count > 0) {
+            int available = 8 - (this.bitPosition & 7);
+            int n = Math.min(available, count);
+            int chunk = ((this.data[this.offset + (this.bitPosition >>> 3)] & 0xFF) >>> (available - n)) & ((1 << n) - 1);
+            value = (value << n) | chunk;
+            count -= n;
+            this.bitPosition += n;
+        }
+        return value;
+
+    }
+
+
+    /**
+     * @return timestamp of the current sample
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+
+    /**
+     * @return value of the current sample
+     */
+    public double getValue() {
+        return Double.longBitsToDouble(this.bits);
+    }
+
+}
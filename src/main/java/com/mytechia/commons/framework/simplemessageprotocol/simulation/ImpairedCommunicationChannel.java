@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.simulation;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.util.TimerWheel;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel that reproduces a bad
+ *  link: it drops, delays, reorders and duplicates the datagrams it sends,
+ *  and it limits the bandwidth towards each destination.
+ *
+ *  Impairments are applied on the sending side, following the
+ *  ImpairmentProfile of the destination (or the default one). Delayed
+ *  datagrams are kept in a TimerWheel, so there is no thread per datagram.
+ *  Every random decision is taken from a seeded Random, so a run is
+ *  reproducible when the datagrams are sent in the same order. With a
+ *  TimerWheel driven by a ManualClock, and a LoopbackNetwork underneath,
+ *  minutes of traffic can be simulated in a unit test.
+ *
+ *  Receiving is delegated untouched.
+ */
+public class ImpairedCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ImpairedCommunicationChannel.class);
+
+    private static final int MIN_SWEEP_SIZE = 64;
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final TimerWheel timerWheel;
+
+    private final boolean ownTimerWheel;
+
+    private final Random random;
+
+    private final Map<String, ImpairmentProfile> profiles = new ConcurrentHashMap<>();
+
+    /** Time when the link to each destination is free, only while it is in the future. */
+    private final Map<String, Long> linkFreeTimes = new HashMap<>();
+
+    /** Size of linkFreeTimes that triggers the removal of the links already free. */
+    private int linkFreeTimesSweepSize = MIN_SWEEP_SIZE;
+
+    private volatile ImpairmentProfile defaultProfile = new ImpairmentProfile();
+
+    private final AtomicLong sentDatagrams = new AtomicLong();
+
+    private final AtomicLong droppedDatagrams = new AtomicLong();
+
+    private final AtomicLong duplicatedDatagrams = new AtomicLong();
+
+    private final AtomicLong reorderedDatagrams = new AtomicLong();
+
+
+    /**
+     * Creates the decorator with its own real time TimerWheel, already started.
+     * Call close() to stop it.
+     *
+     * @param channel decorated channel
+     * @param seed seed of the random decisions
+     */
+    public ImpairedCommunicationChannel(INetworkBasicCommunicationChannel channel, long seed) {
+        this(channel, new TimerWheel(), seed, true);
+        this.timerWheel.start();
+    }
+
+
+    /**
+     * @param channel decorated channel
+     * @param timerWheel wheel that holds the delayed datagrams; the caller drives it
+     * @param seed seed of the random decisions
+     */
+    public ImpairedCommunicationChannel(INetworkBasicCommunicationChannel channel, TimerWheel timerWheel, long seed) {
+        this(channel, timerWheel, seed, false);
+    }
+
+
+    private ImpairedCommunicationChannel(INetworkBasicCommunicationChannel channel, TimerWheel timerWheel,
+                                         long seed, boolean ownTimerWheel) {
+        this.channel = channel;
+        this.timerWheel = timerWheel;
+        this.random = new Random(seed);
+        this.ownTimerWheel = ownTimerWheel;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    public void setDefaultProfile(ImpairmentProfile profile) {
+        this.defaultProfile = profile;
+    }
+
+
+    public void setProfile(IAddress destination, ImpairmentProfile profile) {
+        this.profiles.put(destination.getId(), profile);
+    }
+
+
+    public void removeProfile(IAddress destination) {
+        this.profiles.remove(destination.getId());
+    }
+
+
+    public long getSentDatagrams() {
+        return this.sentDatagrams.get();
+    }
+
+    public long getDroppedDatagrams() {
+        return this.droppedDatagrams.get();
+    }
+
+    public long getDuplicatedDatagrams() {
+        return this.duplicatedDatagrams.get();
+    }
+
+    public long getReorderedDatagrams() {
+        return this.reorderedDatagrams.get();
+    }
+
+
+    /**
+     * Stops the TimerWheel if it was created by this channel. Datagrams still
+     * delayed are lost.
+     */
+    public void close() {
+        if (this.ownTimerWheel) {
+            this.timerWheel.stop();
+        }
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        String destination = addr.getId();
+        ImpairmentProfile profile = this.profiles.get(destination);
+        if (null == profile) {
+            profile = this.defaultProfile;
+        }
+
+        this.sentDatagrams.incrementAndGet();
+
+        long firstDelay;
+        long secondDelay = -1;
+
+        synchronized (this) {
+
+            if (this.random.nextDouble() < profile.getLoss()) {
+                this.droppedDatagrams.incrementAndGet();
+                return;
+            }
+
+            firstDelay = transmissionDelay(destination, profile, count) + propagationDelay(profile);
+
+            if (this.random.nextDouble() < profile.getDuplication()) {
+                this.duplicatedDatagrams.incrementAndGet();
+                secondDelay = transmissionDelay(destination, profile, count) + propagationDelay(profile);
+            }
+
+        }
+
+        byte[] datagram = new byte[count];
+        System.arraycopy(data, offset, datagram, 0, count);
+
+        deliver(addr, datagram, firstDelay);
+        if (secondDelay >= 0) {
+            deliver(addr, datagram, secondDelay);
+        }
+
+    }
+
+
+    /**
+     * Time the datagram waits for the link to be free plus the time it takes
+     * to transmit it at the bandwidth of the profile.
+     */
+    private long transmissionDelay(String destination, ImpairmentProfile profile, int count) {
+
+        long bandwidth = profile.getBandwidthBytesPerSecond();
+        if (bandwidth <= 0) {
+            return 0;
+        }
+
+        long now = this.timerWheel.getClock().nanoTime();
+        Long linkFreeTime = this.linkFreeTimes.get(destination);
+        long start = (null == linkFreeTime) ? now : Math.max(now, linkFreeTime);
+        long end = start + count * 1000000000L / bandwidth;
+        this.linkFreeTimes.put(destination, end);
+
+        // a link free before now is the same as no entry; swept when the map doubles, so it stays
+        // proportional to the destinations with datagrams in transit
+        if (this.linkFreeTimes.size() >= this.linkFreeTimesSweepSize) {
+            Iterator<Long> times = this.linkFreeTimes.values().iterator();
+            while (times.hasNext()) {
+                if (times.next() <= now) {
+                    times.remove();
+                }
+            }
+            this.linkFreeTimesSweepSize = Math.max(MIN_SWEEP_SIZE, 2 * this.linkFreeTimes.size());
+        }
+
+        return end - now;
+
+    }
+
+
+    private long propagationDelay(ImpairmentProfile profile) {
+
+        long delay = profile.getLatencyNanos()
+                + profile.getJitterDistribution().sample(this.random, profile.getJitterNanos());
+
+        if (this.random.nextDouble() < profile.getReorder()) {
+            this.reorderedDatagrams.incrementAndGet();
+            delay += profile.getReorderDelayNanos();
+        }
+
+        return delay;
+
+    }
+
+
+    private void deliver(final IAddress addr, final byte[] datagram, long delay) throws CommunicationException {
+
+        if (delay <= 0) {
+            this.channel.send(addr, datagram, 0, datagram.length);
+            return;
+        }
+
+        this.timerWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    channel.send(addr, datagram, 0, datagram.length);
+                } catch (CommunicationException ex) {
+                    LOGGER.warn(ImpairedCommunicationChannel.class.getSimpleName() + ".deliver", ex);
+                }
+            }
+        }, delay);
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        return this.channel.receive(data, offset, count, timeout);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return this.channel.receive(data, offset, count);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return this.channel.receive(data);
+    }
+
+
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        return this.channel.receive();
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+        return this.channel.receiveMessage();
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+}
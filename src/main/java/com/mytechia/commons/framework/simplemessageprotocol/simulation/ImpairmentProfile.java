@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Impairments applied by an ImpairedCommunicationChannel to the datagrams
+ *  sent to a destination. Setters return the profile so that it can be
+ *  configured in a single expression:
+ *
+ *  new ImpairmentProfile().setLoss(0.02).setLatency(40, TimeUnit.MILLISECONDS)
+ *      .setJitter(15, TimeUnit.MILLISECONDS, LatencyDistribution.NORMAL)
+ *
+ *  Probabilities are values between 0 and 1.
+ */
+public class ImpairmentProfile {
+
+    private double loss = 0;
+
+    private long latencyNanos = 0;
+
+    private long jitterNanos = 0;
+
+    private LatencyDistribution jitterDistribution = LatencyDistribution.CONSTANT;
+
+    private double reorder = 0;
+
+    private long reorderDelayNanos = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private double duplication = 0;
+
+    private long bandwidthBytesPerSecond = 0;
+
+
+    public ImpairmentProfile setLoss(double probability) {
+        this.loss = probability;
+        return this;
+    }
+
+
+    public ImpairmentProfile setLatency(long latency, TimeUnit unit) {
+        this.latencyNanos = unit.toNanos(latency);
+        return this;
+    }
+
+
+    public ImpairmentProfile setJitter(long jitter, TimeUnit unit, LatencyDistribution distribution) {
+        this.jitterNanos = unit.toNanos(jitter);
+        this.jitterDistribution = distribution;
+        return this;
+    }
+
+
+    /**
+     * @param probability probability of holding back a datagram so that the following ones overtake it
+     * @param delay extra delay of the held back datagrams
+     * @param unit unit of the delay
+     */
+    public ImpairmentProfile setReorder(double probability, long delay, TimeUnit unit) {
+        this.reorder = probability;
+        this.reorderDelayNanos = unit.toNanos(delay);
+        return this;
+    }
+
+
+    public ImpairmentProfile setDuplication(double probability) {
+        this.duplication = probability;
+        return this;
+    }
+
+
+    /**
+     * @param bytesPerSecond capacity of the link, 0 for unlimited
+     */
+    public ImpairmentProfile setBandwidth(long bytesPerSecond) {
+        this.bandwidthBytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+
+    public double getLoss() {
+        return this.loss;
+    }
+
+    public long getLatencyNanos() {
+        return this.latencyNanos;
+    }
+
+    public long getJitterNanos() {
+        return this.jitterNanos;
+    }
+
+    public LatencyDistribution getJitterDistribution() {
+        return this.jitterDistribution;
+    }
+
+    public double getReorder() {
+        return this.reorder;
+    }
+
+    public long getReorderDelayNanos() {
+        return this.reorderDelayNanos;
+    }
+
+    public double getDuplication() {
+        return this.duplication;
+    }
+
+    public long getBandwidthBytesPerSecond() {
+        return this.bandwidthBytesPerSecond;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.simulation;
+
+import java.util.Random;
+
+/**
+ *  Distributions used to draw the jitter added to the base latency of an
+ *  ImpairmentProfile. The jitter parameter is the spread of the distribution.
+ */
+public enum LatencyDistribution {
+
+    /** No jitter at all. */
+    CONSTANT {
+        @Override
+        long sample(Random random, long jitterNanos) {
+            return 0;
+        }
+    },
+
+    /** Uniform between 0 and jitter. */
+    UNIFORM {
+        @Override
+        long sample(Random random, long jitterNanos) {
+            return (long) (random.nextDouble() * jitterNanos);
+        }
+    },
+
+    /** Normal with mean 0 and standard deviation jitter, truncated at 0. */
+    NORMAL {
+        @Override
+        long sample(Random random, long jitterNanos) {
+            return Math.max(0, (long) (random.nextGaussian() * jitterNanos));
+        }
+    },
+
+    /** Exponential with mean jitter: mostly small delays with a long tail. */
+    EXPONENTIAL {
+        @Override
+        long sample(Random random, long jitterNanos) {
+            return (long) (-Math.log(1.0 - random.nextDouble()) * jitterNanos);
+        }
+    };
+
+
+    abstract long sample(Random random, long jitterNanos);
+
+}
@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ *  Durable FIFO of encoded messages for one destination.
+ *
+ *  Messages are appended to memory-mapped segment files
+ *  (queue-NNNNNNNNNN.smpq) and the read position is kept in a small mapped
+ *  cursor file, so the queue survives process restarts and the messages are
+ *  never encoded again. Each segment starts with MAGIC and VERSION and holds
+ *  records made of:
+ *
+ *  int    length of the message
+ *  long   enqueue time (milliseconds since the epoch)
+ *  byte[] encoded message
+ *
+ *  A record length of 0 marks the end of the written data of a segment. The
+ *  length of a record is written after the rest of it, so a record is not
+ *  seen until it is complete, even if the process dies in the middle of an
+ *  append.
+ *
+ *  Limits: messages older than the maximum age are skipped when read, and
+ *  when the queue grows beyond its maximum size the oldest segments are
+ *  dropped. compact() deletes the segments that have been completely read.
+ */
+public class OutboundQueue implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    static final int MAGIC = 0x534D5051; // "SMPQ"
+
+    static final int VERSION = 1;
+
+    static final int SEGMENT_HEADER_SIZE = 8;
+
+    static final int RECORD_HEADER_SIZE = 4 + 8;
+
+    private static final String SEGMENT_PREFIX = "queue-";
+
+    private static final String SEGMENT_SUFFIX = ".smpq";
+
+    private static final String CURSOR_FILE = "cursor";
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final long maxBytes;
+
+    private final long maxAgeMillis;
+
+    /** Mapped segments by index: from the one being read to the one being written. */
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+
+    private final MappedByteBuffer cursor;
+
+    private long readSegment;
+
+    private int readOffset;
+
+    private long writeSegment;
+
+    private long droppedMessages = 0;
+
+
+    /**
+     * @param directory directory of this queue, created if needed
+     * @param segmentSize size of each segment file
+     * @param maxBytes maximum size of the queue on disk, 0 for no limit
+     * @param maxAgeMillis maximum age of a queued message, 0 for no limit
+     */
+    public OutboundQueue(File directory, int segmentSize, long maxBytes, long maxAgeMillis) throws IOException {
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create queue directory " + directory);
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+
+        try (RandomAccessFile raf = new RandomAccessFile(new File(directory, CURSOR_FILE), "rw")) {
+            this.cursor = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        }
+
+        for (File file : listSegments()) {
+            this.segments.put(segmentIndex(file), map(file));
+        }
+
+        if (this.segments.isEmpty()) {
+            this.readSegment = 0;
+            this.readOffset = SEGMENT_HEADER_SIZE;
+            this.writeSegment = 0;
+            this.segments.put(0L, createSegment(0));
+            saveCursor();
+        } else {
+            this.readSegment = this.cursor.getLong(0);
+            this.readOffset = (int) this.cursor.getLong(8);
+            if (this.readSegment < this.segments.firstKey() || !this.segments.containsKey(this.readSegment)) {
+                this.readSegment = this.segments.firstKey();
+                this.readOffset = SEGMENT_HEADER_SIZE;
+            }
+            this.readOffset = Math.max(this.readOffset, SEGMENT_HEADER_SIZE);
+            this.writeSegment = this.segments.lastKey();
+            MappedByteBuffer last = this.segments.get(this.writeSegment);
+            // Buffer.position(int): MappedByteBuffer.position(int) does not exist before Java 9
+            ((Buffer) last).position(endOfRecords(last));
+        }
+
+    }
+
+
+    private File[] listSegments() {
+        File[] files = this.directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        return (null == files) ? new File[0] : files;
+    }
+
+
+    private File segmentFile(long index) {
+        return new File(this.directory, String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+
+    private static long segmentIndex(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+
+    private MappedByteBuffer map(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+        }
+        if (buffer.capacity() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a queue segment: " + file);
+        }
+        return buffer;
+    }
+
+
+    private MappedByteBuffer createSegment(long index) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(segmentFile(index), "rw")) {
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+        }
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        return buffer;
+    }
+
+
+    /** Finds the end of the written records of a segment opened from disk. */
+    private static int endOfRecords(MappedByteBuffer segment) {
+        int offset = SEGMENT_HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segment.capacity()) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+
+    private void saveCursor() {
+        this.cursor.putLong(0, this.readSegment);
+        this.cursor.putLong(8, this.readOffset);
+    }
+
+
+    /**
+     * Appends an encoded message.
+     */
+    public synchronized void append(byte[] data, int offset, int length) throws IOException {
+
+        if (RECORD_HEADER_SIZE + length + 4 > this.segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IOException("Message of " + length + " bytes does not fit in a queue segment");
+        }
+
+        MappedByteBuffer segment = this.segments.get(this.writeSegment);
+        // keep room for the 0 length that ends the segment
+        if (segment.remaining() < RECORD_HEADER_SIZE + length + 4) {
+            segment.force();
+            this.writeSegment++;
+            segment = createSegment(this.writeSegment);
+            this.segments.put(this.writeSegment, segment);
+            enforceMaxBytes();
+        }
+
+        // the record is published by its length, written last; before that the
+        // 0 length that ends the segment is written after the record, over what
+        // an interrupted append may have left there
+        int start = segment.position();
+        int end = start + RECORD_HEADER_SIZE + length;
+        segment.putInt(end, 0);
+        ((Buffer) segment).position(start + 4);
+        segment.putLong(System.currentTimeMillis());
+        segment.put(data, offset, length);
+        segment.putInt(start, length);
+
+    }
+
+
+    /**
+     * @return the oldest message that has not expired, without removing it,
+     *         or null if the queue is empty
+     */
+    public synchronized byte[] peek() {
+
+        while (true) {
+
+            MappedByteBuffer segment = this.segments.get(this.readSegment);
+            int length = (this.readOffset + RECORD_HEADER_SIZE <= segment.capacity()) ? segment.getInt(this.readOffset) : 0;
+
+            if (length <= 0) {
+                if (this.readSegment == this.writeSegment) {
+                    return null;
+                }
+                // this segment is exhausted, continue in the next one
+                this.readSegment = this.segments.higherKey(this.readSegment);
+                this.readOffset = SEGMENT_HEADER_SIZE;
+                saveCursor();
+                continue;
+            }
+
+            long enqueueTime = segment.getLong(this.readOffset + 4);
+            if (this.maxAgeMillis > 0 && System.currentTimeMillis() - enqueueTime > this.maxAgeMillis) {
+                this.droppedMessages++;
+                this.readOffset += RECORD_HEADER_SIZE + length;
+                saveCursor();
+                continue;
+            }
+
+            // the read segment can be the one being written, so its position is restored
+            byte[] data = new byte[length];
+            int position = segment.position();
+            ((Buffer) segment).position(this.readOffset + RECORD_HEADER_SIZE);
+            segment.get(data);
+            ((Buffer) segment).position(position);
+            return data;
+        }
+
+    }
+
+
+    /**
+     * Removes the message returned by the last peek().
+     */
+    public synchronized void remove() {
+        MappedByteBuffer segment = this.segments.get(this.readSegment);
+        int length = segment.getInt(this.readOffset);
+        if (length > 0) {
+            this.readOffset += RECORD_HEADER_SIZE + length;
+            saveCursor();
+        }
+    }
+
+
+    public synchronized boolean isEmpty() {
+        return null == peek();
+    }
+
+
+    /**
+     * @return messages discarded because of their age or the size limit
+     */
+    public synchronized long getDroppedMessages() {
+        return this.droppedMessages;
+    }
+
+
+    /**
+     * @return disk space used by the segments of the queue
+     */
+    public synchronized long getSizeInBytes() {
+        long size = 0;
+        for (MappedByteBuffer segment : this.segments.values()) {
+            size += segment.capacity();
+        }
+        return size;
+    }
+
+
+    /**
+     * Deletes the segments that have been completely read.
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int compact() throws IOException {
+
+        int deleted = 0;
+        while (this.segments.firstKey() < this.readSegment) {
+            deleteSegment(this.segments.firstKey());
+            deleted++;
+        }
+        return deleted;
+
+    }
+
+
+    /** Drops the oldest segments, read or not, while the queue is too big. */
+    private void enforceMaxBytes() throws IOException {
+
+        if (this.maxBytes <= 0) {
+            return;
+        }
+
+        while (this.segments.size() > 1 && getSizeInBytes() > this.maxBytes) {
+            long oldest = this.segments.firstKey();
+            if (oldest >= this.readSegment) {
+                this.droppedMessages += countUnread(oldest);
+                this.readSegment = this.segments.higherKey(oldest);
+                this.readOffset = SEGMENT_HEADER_SIZE;
+                saveCursor();
+            }
+            deleteSegment(oldest);
+        }
+
+    }
+
+
+    private long countUnread(long index) {
+        MappedByteBuffer segment = this.segments.get(index);
+        int offset = (index == this.readSegment) ? this.readOffset : SEGMENT_HEADER_SIZE;
+        long count = 0;
+        int length;
+        while (offset + RECORD_HEADER_SIZE <= segment.capacity() && (length = segment.getInt(offset)) > 0) {
+            offset += RECORD_HEADER_SIZE + length;
+            count++;
+        }
+        return count;
+    }
+
+
+    private void deleteSegment(long index) throws IOException {
+        this.segments.remove(index);
+        File file = segmentFile(index);
+        if (file.exists() && !file.delete()) {
+            // the mapping may still be alive on some platforms, try again on the next compaction
+            file.deleteOnExit();
+        }
+    }
+
+
+    /**
+     * Writes the mapped segments and the cursor to disk.
+     */
+    public synchronized void flush() {
+        for (Map.Entry<Long, MappedByteBuffer> entry : this.segments.entrySet()) {
+            entry.getValue().force();
+        }
+        this.cursor.force();
+    }
+
+
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+}
@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.store;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  Decorator of an INetworkBasicCommunicationChannel that keeps the messages
+ *  sent to unreachable destinations in a durable OutboundQueue and forwards
+ *  them when the destination is reachable again.
+ *
+ *  A destination becomes unreachable when a send to it fails or when the
+ *  application calls markUnreachable() (UDP sends rarely fail, so usually
+ *  the application detects it, i.e. with a heartbeat). While a destination
+ *  is unreachable, or while its queue still has messages, new messages are
+ *  queued behind the old ones to keep the order. markReachable() drains
+ *  the queue.
+ *
+ *  The queue of each destination lives in a subdirectory of the store
+ *  directory. Queues left by a previous run are opened again by the
+ *  constructor and their destinations are reported by
+ *  getPendingDestinations(); they are forwarded with drain(). Messages are
+ *  stored as encoded by codeMessage(), so they are not encoded again.
+ */
+public class StoreAndForwardChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(StoreAndForwardChannel.class);
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_AGE_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static final String ENCODING = "UTF-8";
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final long maxBytes;
+
+    private final long maxAgeMillis;
+
+    private final Map<String, OutboundQueue> queues = new ConcurrentHashMap<>();
+
+    private final Map<String, Boolean> unreachable = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates the channel with segments of OutboundQueue.DEFAULT_SEGMENT_SIZE,
+     * DEFAULT_MAX_BYTES per destination and DEFAULT_MAX_AGE_MILLIS.
+     */
+    public StoreAndForwardChannel(INetworkBasicCommunicationChannel channel, File directory) throws CommunicationException {
+        this(channel, directory, OutboundQueue.DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_BYTES, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+
+    /**
+     * @param channel decorated channel
+     * @param directory directory of the queues, created if needed
+     * @param segmentSize size of the segment files of the queues
+     * @param maxBytes maximum disk space of the queue of one destination, 0 for no limit
+     * @param maxAgeMillis messages older than this are discarded instead of forwarded, 0 for no limit
+     */
+    public StoreAndForwardChannel(INetworkBasicCommunicationChannel channel, File directory,
+                                  int segmentSize, long maxBytes, long maxAgeMillis) throws CommunicationException {
+
+        this.channel = channel;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+
+        File[] existing = directory.listFiles();
+        if (null != existing) {
+            for (File queueDirectory : existing) {
+                if (queueDirectory.isDirectory()) {
+                    String destination = decode(queueDirectory.getName());
+                    this.queues.put(destination, openQueue(queueDirectory));
+                }
+            }
+        }
+
+    }
+
+
+    private OutboundQueue openQueue(File queueDirectory) throws CommunicationException {
+        try {
+            return new OutboundQueue(queueDirectory, this.segmentSize, this.maxBytes, this.maxAgeMillis);
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+    }
+
+
+    private static String encode(String destination) {
+        try {
+            return URLEncoder.encode(destination, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+
+    private static String decode(String fileName) {
+        try {
+            return URLDecoder.decode(fileName, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+
+    private synchronized OutboundQueue queueOf(String destination) throws CommunicationException {
+        OutboundQueue queue = this.queues.get(destination);
+        if (null == queue) {
+            queue = openQueue(new File(this.directory, encode(destination)));
+            this.queues.put(destination, queue);
+        }
+        return queue;
+    }
+
+
+    public INetworkBasicCommunicationChannel getChannel() {
+        return this.channel;
+    }
+
+
+    public boolean isReachable(IAddress addr) {
+        return !this.unreachable.containsKey(addr.getId());
+    }
+
+
+    /**
+     * From now on, the messages sent to this destination are queued.
+     */
+    public void markUnreachable(IAddress addr) {
+        this.unreachable.put(addr.getId(), Boolean.TRUE);
+    }
+
+
+    /**
+     * Forwards the messages queued for this destination.
+     *
+     * @return number of messages forwarded
+     */
+    public int markReachable(IAddress addr) throws CommunicationException {
+        this.unreachable.remove(addr.getId());
+        return drain(addr);
+    }
+
+
+    /**
+     * @return ids of the destinations with queued messages, including those
+     *         left by a previous run
+     */
+    public List<String> getPendingDestinations() {
+        List<String> destinations = new ArrayList<>();
+        for (Map.Entry<String, OutboundQueue> entry : this.queues.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                destinations.add(entry.getKey());
+            }
+        }
+        return destinations;
+    }
+
+
+    /**
+     * @return messages discarded from the queue of this destination because
+     *         of the age or size limits
+     */
+    public long getDroppedMessages(IAddress addr) {
+        OutboundQueue queue = this.queues.get(addr.getId());
+        return (null == queue) ? 0 : queue.getDroppedMessages();
+    }
+
+
+    /**
+     * Sends the messages queued for this destination, oldest first. If a send
+     * fails, the destination is marked unreachable and the message stays in
+     * the queue.
+     *
+     * @return number of messages forwarded
+     */
+    public int drain(IAddress addr) throws CommunicationException {
+
+        OutboundQueue queue = this.queues.get(addr.getId());
+        if (null == queue) {
+            return 0;
+        }
+
+        int forwarded = 0;
+        synchronized (queue) {
+
+            byte[] data;
+            while (isReachable(addr) && null != (data = queue.peek())) {
+                try {
+                    this.channel.send(addr, data, 0, data.length);
+                } catch (CommunicationException ex) {
+                    LOGGER.debug("Destination {} unreachable while draining its queue", addr.getId());
+                    markUnreachable(addr);
+                    break;
+                }
+                queue.remove();
+                forwarded++;
+            }
+
+            compact(queue);
+
+        }
+
+        return forwarded;
+
+    }
+
+
+    private static void compact(OutboundQueue queue) throws CommunicationException {
+        try {
+            queue.compact();
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+    }
+
+
+    /**
+     * Writes the queues to disk and releases them. Messages still queued are
+     * forwarded by the next instance that uses the same directory.
+     */
+    public void close() {
+        for (OutboundQueue queue : this.queues.values()) {
+            queue.close();
+        }
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        String destination = addr.getId();
+        OutboundQueue queue = this.queues.get(destination);
+
+        if (null == queue && isReachable(addr)) {
+            try {
+                this.channel.send(addr, data, offset, count);
+                return;
+            } catch (CommunicationException ex) {
+                LOGGER.debug("Destination {} unreachable, queueing its messages", destination);
+                markUnreachable(addr);
+            }
+        }
+
+        if (null == queue) {
+            queue = queueOf(destination);
+        }
+
+        synchronized (queue) {
+
+            if (isReachable(addr) && queue.isEmpty()) {
+                try {
+                    this.channel.send(addr, data, offset, count);
+                    return;
+                } catch (CommunicationException ex) {
+                    LOGGER.debug("Destination {} unreachable, queueing its messages", destination);
+                    markUnreachable(addr);
+                }
+            }
+
+            try {
+                queue.append(data, offset, count);
+            } catch (IOException ex) {
+                throw new CommunicationException(ex);
+            }
+
+        }
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        return this.channel.receive(data, offset, count, timeout);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return this.channel.receive(data, offset, count);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return this.channel.receive(data);
+    }
+
+
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        return this.channel.receive();
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+        return this.channel.receiveMessage();
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.channel.registerMessageFactory(messageFactory);
+    }
+
+}
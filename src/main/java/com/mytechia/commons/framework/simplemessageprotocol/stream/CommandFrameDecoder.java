@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.stream;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import org.slf4j.LoggerFactory;
+
+/**
+ *  Incremental parser of the messages of a byte stream (i.e. a TCP
+ *  connection, a serial link or a file). It accepts chunks of any size and
+ *  passes every complete message to an IFrameListener.
+ *
+ *  The decoder looks for Command.INIT_BYTE and trusts a header only if its
+ *  checksum is valid and its data size fits in the maximum frame size;
+ *  otherwise it skips the init byte and looks for the next one, so it
+ *  resynchronizes after corrupt or lost bytes. A message with a wrong data
+ *  checksum is discarded, and the search goes on after its init byte, in
+ *  case the header was garbage that looked valid.
+ *
+ *  Messages that are complete in a chunk are passed to the listener inside
+ *  the chunk, without copying them. Only a message split between chunks is
+ *  copied, once, to the buffer of the decoder, which is allocated by the
+ *  constructor (the buffer is only compacted after a resynchronization);
+ *  decoding does not allocate.
+ *
+ *  An instance decodes one stream and is not thread safe.
+ */
+public class CommandFrameDecoder {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(CommandFrameDecoder.class);
+
+    /** Size of the longest message that fits in the Data Size field. */
+    public static final int MAX_FRAME_SIZE = Command.COMMAND_HEADER_SIZE + (Command.COMPRESSED_DATA_FLAG - 1)
+            + Command.DATA_CHECKSUM_SIZE;
+
+    private final Endianness endianness;
+
+    private final IFrameListener listener;
+
+    private final byte[] buffer;
+
+    /** Bytes of the current message in the buffer. */
+    private int buffered = 0;
+
+    private long decodedFrames = 0;
+
+    private long corruptFrames = 0;
+
+    private long skippedBytes = 0;
+
+
+    public CommandFrameDecoder(Endianness endianness, IFrameListener listener) {
+        this(endianness, listener, MAX_FRAME_SIZE);
+    }
+
+
+    /**
+     * @param maxFrameSize size of the longest message accepted, up to MAX_FRAME_SIZE
+     */
+    public CommandFrameDecoder(Endianness endianness, IFrameListener listener, int maxFrameSize) {
+        if (maxFrameSize < Command.COMMAND_HEADER_SIZE || maxFrameSize > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Invalid maximum frame size: " + maxFrameSize);
+        }
+        this.endianness = endianness;
+        this.listener = listener;
+        this.buffer = new byte[maxFrameSize];
+    }
+
+
+    public long getDecodedFrames() {
+        return this.decodedFrames;
+    }
+
+    /**
+     * @return messages discarded because of their data checksum
+     */
+    public long getCorruptFrames() {
+        return this.corruptFrames;
+    }
+
+    /**
+     * @return bytes skipped while looking for a valid header
+     */
+    public long getSkippedBytes() {
+        return this.skippedBytes;
+    }
+
+    /**
+     * @return bytes of an incomplete message waiting for the next chunk
+     */
+    public int getBufferedBytes() {
+        return this.buffered;
+    }
+
+
+    /**
+     * Discards the incomplete message, i.e. when the stream is reconnected.
+     */
+    public void reset() {
+        this.buffered = 0;
+    }
+
+
+    /**
+     * Parses the next chunk of the stream and passes the messages it
+     * completes to the listener.
+     *
+     * @return number of messages passed to the listener
+     */
+    public int decode(byte[] chunk, int offset, int length) throws CommunicationException {
+
+        int index = offset;
+        int end = offset + length;
+        int frames = 0;
+
+        while (true) {
+
+            if (this.buffered == 0) {
+
+                int start = indexOfInitByte(chunk, index, end);
+                this.skippedBytes += start - index;
+                index = start;
+                if (index == end) {
+                    break;
+                }
+
+                int available = end - index;
+                if (available >= Command.COMMAND_HEADER_SIZE) {
+                    int frameSize = frameSize(chunk, index);
+                    if (frameSize < 0) {
+                        this.skippedBytes++;
+                        index++;
+                        continue;
+                    }
+                    if (available >= frameSize) {
+                        if (emit(chunk, index, frameSize)) {
+                            frames++;
+                            index += frameSize;
+                        } else {
+                            // the header may be garbage that looks valid, look for a message inside it
+                            this.skippedBytes++;
+                            index++;
+                        }
+                        continue;
+                    }
+                }
+
+                System.arraycopy(chunk, index, this.buffer, 0, available);
+                this.buffered = available;
+                index = end;
+
+            } else {
+
+                if (this.buffered < Command.COMMAND_HEADER_SIZE) {
+                    int count = Math.min(Command.COMMAND_HEADER_SIZE - this.buffered, end - index);
+                    System.arraycopy(chunk, index, this.buffer, this.buffered, count);
+                    this.buffered += count;
+                    index += count;
+                    if (this.buffered < Command.COMMAND_HEADER_SIZE) {
+                        break;
+                    }
+                }
+
+                int frameSize = frameSize(this.buffer, 0);
+                if (frameSize < 0) {
+                    resynchronize();
+                    continue;
+                }
+
+                if (this.buffered < frameSize) {
+                    int count = Math.min(frameSize - this.buffered, end - index);
+                    System.arraycopy(chunk, index, this.buffer, this.buffered, count);
+                    this.buffered += count;
+                    index += count;
+                    if (this.buffered < frameSize) {
+                        break;
+                    }
+                }
+
+                if (emit(this.buffer, 0, frameSize)) {
+                    frames++;
+                    discard(frameSize);
+                } else {
+                    resynchronize();
+                }
+
+            }
+
+        }
+
+        return frames;
+
+    }
+
+
+    private static int indexOfInitByte(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == Command.INIT_BYTE) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+
+    /**
+     * @return size of the message of a complete header, or -1 if the header
+     *         is corrupt or the message too long
+     */
+    private int frameSize(byte[] data, int offset) {
+        if (!headerChecksumOk(data, offset)) {
+            return -1;
+        }
+        int frameSize = CommandHeader.getMessageSize(data, offset, this.endianness);
+        return (frameSize <= this.buffer.length) ? frameSize : -1;
+    }
+
+
+    private static boolean headerChecksumOk(byte[] data, int offset) {
+        byte checksum = 0;
+        for (int i = 0; i < Command.HEADER_CHECKSUM_INDEX; i++) {
+            checksum ^= data[offset + i];
+        }
+        return data[offset + Command.INIT_BYTE_INDEX] == Command.INIT_BYTE
+                && checksum == data[offset + Command.HEADER_CHECKSUM_INDEX];
+    }
+
+
+    /**
+     * Drops the init byte of the buffered message and keeps the bytes from
+     * the next init byte, if any. Only happens after corrupt bytes.
+     */
+    private void resynchronize() {
+        int start = indexOfInitByte(this.buffer, 1, this.buffered);
+        this.skippedBytes += start;
+        discard(start);
+    }
+
+
+    /**
+     * Drops the first count bytes of the buffer. After a resynchronization
+     * the buffer can hold more than one message.
+     */
+    private void discard(int count) {
+        System.arraycopy(this.buffer, count, this.buffer, 0, this.buffered - count);
+        this.buffered -= count;
+    }
+
+
+    private boolean emit(byte[] data, int offset, int frameSize) throws CommunicationException {
+
+        int dataSize = frameSize - Command.COMMAND_HEADER_SIZE - Command.DATA_CHECKSUM_SIZE;
+        if (dataSize > 0) {
+            byte checksum = 0;
+            for (int i = 0; i < dataSize; i++) {
+                checksum ^= data[offset + Command.DATA_INDEX + i];
+            }
+            if (checksum != data[offset + Command.DATA_INDEX + dataSize]) {
+                LOGGER.debug("Message of {} bytes discarded, wrong data checksum", frameSize);
+                this.corruptFrames++;
+                return false;
+            }
+        }
+
+        this.decodedFrames++;
+        this.listener.frameDecoded(data, offset, frameSize);
+        return true;
+
+    }
+
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.stream;
+
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+
+/**
+ *  Receives the frames found by a CommandFrameDecoder.
+ */
+public interface IFrameListener {
+
+    /**
+     * @param frame buffer with the encoded message; it is only valid during
+     *        the call, copy it to keep it
+     * @param offset index of the init byte of the message
+     * @param length size of the message, header and checksums included
+     */
+    void frameDecoded(byte[] frame, int offset, int length) throws CommunicationException;
+
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.stream;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.dispatch.IMessageListener;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ *  IFrameListener that decodes the frames with a MessageFactory and passes
+ *  the messages to an IMessageListener. Frames of unknown type or that
+ *  cannot be decoded are skipped.
+ */
+public class MessageFrameListener implements IFrameListener {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(MessageFrameListener.class);
+
+    private final MessageFactory messageFactory;
+
+    private final IMessageListener listener;
+
+    private final IAddress origin;
+
+
+    /**
+     * @param origin address passed to the listener with every message (i.e.
+     *        the peer of the stream), it can be null
+     */
+    public MessageFrameListener(MessageFactory messageFactory, IMessageListener listener, IAddress origin) {
+        this.messageFactory = messageFactory;
+        this.listener = listener;
+        this.origin = origin;
+    }
+
+
+    @Override
+    public void frameDecoded(byte[] frame, int offset, int length) {
+
+        Command message;
+        try {
+            // builders decode from index 0 and copy what they keep, so a frame at
+            // the start of the buffer (i.e. put together by the decoder) is not copied
+            byte[] messageData = (offset == 0) ? frame : Arrays.copyOfRange(frame, offset, offset + length);
+            message = this.messageFactory.decodeMessage(messageData);
+        } catch (MessageFormatException ex) {
+            LOGGER.debug(MessageFrameListener.class.getSimpleName() + ".frameDecoded", ex);
+            return;
+        }
+
+        if (null != message) {
+            this.listener.messageReceived(message, this.origin);
+        }
+
+    }
+
+}
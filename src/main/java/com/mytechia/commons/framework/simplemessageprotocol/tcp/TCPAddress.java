@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.tcp;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+
+import java.net.InetSocketAddress;
+
+/**
+ *  Address of the remote end of a TCP connection.
+ */
+public class TCPAddress implements IAddress {
+
+    private final InetSocketAddress address;
+
+    /** Built on the first getId(), used by hashCode() and equals() too. */
+    private String id = null;
+
+
+    public TCPAddress(InetSocketAddress address) {
+        this.address = address;
+    }
+
+
+    public TCPAddress(String host, int port) {
+        this(new InetSocketAddress(host, port));
+    }
+
+
+    public InetSocketAddress getSocketAddress() {
+        return this.address;
+    }
+
+
+    public int getPort() {
+        return this.address.getPort();
+    }
+
+
+    @Override
+    public String getId() {
+        if (null == this.id) {
+            this.id = getName() + ":" + this.address.getPort();
+        }
+        return this.id;
+    }
+
+
+    @Override
+    public String getName() {
+        if (this.address.isUnresolved()) {
+            return this.address.getHostName();
+        }
+        return this.address.getAddress().getHostAddress();
+    }
+
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+
+    @Override
+    public boolean equals(Object obj) {
+        return (obj instanceof IAddress) && equals((IAddress) obj);
+    }
+
+
+    @Override
+    public boolean equals(IAddress address) {
+        return (address instanceof TCPAddress) && getId().equals(address.getId());
+    }
+
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+
+}
@@ -0,0 +1,542 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.tcp;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.CommandHeader;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import com.mytechia.commons.framework.simplemessageprotocol.stream.CommandFrameDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.stream.IFrameListener;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *  IBasicCommunicationChannel over a TCP connection, on an NIO SocketChannel.
+ *
+ *  A reader thread splits the stream in messages with a CommandFrameDecoder.
+ *  Requests can be pipelined: many threads can wait in sendReceive() on the
+ *  same connection, and every response is matched to its request by the
+ *  sequence number, so the outstanding requests need different sequence
+ *  numbers and the peer must answer with the sequence number of the request
+ *  (it may answer out of order). Messages that do not answer a pending
+ *  request are queued for receive().
+ *
+ *  Concurrent sends are written together: the thread that gets the
+ *  connection writes every queued message with one gathering write.
+ *
+ *  The peer can be a TCPServer or any other endpoint that speaks the same
+ *  wire format.
+ */
+public class TCPCommunicationChannel implements IBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(TCPCommunicationChannel.class);
+
+    public static final int DEFAULT_RECEIVE_QUEUE_CAPACITY = 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** Queued in the receive queue when the connection is closed. */
+    private static final byte[] CLOSED = new byte[0];
+
+    private final SocketChannel socketChannel;
+
+    private final Endianness endianness;
+
+    private final TCPAddress peer;
+
+    private final BlockingQueue<byte[]> receiveQueue;
+
+    private final ConcurrentMap<Integer, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<PendingWrite> writeQueue = new ArrayDeque<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Thread reader;
+
+    private volatile long defaultTimeout = -1;
+
+    private volatile MessageFactory messageFactory = null;
+
+    private volatile boolean closed = false;
+
+
+    /**
+     * Connects to a TCP server.
+     */
+    public TCPCommunicationChannel(String host, int port, Endianness endianness) throws CommunicationException {
+        this(connect(new InetSocketAddress(host, port)), endianness, DEFAULT_RECEIVE_QUEUE_CAPACITY);
+    }
+
+
+    /**
+     * @param socketChannel connected channel, it is put in blocking mode
+     * @param receiveQueueCapacity messages kept for receive(); when the queue
+     *        is full the reader waits, and so does the peer
+     */
+    public TCPCommunicationChannel(SocketChannel socketChannel, Endianness endianness, int receiveQueueCapacity)
+            throws CommunicationException {
+
+        this.socketChannel = socketChannel;
+        this.endianness = endianness;
+        this.receiveQueue = new ArrayBlockingQueue<>(receiveQueueCapacity);
+
+        try {
+            socketChannel.configureBlocking(true);
+            socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+            this.peer = new TCPAddress((InetSocketAddress) socketChannel.getRemoteAddress());
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+
+        this.reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readLoop();
+            }
+        }, "tcp-channel-" + this.peer.getId());
+        this.reader.setDaemon(true);
+        this.reader.start();
+
+    }
+
+
+    private static SocketChannel connect(InetSocketAddress address) throws CommunicationException {
+        try {
+            return SocketChannel.open(address);
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+    }
+
+
+    public TCPAddress getPeer() {
+        return this.peer;
+    }
+
+
+    /**
+     * @param timeout timeout in ms of the receive and sendReceive methods
+     *        without a timeout argument, -1 (the default) to wait forever
+     */
+    public TCPCommunicationChannel setDefaultTimeout(long timeout) {
+        this.defaultTimeout = timeout;
+        return this;
+    }
+
+
+    /**
+     * @return number of sendReceive() calls waiting for their response
+     */
+    public int getPendingRequests() {
+        return this.pendingRequests.size();
+    }
+
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+
+    /**
+     * Closes the connection. Pending requests fail; the messages already
+     * received can still be received, and then receives fail.
+     */
+    public void close() {
+        this.closed = true;
+        try {
+            this.socketChannel.close();
+        } catch (IOException ex) {
+            LOGGER.debug(TCPCommunicationChannel.class.getSimpleName() + ".close", ex);
+        }
+        // wakes the waiting receivers; if the queue is full nobody is waiting,
+        // and take() adds the marker again when it empties the queue
+        this.receiveQueue.offer(CLOSED);
+    }
+
+
+    private void readLoop() {
+
+        CommandFrameDecoder decoder = new CommandFrameDecoder(this.endianness, new IFrameListener() {
+            @Override
+            public void frameDecoded(byte[] frame, int offset, int length) throws CommunicationException {
+                route(frame, offset, length);
+            }
+        });
+
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        try {
+            while (true) {
+                ((Buffer) buffer).clear(); // ByteBuffer.clear() does not exist before Java 9
+                int read = this.socketChannel.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                decoder.decode(buffer.array(), 0, read);
+            }
+        } catch (IOException | CommunicationException ex) {
+            if (!this.closed) {
+                LOGGER.error(TCPCommunicationChannel.class.getSimpleName() + ".readLoop", ex);
+            }
+        }
+
+        close();
+
+        for (PendingRequest request : this.pendingRequests.values()) {
+            request.complete(-1);
+        }
+
+    }
+
+
+    /**
+     * Completes the request answered by the frame, or queues the frame for receive().
+     */
+    private void route(byte[] frame, int offset, int length) throws CommunicationException {
+
+        int sequenceNumber = CommandHeader.getSequenceNumber(frame, offset, this.endianness);
+        PendingRequest request = this.pendingRequests.remove(sequenceNumber);
+
+        if (null != request) {
+            request.complete(frame, offset, length);
+            return;
+        }
+
+        byte[] message = new byte[length];
+        System.arraycopy(frame, offset, message, 0, length);
+        try {
+            this.receiveQueue.put(message);
+        } catch (InterruptedException ex) {
+            throw new CommunicationException("Reader interrupted");
+        }
+
+    }
+
+
+    @Override
+    public void send(byte[] data, int offset, int count) throws CommunicationException {
+
+        PendingWrite write = new PendingWrite(ByteBuffer.wrap(data, offset, count));
+        synchronized (this.writeQueue) {
+            this.writeQueue.add(write);
+        }
+
+        this.writeLock.lock();
+        try {
+            if (!write.written) {
+                writeQueued();
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+
+        if (null != write.error) {
+            throw new CommunicationException(write.error);
+        }
+
+    }
+
+
+    /** Writes every queued message with one gathering write; the caller holds the write lock. */
+    private void writeQueued() {
+
+        List<PendingWrite> writes = new ArrayList<>();
+        synchronized (this.writeQueue) {
+            writes.addAll(this.writeQueue);
+            this.writeQueue.clear();
+        }
+
+        ByteBuffer[] buffers = new ByteBuffer[writes.size()];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = writes.get(i).buffer;
+            remaining += buffers[i].remaining();
+        }
+
+        IOException error = null;
+        try {
+            while (remaining > 0) {
+                remaining -= this.socketChannel.write(buffers);
+            }
+        } catch (IOException ex) {
+            LOGGER.error(TCPCommunicationChannel.class.getSimpleName() + ".send", ex);
+            error = ex;
+        }
+
+        for (PendingWrite write : writes) {
+            write.error = error;
+            write.written = true;
+        }
+
+    }
+
+
+    @Override
+    public void send(byte[] data) throws CommunicationException {
+        send(data, 0, data.length);
+    }
+
+
+    @Override
+    public void send(Command msg) throws CommunicationException {
+        send(msg.codeMessage());
+    }
+
+
+    private byte[] take(long timeout) throws CommunicationException {
+
+        if (this.closed && this.receiveQueue.isEmpty()) {
+            throw new CommunicationException("Connection closed");
+        }
+
+        byte[] message;
+        try {
+            message = (timeout >= 0) ? this.receiveQueue.poll(timeout, TimeUnit.MILLISECONDS) : this.receiveQueue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CommunicationException("Interrupted while receiving");
+        }
+
+        if (null == message) {
+            throw new TimeoutException("No message received in " + timeout + " ms");
+        }
+        if (message == CLOSED) {
+            this.receiveQueue.offer(CLOSED);
+            throw new CommunicationException("Connection closed");
+        }
+        if (this.closed && this.receiveQueue.isEmpty()) {
+            // last message after the close, the next receivers must not wait
+            this.receiveQueue.offer(CLOSED);
+        }
+
+        return message;
+
+    }
+
+
+    /**
+     * Copies the next message in data. Longer messages are truncated.
+     *
+     * @return size of the message copied
+     */
+    @Override
+    public int receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        byte[] message = take(timeout);
+        int length = Math.min(count, message.length);
+        System.arraycopy(message, 0, data, offset, length);
+        return length;
+    }
+
+
+    @Override
+    public int receive(byte[] data, int offset, int count) throws CommunicationException {
+        return receive(data, offset, count, this.defaultTimeout);
+    }
+
+
+    @Override
+    public int receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    @Override
+    public Command receive() throws CommunicationException {
+        return receive(this.defaultTimeout);
+    }
+
+
+    /**
+     * @return the next message decoded with the registered MessageFactory, or
+     *         null if its type is unknown
+     */
+    @Override
+    public Command receive(long timeout) throws CommunicationException {
+        MessageFactory factory = this.messageFactory;
+        if (null == factory) {
+            throw new CommunicationException("No message factory registered");
+        }
+        return factory.decodeMessage(take(timeout));
+    }
+
+
+    /**
+     * Receives the next message, that must fill data.
+     */
+    @Override
+    public void receiveComplete(byte[] data) throws CommunicationException, TimeoutException {
+        byte[] message = take(this.defaultTimeout);
+        if (message.length != data.length) {
+            throw new MessageFormatException("Message of " + message.length + " bytes received, "
+                    + data.length + " bytes expected");
+        }
+        System.arraycopy(message, 0, data, 0, message.length);
+    }
+
+
+    /**
+     * Sends a request and waits for the message with its sequence number.
+     * Other threads can send their requests meanwhile.
+     *
+     * @return size of the response copied in recvData
+     */
+    @Override
+    public int sendReceive(byte[] sendData, int sendOffset, int sendCount,
+                           byte[] recvData, int recvOffset, int recvCount, long timeout)
+            throws CommunicationException {
+
+        if (sendCount < Command.COMMAND_HEADER_SIZE) {
+            throw new MessageFormatException("Request too short: " + sendCount + " bytes");
+        }
+
+        int sequenceNumber = CommandHeader.getSequenceNumber(sendData, sendOffset, this.endianness);
+        PendingRequest request = new PendingRequest(recvData, recvOffset, recvCount);
+        if (null != this.pendingRequests.putIfAbsent(sequenceNumber, request)) {
+            throw new CommunicationException("A request with sequence number " + sequenceNumber + " is pending");
+        }
+
+        try {
+            send(sendData, sendOffset, sendCount);
+            return request.await(timeout);
+        } finally {
+            this.pendingRequests.remove(sequenceNumber, request);
+        }
+
+    }
+
+
+    @Override
+    public int sendReceive(byte[] sendData, int sendOffset, int sendCount,
+                           byte[] recvData, int recvOffset, int recvCount) throws CommunicationException {
+        return sendReceive(sendData, sendOffset, sendCount, recvData, recvOffset, recvCount, this.defaultTimeout);
+    }
+
+
+    @Override
+    public int sendReceive(byte[] sendData, byte[] recvData) throws CommunicationException {
+        return sendReceive(sendData, 0, sendData.length, recvData, 0, recvData.length);
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+    }
+
+
+    /** Message waiting to be written. */
+    private static final class PendingWrite {
+
+        final ByteBuffer buffer;
+
+        /** Set by the thread that wrote it, read under the write lock. */
+        boolean written = false;
+
+        IOException error = null;
+
+        PendingWrite(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+    }
+
+
+    /** sendReceive() waiting for its response. */
+    private static final class PendingRequest {
+
+        private final byte[] data;
+
+        private final int offset;
+
+        private final int count;
+
+        /** Size of the response, -1 if the connection was closed, -2 while waiting. */
+        private int length = -2;
+
+        PendingRequest(byte[] data, int offset, int count) {
+            this.data = data;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        synchronized void complete(byte[] frame, int frameOffset, int frameLength) {
+            int copied = Math.min(this.count, frameLength);
+            System.arraycopy(frame, frameOffset, this.data, this.offset, copied);
+            complete(copied);
+        }
+
+        synchronized void complete(int length) {
+            if (this.length == -2) {
+                this.length = length;
+                notifyAll();
+            }
+        }
+
+        synchronized int await(long timeout) throws CommunicationException {
+
+            long deadline = (timeout >= 0) ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+
+            while (this.length == -2) {
+                try {
+                    if (timeout >= 0) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new TimeoutException("No response received in " + timeout + " ms");
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    } else {
+                        wait();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new CommunicationException("Interrupted while waiting for a response");
+                }
+            }
+
+            if (this.length < 0) {
+                throw new CommunicationException("Connection closed");
+            }
+            return this.length;
+
+        }
+
+    }
+
+}
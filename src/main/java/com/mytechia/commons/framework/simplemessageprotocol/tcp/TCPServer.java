@@ -0,0 +1,454 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.tcp;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.dispatch.IMessageListener;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.stream.CommandFrameDecoder;
+import com.mytechia.commons.framework.simplemessageprotocol.stream.MessageFrameListener;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *  TCP server for many TCPCommunicationChannel clients, driven by one
+ *  Selector in one thread.
+ *
+ *  The messages received from every connection are decoded with the
+ *  MessageFactory and passed to the IMessageListener, with the TCPAddress
+ *  of the client as origin, in the selector thread: listeners that take
+ *  long must hand the message to another thread. Replies are sent with
+ *  send() to that origin, from any thread; they are queued and the selector
+ *  thread writes the queue of a connection with one gathering write. The
+ *  queue of a connection is bounded (see setMaxQueuedBytes()), so a client
+ *  that does not read can not take the memory of the server.
+ */
+public class TCPServer {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(TCPServer.class);
+
+    public static final int DEFAULT_MAX_QUEUED_BYTES = 4 * 1024 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Endianness endianness;
+
+    private final MessageFactory messageFactory;
+
+    private final IMessageListener listener;
+
+    private final ServerSocketChannel serverChannel;
+
+    private final Selector selector;
+
+    private final ConcurrentMap<String, Connection> connections = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    /**
+     * Passes the messages to the listener and logs its failures, so a failure
+     * with a message does not stop the decoding of the next ones.
+     */
+    private final IMessageListener safeListener = new IMessageListener() {
+        @Override
+        public void messageReceived(Command message, IAddress origin) {
+            try {
+                listener.messageReceived(message, origin);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Listener failed with a message of " + origin.getId(), ex);
+            }
+        }
+    };
+
+    private volatile Thread selectorThread = null;
+
+    private volatile int maxQueuedBytes = DEFAULT_MAX_QUEUED_BYTES;
+
+
+    /**
+     * @param port port to listen to, 0 for any free port (see getPort())
+     */
+    public TCPServer(int port, Endianness endianness, MessageFactory messageFactory, IMessageListener listener)
+            throws CommunicationException {
+        this(new InetSocketAddress(port), endianness, messageFactory, listener);
+    }
+
+
+    public TCPServer(InetSocketAddress address, Endianness endianness, MessageFactory messageFactory,
+                     IMessageListener listener) throws CommunicationException {
+
+        this.endianness = endianness;
+        this.messageFactory = messageFactory;
+        this.listener = listener;
+
+        try {
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open();
+            this.serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, Boolean.TRUE);
+            this.serverChannel.bind(address);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+
+    }
+
+
+    /**
+     * @param maxQueuedBytes bytes queued for a client, not yet written,
+     *        over which send() fails
+     */
+    public TCPServer setMaxQueuedBytes(int maxQueuedBytes) {
+        this.maxQueuedBytes = maxQueuedBytes;
+        return this;
+    }
+
+
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+
+    /**
+     * @return addresses of the connected clients
+     */
+    public List<TCPAddress> getConnections() {
+        List<TCPAddress> addresses = new ArrayList<>();
+        for (Connection connection : this.connections.values()) {
+            addresses.add(connection.address);
+        }
+        return addresses;
+    }
+
+
+    public boolean isRunning() {
+        return null != this.selectorThread;
+    }
+
+
+    /**
+     * Starts the selector thread.
+     */
+    public synchronized void start() {
+
+        if (isRunning()) {
+            return;
+        }
+
+        this.selectorThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                selectLoop();
+            }
+        }, "tcp-server-" + getPort());
+        this.selectorThread.setDaemon(true);
+        this.selectorThread.start();
+
+    }
+
+
+    /**
+     * Stops the selector thread, which closes the server and every connection.
+     * A stopped server can not be started again.
+     */
+    public synchronized void stop() {
+        Thread thread = this.selectorThread;
+        this.selectorThread = null;
+        if (null != thread) {
+            this.selector.wakeup();
+        } else {
+            closeAll();
+        }
+    }
+
+
+    private void closeAll() {
+        for (Connection connection : this.connections.values()) {
+            close(connection);
+        }
+        try {
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException ex) {
+            LOGGER.debug(TCPServer.class.getSimpleName() + ".stop", ex);
+        }
+    }
+
+
+    /**
+     * Closes the connection of a client.
+     */
+    public void disconnect(IAddress client) {
+        Connection connection = this.connections.get(client.getId());
+        if (null != connection) {
+            close(connection);
+        }
+    }
+
+
+    /**
+     * Queues a message for a client; it is written by the selector thread.
+     *
+     * @throws CommunicationException if the client is not connected or the
+     *         messages queued for it reach the maximum queued bytes
+     */
+    public void send(IAddress client, byte[] data, int offset, int count) throws CommunicationException {
+        byte[] message = new byte[count];
+        System.arraycopy(data, offset, message, 0, count);
+        enqueue(client, ByteBuffer.wrap(message));
+    }
+
+
+    public void send(IAddress client, Command msg) throws CommunicationException {
+        enqueue(client, ByteBuffer.wrap(msg.codeMessage()));
+    }
+
+
+    private void enqueue(IAddress client, ByteBuffer message) throws CommunicationException {
+
+        Connection connection = this.connections.get(client.getId());
+        if (null == connection) {
+            throw new CommunicationException("Client " + client.getId() + " not connected");
+        }
+
+        synchronized (connection.writeQueue) {
+            if (connection.queuedBytes + message.remaining() > this.maxQueuedBytes) {
+                throw new CommunicationException("Write queue of client " + client.getId() + " full, "
+                        + connection.queuedBytes + " bytes queued");
+            }
+            connection.writeQueue.add(message);
+            connection.queuedBytes += message.remaining();
+        }
+
+        if (Thread.currentThread() == this.selectorThread) {
+            flush(connection);
+        } else {
+            this.pendingWrites.add(connection);
+            this.selector.wakeup();
+        }
+
+    }
+
+
+    private void selectLoop() {
+
+        Thread self = Thread.currentThread();
+
+        while (self == this.selectorThread) {
+
+            try {
+                this.selector.select();
+            } catch (IOException | RuntimeException ex) {
+                if (self == this.selectorThread) {
+                    LOGGER.error(TCPServer.class.getSimpleName() + ".selectLoop", ex);
+                    this.selectorThread = null;
+                }
+                break;
+            }
+
+            if (self != this.selectorThread) {
+                break;
+            }
+
+            Connection pending;
+            while (null != (pending = this.pendingWrites.poll())) {
+                flush(pending);
+            }
+
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+
+                SelectionKey key = keys.next();
+                keys.remove();
+
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+
+                Connection connection = (Connection) key.attachment();
+                if (key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(connection);
+                }
+
+            }
+
+        }
+
+        closeAll();
+
+    }
+
+
+    private void accept() {
+
+        SocketChannel socketChannel;
+        try {
+            socketChannel = this.serverChannel.accept();
+            if (null == socketChannel) {
+                return;
+            }
+            socketChannel.configureBlocking(false);
+            socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+        } catch (IOException ex) {
+            LOGGER.error(TCPServer.class.getSimpleName() + ".accept", ex);
+            return;
+        }
+
+        try {
+            TCPAddress address = new TCPAddress((InetSocketAddress) socketChannel.getRemoteAddress());
+            Connection connection = new Connection(socketChannel, address,
+                    new CommandFrameDecoder(this.endianness,
+                            new MessageFrameListener(this.messageFactory, this.safeListener, address)));
+            connection.key = socketChannel.register(this.selector, SelectionKey.OP_READ, connection);
+            this.connections.put(address.getId(), connection);
+            LOGGER.debug("Client {} connected", address.getId());
+        } catch (IOException ex) {
+            LOGGER.error(TCPServer.class.getSimpleName() + ".accept", ex);
+            try {
+                socketChannel.close();
+            } catch (IOException closeEx) {
+                LOGGER.debug(TCPServer.class.getSimpleName() + ".accept", closeEx);
+            }
+        }
+
+    }
+
+
+    private void read(Connection connection) {
+
+        try {
+            ((Buffer) this.readBuffer).clear(); // ByteBuffer.clear() does not exist before Java 9
+            int read = connection.socketChannel.read(this.readBuffer);
+            if (read < 0) {
+                close(connection);
+                return;
+            }
+            connection.decoder.decode(this.readBuffer.array(), 0, read);
+        } catch (IOException | CommunicationException ex) {
+            LOGGER.debug(TCPServer.class.getSimpleName() + ".read", ex);
+            close(connection);
+        }
+
+    }
+
+
+    /** Writes the queue of a connection, in the selector thread. */
+    private void flush(Connection connection) {
+
+        if (!connection.socketChannel.isOpen()) {
+            return;
+        }
+
+        synchronized (connection.writeQueue) {
+
+            if (connection.writeQueue.isEmpty()) {
+                return;
+            }
+
+            ByteBuffer[] buffers = connection.writeQueue.toArray(new ByteBuffer[connection.writeQueue.size()]);
+            try {
+                connection.socketChannel.write(buffers);
+            } catch (IOException ex) {
+                LOGGER.debug(TCPServer.class.getSimpleName() + ".flush", ex);
+                close(connection);
+                return;
+            }
+
+            while (!connection.writeQueue.isEmpty() && !connection.writeQueue.peek().hasRemaining()) {
+                connection.queuedBytes -= connection.writeQueue.poll().limit();
+            }
+
+            // wait for the socket to accept more data
+            int interest = connection.writeQueue.isEmpty()
+                    ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+            if (connection.key.isValid() && connection.key.interestOps() != interest) {
+                connection.key.interestOps(interest);
+            }
+
+        }
+
+    }
+
+
+    private void close(Connection connection) {
+        if (this.connections.remove(connection.address.getId(), connection)) {
+            LOGGER.debug("Client {} disconnected", connection.address.getId());
+        }
+        try {
+            connection.socketChannel.close();
+        } catch (IOException ex) {
+            LOGGER.debug(TCPServer.class.getSimpleName() + ".close", ex);
+        }
+    }
+
+
+    /** Connection of a client. */
+    private static final class Connection {
+
+        final SocketChannel socketChannel;
+
+        final TCPAddress address;
+
+        final CommandFrameDecoder decoder;
+
+        final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+
+        /** Bytes of the messages in writeQueue, guarded by writeQueue. */
+        int queuedBytes = 0;
+
+        SelectionKey key;
+
+        Connection(SocketChannel socketChannel, TCPAddress address, CommandFrameDecoder decoder) {
+            this.socketChannel = socketChannel;
+            this.address = address;
+            this.decoder = decoder;
+        }
+
+    }
+
+}
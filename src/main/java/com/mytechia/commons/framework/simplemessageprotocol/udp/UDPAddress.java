@@ -53,6 +53,8 @@ public class UDPAddress implements IAddress
     private InetAddress addr;
     private String ip;
     private int port;
+    /** Built on the first getId() and kept, the address does not change. */
+    private String id;
 
 
 
@@ -96,12 +98,10 @@ public class UDPAddress implements IAddress
     @Override
     public String getId()
     {
-        if (this.ip != null) {
-            return ip+":"+port;
-        }
-        else {
-            return this.addr.getHostAddress()+":"+port;
+        if (this.id == null) {
+            this.id = getName()+":"+port;
         }
+        return this.id;
     }
 
 
@@ -28,6 +28,8 @@ import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
 import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
 import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
 import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.IProtocolMetrics;
+import com.mytechia.commons.framework.simplemessageprotocol.metrics.NullProtocolMetrics;
 import com.mytechia.commons.util.net.IPUtil;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +64,8 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
 
     private MessageFactory messageFactory = null;
 
+    private IProtocolMetrics metrics = NullProtocolMetrics.INSTANCE;
+
 
 
     /**
@@ -252,13 +256,19 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
             } catch (UnknownHostException ex)
             {
                 LOGGER.error(this.getClass().getSimpleName() + ".send", ex);
+                this.metrics.sendError();
                 throw new CommunicationException(ex);
             } catch (IOException ex)
             {
                 LOGGER.error(this.getClass().getSimpleName() + ".send", ex);
+                this.metrics.sendError();
                 throw new CommunicationException(ex);
             }
 
+            if (count >= Command.COMMAND_HEADER_SIZE) {
+                this.metrics.messageSent(data[offset + Command.COMMAND_TYPE_INDEX], count);
+            }
+
         }
 
     }
@@ -266,7 +276,14 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
 
     public void send(IAddress dev, Command msg) throws CommunicationException
     {
-        byte[] rawData = msg.codeMessage();
+        byte[] rawData;
+        if (this.metrics.isEnabled()) {
+            long start = System.nanoTime();
+            rawData = msg.codeMessage();
+            this.metrics.encodeLatency(System.nanoTime() - start);
+        } else {
+            rawData = msg.codeMessage();
+        }
         send(dev, rawData, 0, rawData.length);
         LOGGER.trace("Sending message.", msg);
     }           
@@ -290,6 +307,9 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
     }
 
 
+    /**
+     * The timeout is ignored, the socket waits for a datagram forever.
+     */
     public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException
     {
         try
@@ -297,10 +317,12 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
             DatagramPacket packet = new DatagramPacket(data, offset, count);
             this.udpSocket.receive(packet);
             UDPAddress origin = new UDPAddress(packet.getAddress(), packet.getPort());
+            countReceived(data, offset, packet.getLength());
             return new ReceiveResult(packet.getLength(), origin, null);
         } catch (IOException ex)
         {
             LOGGER.error(this.getClass().getSimpleName() + ".receive", ex);
+            this.metrics.receiveError();
             throw new CommunicationException(ex);
         }
 
@@ -327,15 +349,25 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
             DatagramPacket packet = new DatagramPacket(data, data.length);
             this.udpSocket.receive(packet);
             UDPAddress origin = new UDPAddress(packet.getAddress(), packet.getPort());
+            countReceived(data, 0, packet.getLength());
             return new ReceiveResult(packet.getLength(), origin, data);
         } catch (IOException ex)
         {
             LOGGER.error(this.getClass().getSimpleName() + ".receive", ex);
+            this.metrics.receiveError();
             throw new CommunicationException(ex);
         }
 
     }
 
+
+    private void countReceived(byte[] data, int offset, int length)
+    {
+        if (length >= Command.COMMAND_HEADER_SIZE) {
+            this.metrics.messageReceived(data[offset + Command.COMMAND_TYPE_INDEX], length);
+        }
+    }
+
     @Override
     public Command receiveMessage() throws CommunicationException {
 
@@ -389,4 +421,17 @@ public class UDPCommunicationChannelImplementation implements IUDPCommunicationC
     }
 
 
+    /**
+     * Sets the metrics instance that records the traffic of this channel.
+     * Passing null disables the metrics again.
+     *
+     * @param metrics
+     */
+    public void registerMetrics(IProtocolMetrics metrics) {
+
+        this.metrics = (null == metrics) ? NullProtocolMetrics.INSTANCE : metrics;
+
+    }
+
+
 }
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  IClock that only moves when it is told to. Useful to simulate minutes of
+ *  traffic in a few milliseconds, deterministically.
+ */
+public class ManualClock implements IClock {
+
+    private final AtomicLong now;
+
+
+    public ManualClock() {
+        this(0);
+    }
+
+
+    public ManualClock(long startNanos) {
+        this.now = new AtomicLong(startNanos);
+    }
+
+
+    @Override
+    public long nanoTime() {
+        return this.now.get();
+    }
+
+
+    public long advance(long nanos) {
+        return this.now.addAndGet(nanos);
+    }
+
+}
@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.util;
+
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *  Hashed timing wheel: schedules thousands of delayed tasks without a thread
+ *  (or a heap operation) per task.
+ *
+ *  Time is divided in ticks and every task is stored in the bucket of the
+ *  tick it expires in. Tasks expiring in the same tick run in the order they
+ *  were scheduled, so the resolution of the wheel is one tick.
+ *
+ *  Tasks can be scheduled from any thread. They run in the thread that calls
+ *  expireTimers(): either the internal thread created by start(), or the
+ *  caller itself when the wheel is driven by a ManualClock.
+ */
+public class TimerWheel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+
+    public static final long DEFAULT_TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    private final IClock clock;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final long startTime;
+
+    private final ConcurrentLinkedQueue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private long currentTick = 0;
+
+    private int scheduledTimeouts = 0;
+
+    private volatile Thread ticker = null;
+
+
+    public TimerWheel() {
+        this(SystemClock.INSTANCE, DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+    }
+
+
+    public TimerWheel(IClock clock) {
+        this(clock, DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+    }
+
+
+    /**
+     * @param clock time source
+     * @param tickNanos duration of a tick
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    public TimerWheel(IClock clock, long tickNanos, int wheelSize) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Invalid tick: " + tickNanos);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.clock = clock;
+        this.tickNanos = tickNanos;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = clock.nanoTime();
+    }
+
+
+    public IClock getClock() {
+        return this.clock;
+    }
+
+
+    /**
+     * Schedules a task to run after a delay.
+     *
+     * @param task task to run
+     * @param delayNanos delay in nanoseconds, measured with the clock of the wheel
+     */
+    public void schedule(Runnable task, long delayNanos) {
+        this.pendingTimeouts.add(new Timeout(task, this.clock.nanoTime() + Math.max(0, delayNanos)));
+    }
+
+
+    /**
+     * Runs every task whose deadline has passed. It must not be called
+     * concurrently from several threads.
+     *
+     * @return number of tasks run
+     */
+    public synchronized int expireTimers() {
+
+        long targetTick = (this.clock.nanoTime() - this.startTime) / this.tickNanos;
+        int expired = 0;
+
+        transferPendingTimeouts();
+
+        while (this.currentTick <= targetTick) {
+
+            if (this.scheduledTimeouts == 0) {
+                // nothing to run in between, jump directly to the target tick
+                this.currentTick = targetTick + 1;
+                break;
+            }
+
+            Bucket bucket = this.wheel[(int) (this.currentTick & this.mask)];
+            Timeout previous = null;
+            Timeout timeout = bucket.head;
+            while (null != timeout) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    bucket.remove(previous, timeout);
+                    this.scheduledTimeouts--;
+                    run(timeout.task);
+                    expired++;
+                } else {
+                    timeout.remainingRounds--;
+                    previous = timeout;
+                }
+                timeout = next;
+            }
+
+            this.currentTick++;
+            transferPendingTimeouts(); // tasks may have scheduled new tasks
+        }
+
+        return expired;
+
+    }
+
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while (null != (timeout = this.pendingTimeouts.poll())) {
+            long expirationTick = Math.max(this.currentTick, (timeout.deadline - this.startTime) / this.tickNanos);
+            timeout.remainingRounds = (expirationTick - this.currentTick) / this.wheel.length;
+            this.wheel[(int) (expirationTick & this.mask)].add(timeout);
+            this.scheduledTimeouts++;
+        }
+    }
+
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            LOGGER.error(this.getClass().getSimpleName() + ".expireTimers", ex);
+        }
+    }
+
+
+    /**
+     * @return tasks scheduled and not run yet
+     */
+    public synchronized int size() {
+        return this.scheduledTimeouts + this.pendingTimeouts.size();
+    }
+
+
+    /**
+     * Starts a daemon thread that expires the timers once per tick.
+     * Only meaningful with a real time clock.
+     */
+    public synchronized void start() {
+
+        if (null != this.ticker) {
+            return;
+        }
+
+        final long sleepNanos = Math.max(this.tickNanos, TimeUnit.MICROSECONDS.toNanos(50));
+        this.ticker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (Thread.currentThread() == ticker) {
+                    expireTimers();
+                    LockSupport.parkNanos(sleepNanos);
+                }
+            }
+        }, "timer-wheel");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+
+    }
+
+
+    public void stop() {
+        Thread thread = this.ticker;
+        this.ticker = null;
+        if (null != thread) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+
+    private static final class Timeout {
+
+        final Runnable task;
+
+        final long deadline;
+
+        long remainingRounds;
+
+        Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+    }
+
+
+    /** Singly linked FIFO list of timeouts. */
+    private static final class Bucket {
+
+        Timeout head;
+
+        Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.next = null;
+            if (null == this.tail) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+            }
+            this.tail = timeout;
+        }
+
+        void remove(Timeout previous, Timeout timeout) {
+            if (null == previous) {
+                this.head = timeout.next;
+            } else {
+                previous.next = timeout.next;
+            }
+            if (this.tail == timeout) {
+                this.tail = previous;
+            }
+            timeout.next = null;
+        }
+
+    }
+
+}
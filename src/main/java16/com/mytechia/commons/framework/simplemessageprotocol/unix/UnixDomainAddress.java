@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.unix;
+
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ *  Address of a UnixDomainCommunicationChannel: the path of its socket file.
+ */
+public class UnixDomainAddress implements IAddress {
+
+    private final Path path;
+
+
+    public UnixDomainAddress(Path path) {
+        this.path = path.toAbsolutePath().normalize();
+    }
+
+
+    public UnixDomainAddress(String path) {
+        this(Paths.get(path));
+    }
+
+
+    public Path getPath() {
+        return this.path;
+    }
+
+
+    @Override
+    public String getId() {
+        return this.path.toString();
+    }
+
+
+    @Override
+    public String getName() {
+        Path fileName = this.path.getFileName();
+        return (null == fileName) ? getId() : fileName.toString();
+    }
+
+
+    @Override
+    public int hashCode() {
+        return this.path.hashCode();
+    }
+
+
+    @Override
+    public boolean equals(Object obj) {
+        return (obj instanceof IAddress) && equals((IAddress) obj);
+    }
+
+
+    @Override
+    public boolean equals(IAddress address) {
+        return (address instanceof UnixDomainAddress) && this.path.equals(((UnixDomainAddress) address).path);
+    }
+
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+
+}
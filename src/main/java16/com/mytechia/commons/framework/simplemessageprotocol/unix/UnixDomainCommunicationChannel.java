@@ -0,0 +1,582 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.unix;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.IAddress;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  INetworkBasicCommunicationChannel over Unix domain sockets, for processes
+ *  on the same host (Java 16 or later, packaged in META-INF/versions/16 of
+ *  the multi-release jar). It carries the same messages as the UDP channel
+ *  without the IP stack.
+ *
+ *  Every channel listens on its own socket file, given by its
+ *  UnixDomainAddress. The first message sent to a destination opens a stream
+ *  connection to its socket file, and the next ones reuse it. The
+ *  connection starts with the path of the sender, so the receiver reports it
+ *  as the origin of the messages and can answer to it. Then every send()
+ *  writes the length of the data (4 bytes, big endian) and the data, so the
+ *  receiver gets exactly the bytes that were sent, whether they are a
+ *  Command, a batch, a fragment or any other block of bytes, and the
+ *  decorators of the package can be layered on this channel.
+ *
+ *  One thread reads every accepted connection with a Selector, and the
+ *  messages wait in one bounded queue for receive(). Unlike UDP, messages
+ *  are not lost or reordered, and a message can be as long as
+ *  MAX_MESSAGE_SIZE.
+ */
+public class UnixDomainCommunicationChannel implements INetworkBasicCommunicationChannel {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(UnixDomainCommunicationChannel.class);
+
+    public static final int DEFAULT_RECEIVE_QUEUE_CAPACITY = 4096;
+
+    public static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    /** First byte of the connection, followed by the length and the UTF-8 path of the sender. */
+    private static final byte HELLO = 0x55;
+
+    private static final int HELLO_HEADER_SIZE = 3;
+
+    private static final int LENGTH_SIZE = 4;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** Queued in the receive queue when the channel is closed. */
+    private static final Received CLOSED = new Received(null, new byte[0]);
+
+    private final UnixDomainAddress localAddress;
+
+    private final ServerSocketChannel serverChannel;
+
+    private final Selector selector;
+
+    private final BlockingQueue<Received> receiveQueue;
+
+    private final ConcurrentMap<String, Connection> connections = new ConcurrentHashMap<>();
+
+    private final byte[] hello;
+
+    private final Thread reader;
+
+    private MessageFactory messageFactory = null;
+
+    private volatile boolean closed = false;
+
+
+    public UnixDomainCommunicationChannel(Path path) throws CommunicationException {
+        this(path, DEFAULT_RECEIVE_QUEUE_CAPACITY);
+    }
+
+
+    /**
+     * @param path socket file of the channel; a file left there by a
+     *        previous run is deleted
+     * @param receiveQueueCapacity messages kept for receive(); when the queue
+     *        is full the reader waits, and so do the senders
+     */
+    public UnixDomainCommunicationChannel(Path path, int receiveQueueCapacity) throws CommunicationException {
+
+        this.localAddress = new UnixDomainAddress(path);
+        this.receiveQueue = new ArrayBlockingQueue<>(receiveQueueCapacity);
+
+        byte[] pathBytes = this.localAddress.getId().getBytes(StandardCharsets.UTF_8);
+        this.hello = new byte[HELLO_HEADER_SIZE + pathBytes.length];
+        this.hello[0] = HELLO;
+        this.hello[1] = (byte) (pathBytes.length >>> 8);
+        this.hello[2] = (byte) pathBytes.length;
+        System.arraycopy(pathBytes, 0, this.hello, HELLO_HEADER_SIZE, pathBytes.length);
+
+        try {
+            Files.deleteIfExists(this.localAddress.getPath());
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            this.serverChannel.bind(UnixDomainSocketAddress.of(this.localAddress.getPath()));
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            throw new CommunicationException(ex);
+        }
+
+        this.reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                selectLoop();
+            }
+        }, "unix-channel-" + this.localAddress.getName());
+        this.reader.setDaemon(true);
+        this.reader.start();
+
+    }
+
+
+    public UnixDomainAddress getLocalAddress() {
+        return this.localAddress;
+    }
+
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+
+    /**
+     * Closes the connections and deletes the socket file. The messages
+     * already received can still be received, and then receives fail.
+     */
+    public void close() {
+
+        this.closed = true;
+
+        // the reader closes the accepted connections when it ends
+        this.reader.interrupt();
+        this.selector.wakeup();
+
+        for (Connection connection : this.connections.values()) {
+            closeQuietly(connection.socketChannel);
+        }
+        try {
+            Files.deleteIfExists(this.localAddress.getPath());
+        } catch (IOException ex) {
+            LOGGER.debug(UnixDomainCommunicationChannel.class.getSimpleName() + ".close", ex);
+        }
+
+        // wakes the waiting receivers; if the queue is full nobody is waiting,
+        // and take() adds the marker again when it empties the queue
+        this.receiveQueue.offer(CLOSED);
+
+    }
+
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            LOGGER.debug(UnixDomainCommunicationChannel.class.getSimpleName() + ".close", ex);
+        }
+    }
+
+
+    private void selectLoop() {
+
+        try {
+
+            while (!this.closed) {
+
+                this.selector.select();
+
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        Incoming incoming = (Incoming) key.attachment();
+                        try {
+                            if (!incoming.read()) {
+                                key.cancel();
+                                closeQuietly(incoming.socketChannel);
+                            }
+                        } catch (IOException ex) {
+                            LOGGER.debug(UnixDomainCommunicationChannel.class.getSimpleName() + ".selectLoop", ex);
+                            key.cancel();
+                            closeQuietly(incoming.socketChannel);
+                        }
+                    }
+
+                }
+
+            }
+
+        } catch (IOException | ClosedSelectorException ex) {
+            if (!this.closed) {
+                LOGGER.error(UnixDomainCommunicationChannel.class.getSimpleName() + ".selectLoop", ex);
+            }
+        } catch (InterruptedException ex) {
+            // closed while waiting for room in the receive queue
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(this.selector);
+        }
+
+    }
+
+
+    private void accept() throws IOException {
+
+        SocketChannel socketChannel = this.serverChannel.accept();
+        if (null == socketChannel) {
+            return;
+        }
+
+        try {
+            socketChannel.configureBlocking(false);
+            socketChannel.register(this.selector, SelectionKey.OP_READ, new Incoming(socketChannel));
+        } catch (IOException ex) {
+            LOGGER.debug(UnixDomainCommunicationChannel.class.getSimpleName() + ".accept", ex);
+            closeQuietly(socketChannel);
+        }
+
+    }
+
+
+    private void enqueue(Received received) throws InterruptedException {
+        this.receiveQueue.put(received);
+    }
+
+
+    private Connection connectionTo(IAddress addr) throws CommunicationException {
+
+        if (!(addr instanceof UnixDomainAddress)) {
+            throw new CommunicationException("Not a Unix domain socket address: " + addr.getId());
+        }
+
+        Connection connection = this.connections.get(addr.getId());
+        if (null != connection) {
+            return connection;
+        }
+
+        SocketChannel socketChannel = null;
+        try {
+            socketChannel = SocketChannel.open(UnixDomainSocketAddress.of(((UnixDomainAddress) addr).getPath()));
+            ByteBuffer buffer = ByteBuffer.wrap(this.hello);
+            while (buffer.hasRemaining()) {
+                socketChannel.write(buffer);
+            }
+        } catch (IOException ex) {
+            if (null != socketChannel) {
+                closeQuietly(socketChannel);
+            }
+            throw new CommunicationException(ex);
+        }
+
+        connection = new Connection(socketChannel);
+        Connection previous = this.connections.putIfAbsent(addr.getId(), connection);
+        if (null != previous) {
+            // another thread connected meanwhile
+            closeQuietly(socketChannel);
+            return previous;
+        }
+        return connection;
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, byte[] data, int offset, int count) throws CommunicationException {
+
+        if (this.closed) {
+            throw new CommunicationException("Channel closed");
+        }
+        if (count > MAX_MESSAGE_SIZE) {
+            throw new CommunicationException("Message of " + count + " bytes longer than the maximum of "
+                    + MAX_MESSAGE_SIZE);
+        }
+
+        Connection connection = connectionTo(addr);
+
+        try {
+            connection.write(data, offset, count);
+        } catch (IOException ex) {
+            // the peer is gone, the next send connects again
+            this.connections.remove(addr.getId(), connection);
+            closeQuietly(connection.socketChannel);
+            throw new CommunicationException(ex);
+        }
+
+    }
+
+
+    @Override
+    public void send(IAddress addr, Command msg) throws CommunicationException {
+        byte[] rawData = msg.codeMessage();
+        send(addr, rawData, 0, rawData.length);
+    }
+
+
+    private Received take(long timeout) throws CommunicationException {
+
+        if (this.closed && this.receiveQueue.isEmpty()) {
+            throw new CommunicationException("Channel closed");
+        }
+
+        Received received;
+        try {
+            received = (timeout >= 0) ? this.receiveQueue.poll(timeout, TimeUnit.MILLISECONDS) : this.receiveQueue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CommunicationException("Interrupted while receiving");
+        }
+
+        if (null == received) {
+            throw new TimeoutException("No message received in " + timeout + " ms");
+        }
+        if (received == CLOSED) {
+            this.receiveQueue.offer(CLOSED);
+            throw new CommunicationException("Channel closed");
+        }
+        if (this.closed && this.receiveQueue.isEmpty()) {
+            // last message after the close, the next receivers must not wait
+            this.receiveQueue.offer(CLOSED);
+        }
+
+        return received;
+
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count, long timeout) throws CommunicationException {
+        Received received = take(timeout);
+        int length = Math.min(count, received.data.length);
+        System.arraycopy(received.data, 0, data, offset, length);
+        return new ReceiveResult(length, received.origin, null);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data, int offset, int count) throws CommunicationException {
+        return receive(data, offset, count, -1);
+    }
+
+
+    @Override
+    public ReceiveResult receive(byte[] data) throws CommunicationException {
+        return receive(data, 0, data.length);
+    }
+
+
+    /**
+     * Returns the received message without copying it; the data array has
+     * exactly the length of the message.
+     */
+    @Override
+    public ReceiveResult receive() throws CommunicationException {
+        Received received = take(-1);
+        return new ReceiveResult(received.data.length, received.origin, received.data);
+    }
+
+
+    @Override
+    public Command receiveMessage() throws CommunicationException {
+
+        ReceiveResult receiveResult = this.receive();
+
+        if (null != this.messageFactory) {
+            return this.messageFactory.decodeMessage(receiveResult.getData());
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public void registerMessageFactory(MessageFactory messageFactory) {
+        this.messageFactory = messageFactory;
+    }
+
+
+    /** Connection opened by this channel to send to a destination. */
+    private static final class Connection {
+
+        final SocketChannel socketChannel;
+
+        private final ByteBuffer length = ByteBuffer.allocate(LENGTH_SIZE);
+
+        private final ByteBuffer[] buffers = new ByteBuffer[2];
+
+        Connection(SocketChannel socketChannel) {
+            this.socketChannel = socketChannel;
+        }
+
+        /** Writes the length and the data with one gathering write. */
+        synchronized void write(byte[] data, int offset, int count) throws IOException {
+            this.length.clear();
+            this.length.putInt(0, count);
+            this.buffers[0] = this.length;
+            this.buffers[1] = ByteBuffer.wrap(data, offset, count);
+            long remaining = LENGTH_SIZE + (long) count;
+            while (remaining > 0) {
+                remaining -= this.socketChannel.write(this.buffers);
+            }
+            this.buffers[1] = null;
+        }
+
+    }
+
+
+    /** Connection accepted from a sender, read by the selector thread. */
+    private final class Incoming {
+
+        final SocketChannel socketChannel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        private UnixDomainAddress origin = null;
+
+        /** Message longer than the buffer, read straight into its array. */
+        private ByteBuffer longMessage = null;
+
+        Incoming(SocketChannel socketChannel) {
+            this.socketChannel = socketChannel;
+        }
+
+        /**
+         * Reads the available bytes and queues the messages they complete.
+         *
+         * @return false at the end of the stream
+         */
+        boolean read() throws IOException, InterruptedException {
+
+            if (null != this.longMessage) {
+                if (this.socketChannel.read(this.longMessage) < 0) {
+                    return false;
+                }
+                if (!this.longMessage.hasRemaining()) {
+                    enqueue(new Received(this.origin, this.longMessage.array()));
+                    this.longMessage = null;
+                }
+                return true;
+            }
+
+            if (this.socketChannel.read(this.buffer) < 0) {
+                return false;
+            }
+
+            this.buffer.flip();
+            try {
+                if (null == this.origin && !readHello()) {
+                    return true;
+                }
+                readMessages();
+            } finally {
+                this.buffer.compact();
+            }
+            return true;
+
+        }
+
+        private boolean readHello() throws IOException {
+
+            if (this.buffer.remaining() < HELLO_HEADER_SIZE) {
+                return false;
+            }
+
+            int position = this.buffer.position();
+            if (this.buffer.get(position) != HELLO) {
+                throw new IOException("Connection without the path of the sender");
+            }
+            int pathLength = ((this.buffer.get(position + 1) & 0xFF) << 8) | (this.buffer.get(position + 2) & 0xFF);
+            if (this.buffer.remaining() < HELLO_HEADER_SIZE + pathLength) {
+                return false;
+            }
+
+            byte[] path = new byte[pathLength];
+            this.buffer.position(position + HELLO_HEADER_SIZE);
+            this.buffer.get(path);
+            this.origin = new UnixDomainAddress(new String(path, StandardCharsets.UTF_8));
+            return true;
+
+        }
+
+        private void readMessages() throws IOException, InterruptedException {
+
+            while (this.buffer.remaining() >= LENGTH_SIZE) {
+
+                int length = this.buffer.getInt(this.buffer.position());
+                if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                    throw new IOException("Invalid message length " + length + " from " + this.origin.getId());
+                }
+
+                if (this.buffer.remaining() - LENGTH_SIZE >= length) {
+                    this.buffer.getInt();
+                    byte[] message = new byte[length];
+                    this.buffer.get(message);
+                    enqueue(new Received(this.origin, message));
+                } else {
+                    if (length > this.buffer.capacity() - LENGTH_SIZE) {
+                        // the rest of the message is read straight into it
+                        this.buffer.getInt();
+                        byte[] message = new byte[length];
+                        int available = this.buffer.remaining();
+                        this.buffer.get(message, 0, available);
+                        this.longMessage = ByteBuffer.wrap(message);
+                        this.longMessage.position(available);
+                    }
+                    return;
+                }
+
+            }
+
+        }
+
+    }
+
+
+    /** Message waiting for receive(). */
+    private static final class Received {
+
+        final UnixDomainAddress origin;
+
+        final byte[] data;
+
+        Received(UnixDomainAddress origin, byte[] data) {
+            this.origin = origin;
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.reactive;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.MessageFactory;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.INetworkBasicCommunicationChannel;
+import com.mytechia.commons.framework.simplemessageprotocol.channel.ReceiveResult;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.MessageFormatException;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.TimeoutException;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Flow.Publisher of the messages received by a channel (Java 9 or later,
+ *  packaged in META-INF/versions/9 of the multi-release jar).
+ *
+ *  The channel is read only while some subscriber has requested more
+ *  messages than it has buffered. When every subscriber is satisfied, the
+ *  read task ends and the datagrams wait in the socket buffer until the next
+ *  request(), so the backpressure of the pipeline reaches the network.
+ *  There is no reader thread of its own: the read task runs in the Executor
+ *  given to the constructor, and the subscribers are signalled from it or
+ *  from the thread that calls request().
+ *
+ *  Several subscribers can subscribe, directly or through the publishers
+ *  returned by ofType(), that only see some command types. A message is
+ *  offered to every matching subscriber; if a subscriber has no demand it
+ *  is kept in its buffer, and when the buffer is full it is dropped and
+ *  counted (getDroppedMessages()).
+ */
+public class ChannelPublisher implements Flow.Publisher<Command> {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ChannelPublisher.class);
+
+    public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+    private static final int COMMAND_TYPES = 256;
+
+    private final INetworkBasicCommunicationChannel channel;
+
+    private final MessageFactory messageFactory;
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    private final List<ChannelSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean reading = new AtomicBoolean();
+
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    private volatile Throwable failure = null;
+
+
+    public ChannelPublisher(INetworkBasicCommunicationChannel channel, MessageFactory messageFactory, Executor executor) {
+        this(channel, messageFactory, executor, DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * @param channel channel to read from
+     * @param messageFactory factory that decodes the received data
+     * @param executor executor of the read task
+     * @param bufferSize messages kept per subscriber while it has no demand
+     */
+    public ChannelPublisher(INetworkBasicCommunicationChannel channel, MessageFactory messageFactory,
+                            Executor executor, int bufferSize) {
+        this.channel = channel;
+        this.messageFactory = messageFactory;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Command> subscriber) {
+        subscribe(subscriber, null);
+    }
+
+
+    /**
+     * @param commandTypes command types to publish
+     * @return a publisher of the messages of those types only
+     */
+    public Flow.Publisher<Command> ofType(byte... commandTypes) {
+
+        final boolean[] filter = new boolean[COMMAND_TYPES];
+        for (byte commandType : commandTypes) {
+            filter[commandType & 0xFF] = true;
+        }
+
+        return new Flow.Publisher<Command>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super Command> subscriber) {
+                ChannelPublisher.this.subscribe(subscriber, filter);
+            }
+        };
+
+    }
+
+
+    private void subscribe(Flow.Subscriber<? super Command> subscriber, boolean[] filter) {
+
+        if (null == subscriber) {
+            throw new NullPointerException("subscriber");
+        }
+
+        ChannelSubscription subscription = new ChannelSubscription(subscriber, filter);
+        subscriber.onSubscribe(subscription);
+
+        if (this.closed) {
+            subscription.terminate(this.failure);
+            return;
+        }
+
+        this.subscriptions.add(subscription);
+        subscription.drain();
+
+    }
+
+
+    public int getSubscriberCount() {
+        return this.subscriptions.size();
+    }
+
+
+    /**
+     * @return messages dropped because a subscriber buffer was full
+     */
+    public long getDroppedMessages() {
+        return this.droppedMessages.get();
+    }
+
+
+    /**
+     * Completes every subscriber once their buffers are delivered. The read
+     * task ends when the current receive returns.
+     */
+    public void close() {
+        terminate(null);
+    }
+
+
+    private void terminate(Throwable failure) {
+        this.failure = failure;
+        this.closed = true;
+        for (ChannelSubscription subscription : this.subscriptions) {
+            subscription.terminate(failure);
+        }
+        this.subscriptions.clear();
+    }
+
+
+    private boolean hasDemand() {
+        for (ChannelSubscription subscription : this.subscriptions) {
+            if (subscription.hasDemand()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private void requestRead() {
+        if (!this.closed && this.reading.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        readLoop();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                this.reading.set(false);
+                terminate(ex);
+            }
+        }
+    }
+
+
+    private void readLoop() {
+
+        while (true) {
+
+            if (this.closed) {
+                this.reading.set(false);
+                return;
+            }
+
+            if (!hasDemand()) {
+                this.reading.set(false);
+                // a request() may have arrived after the check and before reading was cleared
+                if (hasDemand() && this.reading.compareAndSet(false, true)) {
+                    continue;
+                }
+                return;
+            }
+
+            List<Command> messages;
+            try {
+                ReceiveResult result = this.channel.receive();
+                messages = this.messageFactory.decodeMessages(result.getData(), 0, result.getMsgLength());
+            } catch (TimeoutException | MessageFormatException ex) {
+                LOGGER.debug(ChannelPublisher.class.getSimpleName() + ".readLoop", ex);
+                continue;
+            } catch (CommunicationException ex) {
+                this.reading.set(false);
+                if (!this.closed) {
+                    terminate(ex);
+                }
+                return;
+            }
+
+            // a batched datagram carries several messages
+            for (Command message : messages) {
+                for (ChannelSubscription subscription : this.subscriptions) {
+                    subscription.offer(message);
+                }
+            }
+
+        }
+
+    }
+
+
+    private final class ChannelSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Command> subscriber;
+
+        private final boolean[] filter;
+
+        private final Queue<Command> buffer = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger buffered = new AtomicInteger();
+
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Serializes the signals: only the thread that increments it from 0 delivers. */
+        private final AtomicInteger workInProgress = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+
+        private volatile boolean terminated = false;
+
+        private volatile Throwable failure = null;
+
+        /** Set by an invalid request, the error is signalled without the buffered messages. */
+        private volatile boolean discardBuffered = false;
+
+        private boolean done = false;
+
+
+        ChannelSubscription(Flow.Subscriber<? super Command> subscriber, boolean[] filter) {
+            this.subscriber = subscriber;
+            this.filter = filter;
+        }
+
+
+        boolean hasDemand() {
+            return !this.cancelled && this.demand.get() > this.buffered.get();
+        }
+
+
+        void offer(Command message) {
+
+            if (this.cancelled || (null != this.filter && !this.filter[message.getCommandType() & 0xFF])) {
+                return;
+            }
+
+            if (this.buffered.get() >= bufferSize && this.demand.get() <= this.buffered.get()) {
+                droppedMessages.incrementAndGet();
+                return;
+            }
+
+            this.buffered.incrementAndGet();
+            this.buffer.offer(message);
+            drain();
+
+        }
+
+
+        void terminate(Throwable failure) {
+            synchronized (this) {
+                // the first termination wins, i.e. an invalid request over the close of the publisher
+                if (!this.terminated) {
+                    this.failure = failure;
+                    this.terminated = true;
+                }
+            }
+            drain();
+        }
+
+
+        @Override
+        public void request(long n) {
+
+            if (n <= 0) {
+                // signalled by drain(), so it is not delivered while the read task calls onNext
+                subscriptions.remove(this);
+                this.discardBuffered = true;
+                terminate(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = this.demand.get();
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!this.demand.compareAndSet(current, next));
+
+            drain();
+            requestRead();
+
+        }
+
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            subscriptions.remove(this);
+        }
+
+
+        void drain() {
+
+            if (this.workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+
+                while (!this.cancelled && !this.done && !this.discardBuffered && this.demand.get() > 0) {
+                    Command message = this.buffer.poll();
+                    if (null == message) {
+                        break;
+                    }
+                    this.buffered.decrementAndGet();
+                    if (this.demand.get() != Long.MAX_VALUE) {
+                        this.demand.decrementAndGet();
+                    }
+                    try {
+                        this.subscriber.onNext(message);
+                    } catch (RuntimeException ex) {
+                        LOGGER.error(ChannelPublisher.class.getSimpleName() + ".onNext", ex);
+                        cancel();
+                    }
+                }
+
+                if (!this.cancelled && !this.done && this.terminated && (this.discardBuffered || this.buffer.isEmpty())) {
+                    this.done = true;
+                    if (null == this.failure) {
+                        this.subscriber.onComplete();
+                    } else {
+                        this.subscriber.onError(this.failure);
+                    }
+                }
+
+                missed = this.workInProgress.addAndGet(-missed);
+
+            } while (missed != 0);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ * <p>
+ * This file is part of simple-message-protocol.
+ * <p>
+ * simple-message-protocol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * simple-message-protocol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with simple-message-protocol.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package com.mytechia.commons.framework.simplemessageprotocol.stream;
+
+import com.mytechia.commons.framework.simplemessageprotocol.Command;
+import com.mytechia.commons.framework.simplemessageprotocol.Endianness;
+import com.mytechia.commons.framework.simplemessageprotocol.exception.CommunicationException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CommandFrameDecoderTest {
+
+    private static final Endianness ENDIANNESS = Endianness.LITTLE_ENDIAN;
+
+
+    /** Frames passed to the listener, copied. */
+    private final List<byte[]> frames = new ArrayList<>();
+
+    private final CommandFrameDecoder decoder = new CommandFrameDecoder(ENDIANNESS, new IFrameListener() {
+        @Override
+        public void frameDecoded(byte[] frame, int offset, int length) {
+            frames.add(Arrays.copyOfRange(frame, offset, offset + length));
+        }
+    });
+
+
+    /**
+     * @return an encoded message with dataSize bytes of data, none of them INIT_BYTE
+     */
+    private static byte[] frame(int type, int dataSize) {
+
+        byte[] frame = new byte[Command.COMMAND_HEADER_SIZE + dataSize + ((dataSize > 0) ? Command.DATA_CHECKSUM_SIZE : 0)];
+        frame[Command.INIT_BYTE_INDEX] = Command.INIT_BYTE;
+        frame[Command.COMMAND_TYPE_INDEX] = (byte) type;
+        frame[Command.SEQUENCE_NUMBER_INDEX] = (byte) type;
+        frame[Command.DATA_SIZE_INDEX] = (byte) dataSize;
+        frame[Command.DATA_SIZE_INDEX + 1] = (byte) (dataSize >>> 8);
+        frame[Command.HEADER_CHECKSUM_INDEX] = checksum(frame, 0, Command.HEADER_CHECKSUM_INDEX);
+
+        for (int i = 0; i < dataSize; i++) {
+            frame[Command.DATA_INDEX + i] = (byte) (i % 61);
+        }
+        if (dataSize > 0) {
+            frame[Command.DATA_INDEX + dataSize] = checksum(frame, Command.DATA_INDEX, dataSize);
+        }
+
+        return frame;
+
+    }
+
+
+    private static byte checksum(byte[] data, int offset, int length) {
+        byte checksum = 0;
+        for (int i = 0; i < length; i++) {
+            checksum ^= data[offset + i];
+        }
+        return checksum;
+    }
+
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            stream.write(part, 0, part.length);
+        }
+        return stream.toByteArray();
+    }
+
+
+    private void decodeByteByByte(byte[] stream) throws CommunicationException {
+        for (int i = 0; i < stream.length; i++) {
+            this.decoder.decode(stream, i, 1);
+        }
+    }
+
+
+    @Test
+    public void decodesAFrameSplitAtEveryByte() throws CommunicationException {
+
+        byte[] first = frame(1, 20);
+        byte[] second = frame(2, 0);
+        byte[] stream = concat(first, second);
+
+        for (int split = 1; split < stream.length; split++) {
+
+            this.frames.clear();
+            this.decoder.reset();
+
+            int decoded = this.decoder.decode(stream, 0, split);
+            decoded += this.decoder.decode(stream, split, stream.length - split);
+
+            assertEquals("split at " + split, 2, decoded);
+            assertEquals("split at " + split, 2, this.frames.size());
+            assertArrayEquals("split at " + split, first, this.frames.get(0));
+            assertArrayEquals("split at " + split, second, this.frames.get(1));
+            assertEquals("split at " + split, 0, this.decoder.getBufferedBytes());
+
+        }
+
+    }
+
+
+    @Test
+    public void skipsGarbageWithInitBytesBeforeAFrame() throws CommunicationException {
+
+        byte[] garbage = {Command.INIT_BYTE, 0x01, Command.INIT_BYTE, Command.INIT_BYTE, 0x00, 0x7F, Command.INIT_BYTE};
+        byte[] valid = frame(3, 12);
+        byte[] stream = concat(garbage, valid);
+
+        this.decoder.decode(stream, 0, stream.length);
+
+        assertEquals(1, this.frames.size());
+        assertArrayEquals(valid, this.frames.get(0));
+        assertEquals(garbage.length, this.decoder.getSkippedBytes());
+
+        // the same when the garbage and the frame arrive byte by byte, through the buffer
+        this.frames.clear();
+        this.decoder.reset();
+        decodeByteByByte(stream);
+
+        assertEquals(1, this.frames.size());
+        assertArrayEquals(valid, this.frames.get(0));
+
+    }
+
+
+    @Test
+    public void findsAFrameHiddenInAFrameWithABadDataChecksum() throws CommunicationException {
+
+        byte[] hidden = frame(4, 10);
+        byte[] last = frame(5, 3);
+
+        // a header that looks valid, whose data holds the hidden frame and a wrong checksum
+        byte[] corrupt = frame(6, hidden.length + 6);
+        System.arraycopy(hidden, 0, corrupt, Command.DATA_INDEX + 3, hidden.length);
+        corrupt[corrupt.length - 1] = (byte) ~checksum(corrupt, Command.DATA_INDEX, hidden.length + 6);
+
+        byte[] stream = concat(corrupt, last);
+
+        this.decoder.decode(stream, 0, stream.length);
+
+        assertEquals(2, this.frames.size());
+        assertArrayEquals(hidden, this.frames.get(0));
+        assertArrayEquals(last, this.frames.get(1));
+        assertEquals(1, this.decoder.getCorruptFrames());
+
+        // the same when the corrupt frame is buffered and resynchronized
+        this.frames.clear();
+        this.decoder.reset();
+        decodeByteByByte(stream);
+
+        assertEquals(2, this.frames.size());
+        assertArrayEquals(hidden, this.frames.get(0));
+        assertArrayEquals(last, this.frames.get(1));
+        // reset() does not clear the counters
+        assertEquals(2, this.decoder.getCorruptFrames());
+
+    }
+
+}